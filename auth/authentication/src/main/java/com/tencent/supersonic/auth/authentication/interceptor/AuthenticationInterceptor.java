@@ -17,10 +17,16 @@ import javax.servlet.http.HttpServletRequest;
 import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public abstract class AuthenticationInterceptor implements HandlerInterceptor {
 
+    /**
+     * reflected fields of the tomcat request classes, looked up once
+     */
+    private static final Map<String, Field> FIELDS = new ConcurrentHashMap<>();
 
     protected AuthenticationConfig authenticationConfig;
 
@@ -70,36 +76,34 @@ public abstract class AuthenticationInterceptor implements HandlerInterceptor {
             if (request instanceof StandardMultipartHttpServletRequest) {
                 RequestFacade servletRequest =
                         (RequestFacade) ((StandardMultipartHttpServletRequest) request).getRequest();
-                Class<? extends HttpServletRequest> servletRequestClazz = servletRequest.getClass();
-                Field request1 = servletRequestClazz.getDeclaredField("request");
-                request1.setAccessible(true);
-                Object o = request1.get(servletRequest);
-                Field coyoteRequest = o.getClass().getDeclaredField("coyoteRequest");
-                coyoteRequest.setAccessible(true);
-                Object o1 = coyoteRequest.get(o);
-                Field headers = o1.getClass().getDeclaredField("headers");
-                headers.setAccessible(true);
-                MimeHeaders o2 = (MimeHeaders) headers.get(o1);
-                if (o2.getValue(key) != null) {
-                    o2.setValue(key).setString(value);
+                MimeHeaders headers = getMimeHeaders(servletRequest);
+                if (headers.getValue(key) != null) {
+                    headers.setValue(key).setString(value);
                 } else {
-                    o2.addValue(key).setString(value);
+                    headers.addValue(key).setString(value);
                 }
             } else {
-                Class<? extends HttpServletRequest> requestClass = request.getClass();
-                Field request1 = requestClass.getDeclaredField("request");
-                request1.setAccessible(true);
-                Object o = request1.get(request);
-                Field coyoteRequest = o.getClass().getDeclaredField("coyoteRequest");
-                coyoteRequest.setAccessible(true);
-                Object o1 = coyoteRequest.get(o);
-                Field headers = o1.getClass().getDeclaredField("headers");
-                headers.setAccessible(true);
-                MimeHeaders o2 = (MimeHeaders) headers.get(o1);
-                o2.addValue(key).setString(value);
+                getMimeHeaders(request).addValue(key).setString(value);
             }
         } catch (Exception e) {
             log.error("reflectSetParam error:", e);
         }
     }
+
+    private MimeHeaders getMimeHeaders(HttpServletRequest request) throws Exception {
+        Object connectorRequest = getField(request.getClass(), "request").get(request);
+        Object coyoteRequest = getField(connectorRequest.getClass(), "coyoteRequest").get(connectorRequest);
+        return (MimeHeaders) getField(coyoteRequest.getClass(), "headers").get(coyoteRequest);
+    }
+
+    private static Field getField(Class<?> clazz, String name) throws NoSuchFieldException {
+        String key = clazz.getName() + "#" + name;
+        Field field = FIELDS.get(key);
+        if (field == null) {
+            field = clazz.getDeclaredField(name);
+            field.setAccessible(true);
+            FIELDS.put(key, field);
+        }
+        return field;
+    }
 }
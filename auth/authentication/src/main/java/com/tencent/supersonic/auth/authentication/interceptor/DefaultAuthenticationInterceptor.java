@@ -21,13 +21,12 @@ import java.lang.reflect.Method;
 @Slf4j
 public class DefaultAuthenticationInterceptor extends AuthenticationInterceptor {
 
+    private volatile boolean initialized;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
             throws AccessException {
-        authenticationConfig = ContextUtils.getBean(AuthenticationConfig.class);
-        userServiceImpl = ContextUtils.getBean(UserServiceImpl.class);
-        userTokenUtils = ContextUtils.getBean(UserTokenUtils.class);
-        s2ThreadContext = ContextUtils.getBean(S2ThreadContext.class);
+        init();
         if (!authenticationConfig.isEnabled()) {
             setFakerUser(request);
             return true;
@@ -66,6 +65,21 @@ public class DefaultAuthenticationInterceptor extends AuthenticationInterceptor
         throw new AccessException("authentication failed, please login");
     }
 
+    /**
+     * the interceptor is loaded by SpringFactoriesLoader before the context is refreshed,
+     * so the beans are resolved once on the first request
+     */
+    private void init() {
+        if (initialized) {
+            return;
+        }
+        authenticationConfig = ContextUtils.getBean(AuthenticationConfig.class);
+        userServiceImpl = ContextUtils.getBean(UserServiceImpl.class);
+        userTokenUtils = ContextUtils.getBean(UserTokenUtils.class);
+        s2ThreadContext = ContextUtils.getBean(S2ThreadContext.class);
+        initialized = true;
+    }
+
     private void setFakerUser(HttpServletRequest request) {
         String token = userTokenUtils.generateAdminToken(request);
         reflectSetParam(request, authenticationConfig.getTokenHttpHeaderKey(), token);
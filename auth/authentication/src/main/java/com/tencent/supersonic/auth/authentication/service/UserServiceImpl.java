@@ -1,5 +1,7 @@
 package com.tencent.supersonic.auth.authentication.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tencent.supersonic.auth.api.authentication.pojo.Organization;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
 import com.tencent.supersonic.auth.api.authentication.request.UserReq;
@@ -8,20 +10,35 @@ import com.tencent.supersonic.auth.api.authentication.utils.UserHolder;
 import com.tencent.supersonic.auth.authentication.utils.ComponentFactory;
 import com.tencent.supersonic.common.config.SystemConfig;
 import com.tencent.supersonic.common.service.SystemConfigService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final int USER_ORG_CACHE_SIZE = 10000;
+
     private SystemConfigService sysParameterService;
 
-    public UserServiceImpl(SystemConfigService sysParameterService) {
+    /**
+     * org ids of a user including the parent orgs, the org data lives in the user adaptor
+     * so the entries are also expired after a while
+     */
+    private final Cache<String, Set<String>> userOrgIdCache;
+
+    public UserServiceImpl(SystemConfigService sysParameterService,
+            @Value("${s2.user.org.cache.expire-seconds:60}") long userOrgCacheExpireSeconds) {
         this.sysParameterService = sysParameterService;
+        this.userOrgIdCache = Caffeine.newBuilder().maximumSize(USER_ORG_CACHE_SIZE)
+                .expireAfterWrite(userOrgCacheExpireSeconds, TimeUnit.SECONDS).build();
     }
 
     @Override
@@ -49,7 +66,14 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Set<String> getUserAllOrgId(String userName) {
-        return ComponentFactory.getUserAdaptor().getUserAllOrgId(userName);
+        if (Objects.isNull(userName)) {
+            return ComponentFactory.getUserAdaptor().getUserAllOrgId(userName);
+        }
+        Set<String> orgIds = userOrgIdCache.get(userName, k -> {
+            Set<String> userOrgIds = ComponentFactory.getUserAdaptor().getUserAllOrgId(k);
+            return Objects.isNull(userOrgIds) ? new HashSet<>() : new HashSet<>(userOrgIds);
+        });
+        return new HashSet<>(orgIds);
     }
 
     @Override
@@ -65,6 +89,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public void register(UserReq userReq) {
         ComponentFactory.getUserAdaptor().register(userReq);
+        userOrgIdCache.invalidate(userReq.getName());
     }
 
     @Override
@@ -1,5 +1,9 @@
 package com.tencent.supersonic.auth.authentication.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.tencent.supersonic.auth.api.authentication.config.AuthenticationConfig;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
 import com.tencent.supersonic.auth.api.authentication.pojo.UserWithPassword;
@@ -9,6 +13,7 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.spec.SecretKeySpec;
@@ -17,6 +22,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static com.tencent.supersonic.auth.api.authentication.constant.UserConstants.TOKEN_CREATE_TIME;
 import static com.tencent.supersonic.auth.api.authentication.constant.UserConstants.TOKEN_IS_ADMIN;
@@ -31,10 +37,33 @@ import static com.tencent.supersonic.auth.api.authentication.constant.UserConsta
 @Component
 public class UserTokenUtils {
 
+    private static final int CLAIMS_CACHE_SIZE = 10000;
+
+    private static final int ADMIN_TOKEN_CACHE_SIZE = 100;
+
     private AuthenticationConfig authenticationConfig;
 
+    /**
+     * verified claims by app key and token, an entry never outlives the expiration of its token
+     */
+    private final Cache<String, Claims> claimsCache;
+
+    /**
+     * admin tokens by app key, renewed after half of the token timeout
+     */
+    private final Cache<String, String> adminTokenCache;
+
+    @Autowired
     public UserTokenUtils(AuthenticationConfig authenticationConfig) {
+        this(authenticationConfig, Ticker.systemTicker());
+    }
+
+    UserTokenUtils(AuthenticationConfig authenticationConfig, Ticker ticker) {
         this.authenticationConfig = authenticationConfig;
+        this.claimsCache = Caffeine.newBuilder().maximumSize(CLAIMS_CACHE_SIZE).ticker(ticker)
+                .expireAfter(new ClaimsExpiry()).build();
+        this.adminTokenCache = Caffeine.newBuilder().maximumSize(ADMIN_TOKEN_CACHE_SIZE).ticker(ticker)
+                .expireAfterWrite(authenticationConfig.getTokenTimeout() / 2, TimeUnit.MILLISECONDS).build();
     }
 
     public String generateToken(UserWithPassword user, HttpServletRequest request) {
@@ -60,7 +89,7 @@ public class UserTokenUtils {
         admin.setPassword("c3VwZXJzb25pY0BiaWNvbdktJJYWw6A3rEmBUPzbn/6DNeYnD+y3mAwDKEMS3KVT");
         admin.setDisplayName("admin");
         admin.setIsAdmin(1);
-        return generateToken(admin, request);
+        return adminTokenCache.get(getAppKey(request), appKey -> generateToken(admin, appKey));
     }
 
     public User getUser(HttpServletRequest request) {
@@ -116,10 +145,8 @@ public class UserTokenUtils {
     private Claims getClaims(String token, String appKey) {
         Claims claims;
         try {
-            String tokenSecret = getTokenSecret(appKey);
-            claims = Jwts.parser()
-                    .setSigningKey(tokenSecret.getBytes(StandardCharsets.UTF_8))
-                    .build().parseClaimsJws(getTokenString(token)).getBody();
+            String tokenString = getTokenString(token);
+            claims = claimsCache.get(appKey + ":" + tokenString, k -> parseClaims(tokenString, appKey));
         } catch (Exception e) {
             log.error("getClaims", e);
             throw new AccessException("parse user info from token failed :" + token);
@@ -127,6 +154,13 @@ public class UserTokenUtils {
         return claims;
     }
 
+    private Claims parseClaims(String tokenString, String appKey) {
+        String tokenSecret = getTokenSecret(appKey);
+        return Jwts.parser()
+                .setSigningKey(tokenSecret.getBytes(StandardCharsets.UTF_8))
+                .build().parseClaimsJws(tokenString).getBody();
+    }
+
     private static String getTokenString(String token) {
         return token.startsWith(TOKEN_PREFIX) ? token.substring(token.indexOf(TOKEN_PREFIX)
                 + TOKEN_PREFIX.length()).trim() : token.trim();
@@ -167,4 +201,26 @@ public class UserTokenUtils {
         }
         return appKey;
     }
+
+    private class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long expireMillis = authenticationConfig.getTokenTimeout();
+            if (claims.getExpiration() != null) {
+                expireMillis = Math.min(expireMillis, claims.getExpiration().getTime() - System.currentTimeMillis());
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(expireMillis, 0L));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
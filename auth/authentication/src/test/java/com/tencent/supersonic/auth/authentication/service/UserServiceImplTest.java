@@ -0,0 +1,57 @@
+package com.tencent.supersonic.auth.authentication.service;
+
+import com.google.common.collect.Sets;
+import com.tencent.supersonic.auth.api.authentication.adaptor.UserAdaptor;
+import com.tencent.supersonic.auth.api.authentication.request.UserReq;
+import com.tencent.supersonic.auth.authentication.utils.ComponentFactory;
+import com.tencent.supersonic.common.service.SystemConfigService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+class UserServiceImplTest {
+
+    private final UserAdaptor userAdaptor = Mockito.mock(UserAdaptor.class);
+
+    private MockedStatic<ComponentFactory> componentFactory;
+
+    @BeforeEach
+    void setUp() {
+        componentFactory = Mockito.mockStatic(ComponentFactory.class);
+        componentFactory.when(ComponentFactory::getUserAdaptor).thenReturn(userAdaptor);
+        Mockito.when(userAdaptor.getUserAllOrgId("jack")).thenReturn(Sets.newHashSet("1", "2"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        componentFactory.close();
+    }
+
+    @Test
+    void testOrgIdsInvalidatedAfterUserUpdate() {
+        UserServiceImpl userService = new UserServiceImpl(Mockito.mock(SystemConfigService.class), 3600);
+        Assertions.assertEquals(Sets.newHashSet("1", "2"), userService.getUserAllOrgId("jack"));
+        userService.getUserAllOrgId("jack").add("3");
+        Assertions.assertEquals(Sets.newHashSet("1", "2"), userService.getUserAllOrgId("jack"));
+        Mockito.verify(userAdaptor, Mockito.times(1)).getUserAllOrgId("jack");
+
+        Mockito.when(userAdaptor.getUserAllOrgId("jack")).thenReturn(Sets.newHashSet("1"));
+        UserReq userReq = new UserReq();
+        userReq.setName("jack");
+        userService.register(userReq);
+        Assertions.assertEquals(Sets.newHashSet("1"), userService.getUserAllOrgId("jack"));
+    }
+
+    @Test
+    void testOrgIdsReloadedAfterExpiry() {
+        UserServiceImpl userService = new UserServiceImpl(Mockito.mock(SystemConfigService.class), 0);
+        Assertions.assertEquals(Sets.newHashSet("1", "2"), userService.getUserAllOrgId("jack"));
+
+        // an org change made by another node is picked up once the cached org ids expire
+        Mockito.when(userAdaptor.getUserAllOrgId("jack")).thenReturn(Sets.newHashSet("2"));
+        Assertions.assertEquals(Sets.newHashSet("2"), userService.getUserAllOrgId("jack"));
+    }
+}
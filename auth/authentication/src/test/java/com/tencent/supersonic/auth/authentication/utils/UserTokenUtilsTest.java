@@ -0,0 +1,91 @@
+package com.tencent.supersonic.auth.authentication.utils;
+
+import com.tencent.supersonic.auth.api.authentication.config.AuthenticationConfig;
+import com.tencent.supersonic.auth.api.authentication.pojo.UserWithPassword;
+import com.tencent.supersonic.common.pojo.exception.AccessException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class UserTokenUtilsTest {
+
+    private static final String SECRET = "WIaO9YRRVt+7QtpPvyWsARFngnEcbaKBk"
+            + "783uGFwMrbJBaochsqCH62L4Kijcb0sZCYoSsiK";
+    private static final String OTHER_SECRET = "YRRVt+7QtpPvyWsARFngnEcbaKBk783uG"
+            + "FwMrbJBaochsqCH62L4Kijcb0sZCYoSsiKWIaO9";
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void testExpiredTokenNotServedFromCache() throws Exception {
+        AuthenticationConfig authenticationConfig = mockAuthenticationConfig(1000L, "s2:" + SECRET);
+        UserTokenUtils userTokenUtils = new UserTokenUtils(authenticationConfig);
+        String token = userTokenUtils.generateToken(mockUser(), "s2");
+        Assertions.assertEquals("jack", userTokenUtils.getUser(token, "s2").getName());
+
+        Thread.sleep(1500L);
+        Assertions.assertThrows(AccessException.class, () -> userTokenUtils.getUser(token, "s2"));
+    }
+
+    @Test
+    void testOtherAppKeyMissesCache() {
+        AuthenticationConfig authenticationConfig = mockAuthenticationConfig(60000L,
+                "s2:" + SECRET + ",bi:" + SECRET);
+        UserTokenUtils userTokenUtils = new UserTokenUtils(authenticationConfig, nanos::get);
+        String token = userTokenUtils.generateToken(mockUser(), "s2");
+        Assertions.assertEquals("jack", userTokenUtils.getUser(token, "s2").getName());
+
+        // a token cached for one app key is verified again with the secret of another app key
+        authenticationConfig.setTokenAppSecret("s2:" + SECRET + ",bi:" + OTHER_SECRET);
+        Assertions.assertThrows(AccessException.class, () -> userTokenUtils.getUser(token, "bi"));
+        Assertions.assertEquals("jack", userTokenUtils.getUser(token, "s2").getName());
+    }
+
+    @Test
+    void testCachedUntilTokenExpiration() {
+        // the token expires before the token timeout of the verifier
+        String token = new UserTokenUtils(mockAuthenticationConfig(10000L, "s2:" + SECRET))
+                .generateToken(mockUser(), "s2");
+        assertCachedFor(token, 60000L, 10000L);
+    }
+
+    @Test
+    void testCachedUntilTokenTimeout() {
+        // the token timeout of the verifier ends before the token expires
+        String token = new UserTokenUtils(mockAuthenticationConfig(60000L, "s2:" + SECRET))
+                .generateToken(mockUser(), "s2");
+        assertCachedFor(token, 5000L, 5000L);
+    }
+
+    private void assertCachedFor(String token, long tokenTimeout, long expectedMillis) {
+        AuthenticationConfig authenticationConfig = mockAuthenticationConfig(tokenTimeout, "s2:" + SECRET);
+        UserTokenUtils userTokenUtils = new UserTokenUtils(authenticationConfig, nanos::get);
+        Assertions.assertEquals("jack", userTokenUtils.getUser(token, "s2").getName());
+
+        // cache hits do not verify the token, so they still succeed after the secret is rotated
+        authenticationConfig.setTokenAppSecret("s2:" + OTHER_SECRET);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(expectedMillis - 1000L));
+        Assertions.assertEquals("jack", userTokenUtils.getUser(token, "s2").getName());
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000L));
+        Assertions.assertThrows(AccessException.class, () -> userTokenUtils.getUser(token, "s2"));
+    }
+
+    private AuthenticationConfig mockAuthenticationConfig(long tokenTimeout, String tokenAppSecret) {
+        AuthenticationConfig authenticationConfig = new AuthenticationConfig();
+        authenticationConfig.setTokenTimeout(tokenTimeout);
+        authenticationConfig.setTokenAppSecret(tokenAppSecret);
+        return authenticationConfig;
+    }
+
+    private UserWithPassword mockUser() {
+        UserWithPassword user = new UserWithPassword("jack");
+        user.setId(2L);
+        user.setName("jack");
+        user.setPassword("123456");
+        user.setDisplayName("jack");
+        user.setIsAdmin(0);
+        return user;
+    }
+}
@@ -0,0 +1,97 @@
+package com.tencent.supersonic.auth.authorization.service;
+
+import com.tencent.supersonic.auth.api.authorization.pojo.AuthGroup;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * immutable index of the auth groups by model id, and within a model by authorized user and department,
+ * it is rebuilt as a whole when the auth groups change
+ */
+public class AuthGroupIndex {
+
+    private final Map<Long, ModelAuthGroups> modelAuthGroups = new HashMap<>();
+
+    private final int size;
+
+    public AuthGroupIndex(List<AuthGroup> authGroups) {
+        for (AuthGroup authGroup : authGroups) {
+            if (Objects.isNull(authGroup.getModelId())) {
+                continue;
+            }
+            modelAuthGroups.computeIfAbsent(authGroup.getModelId(), k -> new ModelAuthGroups()).add(authGroup);
+        }
+        this.size = authGroups.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<AuthGroup> getAuthGroups(Long modelId) {
+        ModelAuthGroups authGroups = modelAuthGroups.get(modelId);
+        if (Objects.isNull(authGroups)) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(authGroups.groups);
+    }
+
+    /**
+     * auth groups of the models that are granted to the user directly or to one of the departments
+     */
+    public List<AuthGroup> getAuthGroups(Collection<Long> modelIds, String userName,
+            Collection<String> departmentIds) {
+        List<AuthGroup> result = new ArrayList<>();
+        for (Long modelId : new LinkedHashSet<>(modelIds)) {
+            ModelAuthGroups authGroups = modelAuthGroups.get(modelId);
+            if (Objects.isNull(authGroups)) {
+                continue;
+            }
+            BitSet granted = new BitSet(authGroups.groups.size());
+            authGroups.groupsByUser.getOrDefault(userName, Collections.emptyList()).forEach(granted::set);
+            for (String departmentId : departmentIds) {
+                authGroups.groupsByDepartment.getOrDefault(departmentId, Collections.emptyList())
+                        .forEach(granted::set);
+            }
+            granted.stream().forEach(i -> result.add(authGroups.groups.get(i)));
+        }
+        return result;
+    }
+
+    private static class ModelAuthGroups {
+
+        private final List<AuthGroup> groups = new ArrayList<>();
+
+        /**
+         * user to the positions of the groups granted to the user
+         */
+        private final Map<String, List<Integer>> groupsByUser = new HashMap<>();
+
+        private final Map<String, List<Integer>> groupsByDepartment = new HashMap<>();
+
+        private void add(AuthGroup authGroup) {
+            int position = groups.size();
+            groups.add(authGroup);
+            if (!CollectionUtils.isEmpty(authGroup.getAuthorizedUsers())) {
+                for (String user : new HashSet<>(authGroup.getAuthorizedUsers())) {
+                    groupsByUser.computeIfAbsent(user, k -> new ArrayList<>()).add(position);
+                }
+            }
+            if (!CollectionUtils.isEmpty(authGroup.getAuthorizedDepartmentIds())) {
+                for (String departmentId : new HashSet<>(authGroup.getAuthorizedDepartmentIds())) {
+                    groupsByDepartment.computeIfAbsent(departmentId, k -> new ArrayList<>()).add(position);
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.tencent.supersonic.auth.authorization.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.gson.Gson;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
 import com.tencent.supersonic.auth.api.authentication.service.UserService;
@@ -11,6 +13,8 @@ import com.tencent.supersonic.auth.api.authorization.request.QueryAuthResReq;
 import com.tencent.supersonic.auth.api.authorization.response.AuthorizedResourceResp;
 import com.tencent.supersonic.auth.api.authorization.service.AuthService;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -20,20 +24,32 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class AuthServiceImpl implements AuthService {
 
+    private static final String AUTH_GROUP_INDEX_KEY = "authGroupIndex";
+
     private JdbcTemplate jdbcTemplate;
 
     private UserService userService;
 
+    /**
+     * parsed auth groups, dropped after the groups are changed on this node and expired after a while,
+     * so the changes made on the other nodes are picked up as well
+     */
+    private final Cache<String, AuthGroupIndex> authGroupIndexCache;
+
     public AuthServiceImpl(JdbcTemplate jdbcTemplate,
-                           UserService userService) {
+                           UserService userService,
+                           @Value("${s2.auth.group.cache.expire-seconds:60}") long authGroupCacheExpireSeconds) {
         this.jdbcTemplate = jdbcTemplate;
         this.userService = userService;
+        this.authGroupIndexCache = Caffeine.newBuilder().maximumSize(1)
+                .expireAfterWrite(authGroupCacheExpireSeconds, TimeUnit.SECONDS).build();
     }
 
     private List<AuthGroup> load() {
@@ -42,11 +58,21 @@ public class AuthServiceImpl implements AuthService {
         return rows.stream().map(row -> g.fromJson(row, AuthGroup.class)).collect(Collectors.toList());
     }
 
+    private AuthGroupIndex getAuthGroupIndex() {
+        return authGroupIndexCache.get(AUTH_GROUP_INDEX_KEY, key -> {
+            AuthGroupIndex authGroupIndex = new AuthGroupIndex(load());
+            log.info("reload auth groups, size:{}", authGroupIndex.size());
+            return authGroupIndex;
+        });
+    }
+
     @Override
     public List<AuthGroup> queryAuthGroups(String modelId, Integer groupId) {
-        return load().stream()
-                .filter(group -> (Objects.isNull(groupId) || groupId.equals(group.getGroupId()))
-                        && modelId.equals(group.getModelId().toString()))
+        if (!NumberUtils.isDigits(modelId)) {
+            return new ArrayList<>();
+        }
+        return getAuthGroupIndex().getAuthGroups(Long.valueOf(modelId)).stream()
+                .filter(group -> Objects.isNull(groupId) || groupId.equals(group.getGroupId()))
                 .collect(Collectors.toList());
     }
 
@@ -67,11 +93,13 @@ public class AuthServiceImpl implements AuthService {
             jdbcTemplate.update("update s2_auth_groups set config = ? where group_id = ?;", g.toJson(group),
                     group.getGroupId());
         }
+        authGroupIndexCache.invalidate(AUTH_GROUP_INDEX_KEY);
     }
 
     @Override
     public void removeAuthGroup(AuthGroup group) {
         jdbcTemplate.update("delete from s2_auth_groups where group_id = ?", group.getGroupId());
+        authGroupIndexCache.invalidate(AUTH_GROUP_INDEX_KEY);
     }
 
     @Override
@@ -111,24 +139,9 @@ public class AuthServiceImpl implements AuthService {
     }
 
     private List<AuthGroup> getAuthGroups(List<Long> modelIds, String userName, List<String> departmentIds) {
-        List<AuthGroup> groups = load().stream()
-                .filter(group -> {
-                    if (!modelIds.contains(group.getModelId())) {
-                        return false;
-                    }
-                    if (!CollectionUtils.isEmpty(group.getAuthorizedUsers())
-                            && group.getAuthorizedUsers().contains(userName)) {
-                        return true;
-                    }
-                    for (String departmentId : departmentIds) {
-                        if (!CollectionUtils.isEmpty(group.getAuthorizedDepartmentIds())
-                                && group.getAuthorizedDepartmentIds().contains(departmentId)) {
-                            return true;
-                        }
-                    }
-                    return false;
-                }).collect(Collectors.toList());
-        log.info("user:{} department:{} authGroups:{}", userName, departmentIds, groups);
+        List<AuthGroup> groups = getAuthGroupIndex().getAuthGroups(modelIds, userName, departmentIds);
+        log.info("user:{} department:{} authGroups:{}", userName, departmentIds,
+                groups.stream().map(AuthGroup::getGroupId).collect(Collectors.toList()));
         return groups;
     }
 
@@ -0,0 +1,62 @@
+package com.tencent.supersonic.auth.authorization.service;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.auth.api.authorization.pojo.AuthGroup;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class AuthGroupIndexTest {
+
+    private final AuthGroupIndex authGroupIndex = new AuthGroupIndex(Lists.newArrayList(
+            mockAuthGroup(1, 1L, Lists.newArrayList("jack"), new ArrayList<>()),
+            mockAuthGroup(2, 1L, Lists.newArrayList("tom"), Lists.newArrayList("sales")),
+            mockAuthGroup(3, 1L, Lists.newArrayList("jack", "jack"), Lists.newArrayList("hr")),
+            mockAuthGroup(4, 2L, new ArrayList<>(), Lists.newArrayList("sales")),
+            mockAuthGroup(5, null, Lists.newArrayList("jack"), new ArrayList<>())));
+
+    @Test
+    void testGetAuthGroupsByModel() {
+        Assertions.assertEquals(5, authGroupIndex.size());
+        Assertions.assertEquals(Lists.newArrayList(1, 2, 3), getGroupIds(authGroupIndex.getAuthGroups(1L)));
+        Assertions.assertEquals(Lists.newArrayList(4), getGroupIds(authGroupIndex.getAuthGroups(2L)));
+        Assertions.assertTrue(authGroupIndex.getAuthGroups(3L).isEmpty());
+    }
+
+    @Test
+    void testGetAuthGroupsByUser() {
+        Assertions.assertEquals(Lists.newArrayList(1, 3), getGroupIds(authGroupIndex.getAuthGroups(
+                Lists.newArrayList(1L, 2L), "jack", new ArrayList<>())));
+        Assertions.assertEquals(Lists.newArrayList(2), getGroupIds(authGroupIndex.getAuthGroups(
+                Lists.newArrayList(1L, 2L), "tom", new ArrayList<>())));
+        Assertions.assertTrue(authGroupIndex.getAuthGroups(Lists.newArrayList(1L, 2L), "lucy",
+                new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    void testGetAuthGroupsByDepartment() {
+        Assertions.assertEquals(Lists.newArrayList(2, 4), getGroupIds(authGroupIndex.getAuthGroups(
+                Lists.newArrayList(1L, 2L), "lucy", Lists.newArrayList("sales"))));
+        Assertions.assertEquals(Lists.newArrayList(4), getGroupIds(authGroupIndex.getAuthGroups(
+                Lists.newArrayList(2L), "lucy", Lists.newArrayList("sales"))));
+        // a group granted to both the user and a department is returned once
+        Assertions.assertEquals(Lists.newArrayList(1, 2, 3, 4), getGroupIds(authGroupIndex.getAuthGroups(
+                Lists.newArrayList(1L, 2L, 1L), "jack", Lists.newArrayList("sales", "hr"))));
+    }
+
+    private List<Integer> getGroupIds(List<AuthGroup> authGroups) {
+        return authGroups.stream().map(AuthGroup::getGroupId).collect(Collectors.toList());
+    }
+
+    private AuthGroup mockAuthGroup(Integer groupId, Long modelId, List<String> users, List<String> departments) {
+        AuthGroup authGroup = new AuthGroup();
+        authGroup.setGroupId(groupId);
+        authGroup.setModelId(modelId);
+        authGroup.setAuthorizedUsers(users);
+        authGroup.setAuthorizedDepartmentIds(departments);
+        return authGroup;
+    }
+}
@@ -0,0 +1,50 @@
+package com.tencent.supersonic.auth.authorization.service;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.auth.api.authentication.service.UserService;
+import com.tencent.supersonic.auth.api.authorization.pojo.AuthGroup;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AuthServiceImplTest {
+
+    private static final String GROUP_1 = "{\"groupId\":1,\"modelId\":1,\"authorizedUsers\":[\"jack\"]}";
+    private static final String GROUP_2 = "{\"groupId\":2,\"modelId\":1,\"authorizedUsers\":[\"tom\"]}";
+
+    @Test
+    void testReloadAfterChange() {
+        JdbcTemplate jdbcTemplate = mockJdbcTemplate();
+        AuthServiceImpl authService = new AuthServiceImpl(jdbcTemplate, Mockito.mock(UserService.class), 3600);
+        Assertions.assertEquals(2, authService.queryAuthGroups("1", null).size());
+        Assertions.assertEquals(2, authService.queryAuthGroups("1", null).size());
+        Mockito.verify(jdbcTemplate, Mockito.times(1)).queryForList(Mockito.anyString(), Mockito.eq(String.class));
+
+        Mockito.when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.eq(String.class)))
+                .thenReturn(Lists.newArrayList(GROUP_1));
+        AuthGroup authGroup = new AuthGroup();
+        authGroup.setGroupId(2);
+        authService.removeAuthGroup(authGroup);
+        Assertions.assertEquals(1, authService.queryAuthGroups("1", null).size());
+    }
+
+    @Test
+    void testReloadAfterExpiry() {
+        JdbcTemplate jdbcTemplate = mockJdbcTemplate();
+        AuthServiceImpl authService = new AuthServiceImpl(jdbcTemplate, Mockito.mock(UserService.class), 0);
+        Assertions.assertEquals(2, authService.queryAuthGroups("1", null).size());
+
+        // a group removed by another node is no longer granted once the cached groups expire
+        Mockito.when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.eq(String.class)))
+                .thenReturn(Lists.newArrayList(GROUP_1));
+        Assertions.assertEquals(1, authService.queryAuthGroups("1", null).size());
+    }
+
+    private JdbcTemplate mockJdbcTemplate() {
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        Mockito.when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.eq(String.class)))
+                .thenReturn(Lists.newArrayList(GROUP_1, GROUP_2));
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,108 @@
+package com.tencent.supersonic.benchmark;
+
+import com.google.gson.Gson;
+import com.tencent.supersonic.auth.api.authentication.pojo.User;
+import com.tencent.supersonic.auth.api.authentication.service.UserService;
+import com.tencent.supersonic.auth.api.authorization.pojo.AuthGroup;
+import com.tencent.supersonic.auth.api.authorization.pojo.AuthRule;
+import com.tencent.supersonic.auth.api.authorization.request.QueryAuthResReq;
+import com.tencent.supersonic.auth.api.authorization.response.AuthorizedResourceResp;
+import com.tencent.supersonic.auth.authorization.service.AuthServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * permission resolution of a user against a growing number of auth groups,
+ * the groups are served from memory so the cost should not grow with the number of groups
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthServiceBenchmark {
+
+    private static final int MODEL_COUNT = 100;
+
+    private static final int GRANTED_COUNT = 50;
+
+    private static final String USER_NAME = "alice";
+
+    private static final Set<String> USER_ORG_IDS = Collections.singleton("1");
+
+    @Param({"100", "1000", "10000"})
+    private int groupCount;
+
+    private AuthServiceImpl authService;
+
+    private QueryAuthResReq queryAuthResReq;
+
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<String> rows = new ArrayList<>();
+        Gson gson = new Gson();
+        for (int i = 0; i < groupCount; i++) {
+            AuthGroup authGroup = new AuthGroup();
+            authGroup.setGroupId(i);
+            authGroup.setModelId((long) (i % MODEL_COUNT));
+            authGroup.setName("group_" + i);
+            AuthRule authRule = new AuthRule();
+            authRule.setMetrics(Arrays.asList("metric_" + i));
+            authRule.setDimensions(Arrays.asList("dimension_" + i));
+            authGroup.setAuthRules(Collections.singletonList(authRule));
+            authGroup.setDimensionFilters(Collections.singletonList("department = 'dep_" + i + "'"));
+            // the same few groups are granted to the user and the department whatever the group count,
+            // so only the lookup cost varies
+            authGroup.setAuthorizedUsers(Arrays.asList(i < GRANTED_COUNT ? USER_NAME : "user_" + i));
+            authGroup.setAuthorizedDepartmentIds(Arrays.asList(
+                    i >= GRANTED_COUNT && i < 2 * GRANTED_COUNT ? "1" : "dep_" + i));
+            rows.add(gson.toJson(authGroup));
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> queryForList(String sql, Class<T> elementType) {
+                return (List<T>) rows;
+            }
+        };
+        UserService userService = (UserService) Proxy.newProxyInstance(UserService.class.getClassLoader(),
+                new Class[]{UserService.class},
+                (proxy, method, args) -> "getUserAllOrgId".equals(method.getName()) ? USER_ORG_IDS : null);
+        authService = new AuthServiceImpl(jdbcTemplate, userService, 60);
+        queryAuthResReq = new QueryAuthResReq();
+        queryAuthResReq.setModelIds(Arrays.asList(0L, 1L, 2L));
+        user = new User(1L, USER_NAME, USER_NAME, USER_NAME + "@email", 0);
+    }
+
+    @Benchmark
+    public AuthorizedResourceResp queryAuthorizedResources() {
+        return authService.queryAuthorizedResources(queryAuthResReq, user);
+    }
+
+    @Benchmark
+    public List<AuthGroup> queryAuthGroups() {
+        return authService.queryAuthGroups("1", null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.tencent.supersonic.benchmark;
+
+import com.tencent.supersonic.StandaloneLauncher;
+import com.tencent.supersonic.common.pojo.Aggregator;
+import com.tencent.supersonic.common.pojo.DateConf;
+import com.tencent.supersonic.common.pojo.DateConf.DateMode;
+import com.tencent.supersonic.common.pojo.Order;
+import com.tencent.supersonic.common.pojo.enums.AggOperatorEnum;
+import com.tencent.supersonic.common.pojo.enums.QueryType;
+import com.tencent.supersonic.headless.api.pojo.QueryParam;
+import com.tencent.supersonic.headless.api.pojo.request.QueryStructReq;
+import com.tencent.supersonic.headless.api.pojo.request.SchemaFilterReq;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticSchemaResp;
+import com.tencent.supersonic.headless.core.pojo.QueryStatement;
+import com.tencent.supersonic.headless.server.manager.SemanticSchemaManager;
+import com.tencent.supersonic.headless.server.service.SchemaService;
+import com.tencent.supersonic.headless.server.utils.QueryReqConverter;
+import com.tencent.supersonic.headless.server.utils.QueryUtils;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * starts the standalone launcher with its in-memory h2 demo schema once per benchmark jvm,
+ * and builds the query statements of the demo models the same way S2SemanticLayerService does
+ */
+public class BenchmarkContext {
+
+    /**
+     * models of the S2VisitsDemo
+     */
+    private static final List<Long> MODEL_IDS = Arrays.asList(1L, 2L, 3L);
+
+    private static volatile ConfigurableApplicationContext context;
+
+    public static <T> T getBean(Class<T> clazz) {
+        return getContext().getBean(clazz);
+    }
+
+    public static QueryStructReq buildQueryStructReq(List<String> groups) {
+        QueryStructReq queryStructReq = new QueryStructReq();
+        MODEL_IDS.forEach(queryStructReq::addModelId);
+        queryStructReq.setQueryType(QueryType.METRIC);
+        Aggregator aggregator = new Aggregator();
+        aggregator.setFunc(AggOperatorEnum.SUM);
+        aggregator.setColumn("pv");
+        queryStructReq.setAggregators(Collections.singletonList(aggregator));
+        queryStructReq.setGroups(groups);
+        DateConf dateConf = new DateConf();
+        dateConf.setDateMode(DateMode.BETWEEN);
+        dateConf.setEndDate(LocalDate.now().toString());
+        dateConf.setStartDate(LocalDate.now().minusDays(365).toString());
+        queryStructReq.setDateInfo(dateConf);
+        Order order = new Order();
+        order.setColumn("pv");
+        queryStructReq.setOrders(Collections.singletonList(order));
+        return queryStructReq;
+    }
+
+    public static QueryStatement buildQueryStatement(QueryStructReq queryStructReq) {
+        SchemaFilterReq filter = new SchemaFilterReq();
+        filter.setDataSetId(queryStructReq.getDataSetId());
+        filter.setModelIds(queryStructReq.getModelIds());
+        SemanticSchemaResp semanticSchemaResp = getBean(SchemaService.class).fetchSemanticSchema(filter);
+        QueryStatement queryStatement = new QueryStatement();
+        QueryParam queryParam = new QueryParam();
+        getBean(QueryReqConverter.class).convert(queryStructReq, queryParam);
+        queryStatement.setQueryParam(queryParam);
+        queryStatement.setIsS2SQL(false);
+        queryStatement.setEnableOptimize(getBean(QueryUtils.class).enableOptimize());
+        queryStatement.setDataSetId(queryStructReq.getDataSetId());
+        queryStatement.setSemanticSchemaResp(semanticSchemaResp);
+        queryStatement.setSemanticModel(getBean(SemanticSchemaManager.class).getSemanticModel(semanticSchemaResp));
+        return queryStatement;
+    }
+
+    private static ConfigurableApplicationContext getContext() {
+        if (Objects.isNull(context)) {
+            synchronized (BenchmarkContext.class) {
+                if (Objects.isNull(context)) {
+                    context = new SpringApplicationBuilder(StandaloneLauncher.class)
+                            .properties("server.port=0").run();
+                }
+            }
+        }
+        return context;
+    }
+}
@@ -0,0 +1,82 @@
+package com.tencent.supersonic.benchmark;
+
+import com.tencent.supersonic.common.jsqlparser.SqlReplaceHelper;
+import com.tencent.supersonic.common.jsqlparser.SqlSelectHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the JSqlParser helpers used by the chat and headless query corrections, no spring context needed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlHelperBenchmark {
+
+    private static final String SQL = "SELECT 部门, SUM(访问次数) AS 访问次数 FROM 超音数PVUV统计 "
+            + "WHERE 数据日期 >= '2024-01-01' AND 数据日期 <= '2024-03-31' AND 用户名 = 'alice' "
+            + "GROUP BY 部门 HAVING SUM(访问次数) > 10 ORDER BY 访问次数 DESC LIMIT 100";
+
+    private final Map<String, String> fieldNameMap = new HashMap<>();
+
+    private final Map<String, Map<String, String>> fieldValueMap = new HashMap<>();
+
+    public SqlHelperBenchmark() {
+        fieldNameMap.put("部门", "department");
+        fieldNameMap.put("访问次数", "pv");
+        fieldNameMap.put("数据日期", "imp_date");
+        fieldNameMap.put("用户名", "user_name");
+        fieldValueMap.put("用户名", Collections.singletonMap("alice", "Alice"));
+    }
+
+    @Benchmark
+    public Object getSelect() {
+        return SqlSelectHelper.getSelect(SQL);
+    }
+
+    @Benchmark
+    public Object getSharedSelect() {
+        return SqlSelectHelper.getSharedSelect(SQL);
+    }
+
+    @Benchmark
+    public List<String> getAllFields() {
+        return SqlSelectHelper.getAllFields(SQL);
+    }
+
+    @Benchmark
+    public List<String> getWhereFields() {
+        return SqlSelectHelper.getWhereFields(SQL);
+    }
+
+    @Benchmark
+    public String replaceFields() {
+        return SqlReplaceHelper.replaceFields(SQL, fieldNameMap);
+    }
+
+    @Benchmark
+    public String replaceValue() {
+        return SqlReplaceHelper.replaceValue(SQL, fieldValueMap);
+    }
+
+    @Benchmark
+    public String replaceTable() {
+        return SqlReplaceHelper.replaceTable(SQL, "s2_pv_uv_statis");
+    }
+}
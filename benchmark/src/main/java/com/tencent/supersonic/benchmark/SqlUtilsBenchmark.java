@@ -0,0 +1,55 @@
+package com.tencent.supersonic.benchmark;
+
+import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
+import com.tencent.supersonic.headless.core.pojo.QueryStatement;
+import com.tencent.supersonic.headless.core.translator.DefaultSemanticTranslator;
+import com.tencent.supersonic.headless.core.utils.SqlUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * execution of the translated demo query against the in-memory h2 database
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlUtilsBenchmark {
+
+    private SqlUtils sqlUtils;
+
+    private String sql;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        QueryStatement queryStatement = BenchmarkContext.buildQueryStatement(
+                BenchmarkContext.buildQueryStructReq(Arrays.asList("department")));
+        BenchmarkContext.getBean(DefaultSemanticTranslator.class).translate(queryStatement);
+        if (!queryStatement.isOk()) {
+            throw new IllegalStateException("translate error: " + queryStatement.getErrMsg());
+        }
+        sql = queryStatement.getSql();
+        sqlUtils = BenchmarkContext.getBean(SqlUtils.class).init(queryStatement.getSemanticModel().getDatabase());
+    }
+
+    @Benchmark
+    public SemanticQueryResp queryInternal() {
+        SemanticQueryResp queryResultWithColumns = new SemanticQueryResp();
+        sqlUtils.queryInternal(sql, queryResultWithColumns);
+        return queryResultWithColumns;
+    }
+}
@@ -0,0 +1,111 @@
+package com.tencent.supersonic.benchmark;
+
+import com.tencent.supersonic.common.util.StringUtil;
+import com.tencent.supersonic.headless.api.pojo.MetricTable;
+import com.tencent.supersonic.headless.api.pojo.enums.AggOption;
+import com.tencent.supersonic.headless.core.pojo.DataSetQueryParam;
+import com.tencent.supersonic.headless.core.pojo.MetricQueryParam;
+import com.tencent.supersonic.headless.core.pojo.QueryStatement;
+import com.tencent.supersonic.headless.core.translator.DefaultSemanticTranslator;
+import com.tencent.supersonic.headless.core.translator.calcite.CalciteQueryParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * translation of a struct query of the demo models, the statement is rebuilt before every invocation
+ * because the translator writes its result into it
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranslatorBenchmark {
+
+    private DefaultSemanticTranslator semanticTranslator;
+
+    private CalciteQueryParser queryParser;
+
+    /**
+     * the metric table statement the translator hands to the query parser
+     */
+    private QueryStatement metricStatement;
+
+    private AggOption aggOption;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        semanticTranslator = BenchmarkContext.getBean(DefaultSemanticTranslator.class);
+        queryParser = BenchmarkContext.getBean(CalciteQueryParser.class);
+        QueryStatement queryStatement = BenchmarkContext.buildQueryStatement(
+                BenchmarkContext.buildQueryStructReq(Arrays.asList("department")));
+        semanticTranslator.parse(queryStatement);
+        DataSetQueryParam dataSetQueryParam = queryStatement.getDataSetQueryParam();
+        MetricTable metricTable = dataSetQueryParam.getTables().get(0);
+        MetricQueryParam metricQueryParam = new MetricQueryParam();
+        metricQueryParam.setMetrics(metricTable.getMetrics());
+        metricQueryParam.setDimensions(metricTable.getDimensions());
+        metricQueryParam.setWhere(StringUtil.formatSqlQuota(metricTable.getWhere()));
+        metricQueryParam.setNativeQuery(!AggOption.isAgg(metricTable.getAggOption()));
+        metricStatement = new QueryStatement();
+        metricStatement.setIsS2SQL(false);
+        metricStatement.setMetricQueryParam(metricQueryParam);
+        metricStatement.setMinMaxTime(queryStatement.getMinMaxTime());
+        metricStatement.setEnableOptimize(queryStatement.getEnableOptimize());
+        metricStatement.setDataSetId(queryStatement.getDataSetId());
+        metricStatement.setSemanticModel(queryStatement.getSemanticModel());
+        metricStatement.setDataSetSql(dataSetQueryParam.getSql());
+        metricStatement.setDataSetAlias(metricTable.getAlias());
+        aggOption = metricTable.getAggOption();
+    }
+
+    /**
+     * repeated translation, answered by the translate cache after the first invocation
+     */
+    @Benchmark
+    public String translate(StatementState state) {
+        semanticTranslator.translate(state.queryStatement);
+        return state.queryStatement.getSql();
+    }
+
+    /**
+     * the full convert, parse and optimize pipeline without the translate cache
+     */
+    @Benchmark
+    public String translateUncached(StatementState state) throws Exception {
+        semanticTranslator.parse(state.queryStatement);
+        semanticTranslator.optimize(state.queryStatement);
+        return state.queryStatement.getSql();
+    }
+
+    @Benchmark
+    public String calciteParse() throws Exception {
+        queryParser.parse(metricStatement, aggOption);
+        return metricStatement.getSql();
+    }
+
+    @State(Scope.Thread)
+    public static class StatementState {
+
+        private QueryStatement queryStatement;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            queryStatement = BenchmarkContext.buildQueryStatement(
+                    BenchmarkContext.buildQueryStructReq(Arrays.asList("department")));
+        }
+    }
+}
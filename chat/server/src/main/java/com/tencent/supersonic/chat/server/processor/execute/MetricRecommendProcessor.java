@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -63,9 +64,14 @@ public class MetricRecommendProcessor implements ExecuteResultProcessor {
                 .distinct().collect(Collectors.toList());
         Set<Long> metricIds = parseInfo.getMetrics().stream().map(SchemaElement::getId).collect(Collectors.toSet());
         int metricOrder = 0;
+        // the metrics may be shared with the semantic schema, the order is set on copies
+        Set<SchemaElement> metrics = new LinkedHashSet<>();
         for (SchemaElement metric : parseInfo.getMetrics()) {
-            metric.setOrder(metricOrder++);
+            SchemaElement orderedMetric = metric.copy();
+            orderedMetric.setOrder(metricOrder++);
+            metrics.add(orderedMetric);
         }
+        parseInfo.setMetrics(metrics);
         for (Retrieval retrieval : retrievals) {
             if (!metricIds.contains(Retrieval.getLongId(retrieval.getId()))) {
                 if (Objects.nonNull(retrieval.getMetadata().get("id"))) {
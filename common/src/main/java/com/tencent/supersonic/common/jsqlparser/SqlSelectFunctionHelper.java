@@ -45,7 +45,7 @@ public class SqlSelectFunctionHelper {
     }
 
     public static Set<String> getFunctions(String sql) {
-        Select selectStatement = SqlSelectHelper.getSelect(sql);
+        Select selectStatement = SqlSelectHelper.getSharedSelect(sql);
         if (!(selectStatement instanceof PlainSelect)) {
             return new HashSet<>();
         }
@@ -1,5 +1,7 @@
 package com.tencent.supersonic.common.jsqlparser;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tencent.supersonic.common.util.StringUtil;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -8,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.JSQLParserException;
@@ -47,6 +50,7 @@ import net.sf.jsqlparser.statement.select.SelectItem;
 import net.sf.jsqlparser.statement.select.SelectVisitorAdapter;
 import net.sf.jsqlparser.statement.select.SetOperationList;
 import net.sf.jsqlparser.statement.select.WithItem;
+import net.sf.jsqlparser.util.TablesNamesFinder;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.CollectionUtils;
 
@@ -56,6 +60,14 @@ import org.springframework.util.CollectionUtils;
 @Slf4j
 public class SqlSelectHelper {
 
+    private static final int STATEMENT_CACHE_SIZE = 1000;
+
+    /**
+     * parsed statements keyed by sql text, the read only helpers share them
+     */
+    private static final Cache<String, Statement> STATEMENT_CACHE = Caffeine.newBuilder()
+            .maximumSize(STATEMENT_CACHE_SIZE).expireAfterAccess(10, TimeUnit.MINUTES).build();
+
     public static List<FieldExpression> getFilterExpression(String sql) {
         List<PlainSelect> plainSelectList = getPlainSelect(sql);
         Set<FieldExpression> result = new HashSet<>();
@@ -138,13 +150,16 @@ public class SqlSelectHelper {
         return plainSelectList;
     }
 
+    /**
+     * the plain selects are shared with other callers of the same sql and must not be modified
+     */
     public static List<PlainSelect> getPlainSelect(String sql) {
-        Select selectStatement = getSelect(sql);
+        Select selectStatement = getSharedSelect(sql);
         return getPlainSelect(selectStatement);
     }
 
     public static Boolean hasSubSelect(String sql) {
-        Select selectStatement = getSelect(sql);
+        Select selectStatement = getSharedSelect(sql);
         if (selectStatement == null) {
             return false;
         }
@@ -185,15 +200,35 @@ public class SqlSelectHelper {
         }
     }
 
+    /**
+     * parse the sql into a new statement owned by the caller, the helpers that modify the
+     * statement must use this one
+     */
     public static Select getSelect(String sql) {
-        Statement statement = null;
+        return toSelect(parse(sql));
+    }
+
+    /**
+     * parse the sql through the statement cache, the statement is shared by all callers
+     * with the same sql and must not be modified
+     */
+    public static Select getSharedSelect(String sql) {
+        if (Objects.isNull(sql)) {
+            return getSelect(sql);
+        }
+        return toSelect(STATEMENT_CACHE.get(sql, SqlSelectHelper::parse));
+    }
+
+    private static Statement parse(String sql) {
         try {
-            statement = CCJSqlParserUtil.parse(sql);
+            return CCJSqlParserUtil.parse(sql);
         } catch (JSQLParserException e) {
             log.error("parse error, sql:{}", sql, e);
             return null;
         }
+    }
 
+    private static Select toSelect(Statement statement) {
         if (statement instanceof ParenthesedSelect) {
             ParenthesedSelect parenthesedSelect = (ParenthesedSelect) statement;
             return parenthesedSelect.getSelect();
@@ -498,7 +533,7 @@ public class SqlSelectHelper {
     }
 
     public static boolean hasGroupBy(String sql) {
-        Select selectStatement = getSelect(sql);
+        Select selectStatement = getSharedSelect(sql);
 
         if (!(selectStatement instanceof PlainSelect)) {
             return false;
@@ -514,7 +549,7 @@ public class SqlSelectHelper {
     }
 
     public static boolean hasDistinct(String sql) {
-        Select selectStatement = getSelect(sql);
+        Select selectStatement = getSharedSelect(sql);
 
         if (!(selectStatement instanceof PlainSelect)) {
             return false;
@@ -576,7 +611,7 @@ public class SqlSelectHelper {
     }
 
     public static Boolean hasWith(String sql) {
-        Select selectStatement = getSelect(sql);
+        Select selectStatement = getSharedSelect(sql);
         if (selectStatement == null) {
             return false;
         }
@@ -617,7 +652,7 @@ public class SqlSelectHelper {
     }
 
     public static List<String> getWithName(String sql) {
-        Select selectStatement = getSelect(sql);
+        Select selectStatement = getSharedSelect(sql);
         if (selectStatement == null) {
             return new ArrayList<>();
         }
@@ -633,7 +668,7 @@ public class SqlSelectHelper {
     }
 
     public static Map<String, WithItem> getWith(String sql) {
-        Select selectStatement = getSelect(sql);
+        Select selectStatement = getSharedSelect(sql);
         if (selectStatement == null) {
             return new HashMap<>();
         }
@@ -649,7 +684,7 @@ public class SqlSelectHelper {
     }
 
     public static Table getTable(String sql) {
-        Select selectStatement = getSelect(sql);
+        Select selectStatement = getSharedSelect(sql);
         if (selectStatement == null) {
             return null;
         }
@@ -683,6 +718,15 @@ public class SqlSelectHelper {
         return table.getFullyQualifiedName();
     }
 
+    public static Set<String> getTableNames(String sql) {
+        Select selectStatement = getSharedSelect(sql);
+        if (selectStatement == null) {
+            return new HashSet<>();
+        }
+        TablesNamesFinder tablesNamesFinder = new TablesNamesFinder();
+        return tablesNamesFinder.getTables((Statement) selectStatement);
+    }
+
     public static Set<String> getColumnFromExpr(String expr) {
         Expression expression = QueryExpressionReplaceVisitor.getExpression(expr);
         Set<String> columns = new HashSet<>();
@@ -742,7 +786,7 @@ public class SqlSelectHelper {
     }
 
     public static Boolean hasLimit(String querySql) {
-        Select selectStatement = SqlSelectHelper.getSelect(querySql);
+        Select selectStatement = getSharedSelect(querySql);
         if (selectStatement instanceof PlainSelect) {
             PlainSelect plainSelect = selectStatement.getPlainSelect();
             Limit limit = plainSelect.getLimit();
@@ -5,6 +5,7 @@ import net.sf.jsqlparser.statement.select.Select;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -282,4 +283,17 @@ class SqlSelectHelperTest {
         Assert.assertEquals(tableName, "超音数");
     }
 
+    @Test
+    void testSharedSelect() {
+        String sql = "select 部门, sum(访问次数) from 超音数 where 用户名 = 'alice' group by 部门";
+        Assert.assertSame(SqlSelectHelper.getSharedSelect(sql), SqlSelectHelper.getSharedSelect(sql));
+        Assert.assertNotSame(SqlSelectHelper.getSelect(sql), SqlSelectHelper.getSelect(sql));
+
+        List<String> selectFields = SqlSelectHelper.getSelectFields(sql);
+        String replaceSql = SqlReplaceHelper.replaceFields(sql, Collections.singletonMap("部门", "department"));
+        Assert.assertTrue(replaceSql.contains("department"));
+        Assert.assertEquals(selectFields, SqlSelectHelper.getSelectFields(sql));
+        Assert.assertFalse(SqlSelectHelper.getSharedSelect(sql).toString().contains("department"));
+    }
+
 }
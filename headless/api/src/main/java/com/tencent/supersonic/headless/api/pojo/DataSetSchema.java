@@ -4,6 +4,7 @@ import lombok.Data;
 import org.apache.commons.collections.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -122,4 +123,30 @@ public class DataSetSchema {
         return new ArrayList<>();
     }
 
+    /**
+     * makes the element sets and the lists of the elements read only, the schema can then be shared
+     */
+    public DataSetSchema readOnly() {
+        metrics = readOnly(metrics);
+        dimensions = readOnly(dimensions);
+        tags = readOnly(tags);
+        dimensionValues = readOnly(dimensionValues);
+        terms = readOnly(terms);
+        if (dataSet != null) {
+            dataSet.readOnly();
+        }
+        if (entity != null) {
+            entity.readOnly();
+        }
+        return this;
+    }
+
+    private Set<SchemaElement> readOnly(Set<SchemaElement> elements) {
+        if (elements == null) {
+            return null;
+        }
+        elements.forEach(SchemaElement::readOnly);
+        return Collections.unmodifiableSet(elements);
+    }
+
 }
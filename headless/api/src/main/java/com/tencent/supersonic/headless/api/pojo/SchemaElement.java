@@ -8,11 +8,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Data
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class SchemaElement implements Serializable {
@@ -34,6 +36,28 @@ public class SchemaElement implements Serializable {
     private int isTag;
     private String description;
 
+    /**
+     * a copy that can be changed without changing this element, the lists are copied but not their items
+     */
+    public SchemaElement copy() {
+        return toBuilder()
+                .alias(alias == null ? null : new ArrayList<>(alias))
+                .schemaValueMaps(schemaValueMaps == null ? null : new ArrayList<>(schemaValueMaps))
+                .relatedSchemaElements(relatedSchemaElements == null ? null : new ArrayList<>(relatedSchemaElements))
+                .build();
+    }
+
+    /**
+     * makes the lists of this element read only, other fields are left as they are
+     */
+    public SchemaElement readOnly() {
+        alias = alias == null ? null : Collections.unmodifiableList(alias);
+        schemaValueMaps = schemaValueMaps == null ? null : Collections.unmodifiableList(schemaValueMaps);
+        relatedSchemaElements = relatedSchemaElements == null ? null
+                : Collections.unmodifiableList(relatedSchemaElements);
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -20,6 +20,10 @@ public class SemanticQueryResp extends QueryResult<Map<String, Object>> {
     String sql;
     QueryAuthorization queryAuthorization;
     boolean useCache;
+    /**
+     * whether the result rows were cut off by the configured result limit
+     */
+    boolean truncated;
 
     public List<QueryColumn> getMetricColumns() {
         return columns.stream()
@@ -1,22 +1,30 @@
 package com.tencent.supersonic.headless.api.pojo.response;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.tencent.supersonic.common.pojo.ModelRela;
 import com.tencent.supersonic.common.pojo.enums.QueryType;
 import com.tencent.supersonic.headless.api.pojo.enums.SchemaType;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import static com.tencent.supersonic.common.pojo.Constants.UNDERLINE;
 
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class SemanticSchemaResp {
 
@@ -31,6 +39,67 @@ public class SemanticSchemaResp {
     private DataSetResp dataSetResp;
     private DatabaseResp databaseResp;
     private QueryType queryType;
+    private Long schemaVersion;
+
+    /**
+     * lower case bizName -> first metric of that bizName, built on first lookup and reset by setMetrics
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile Map<String, MetricSchemaResp> metricIndex;
+
+    /**
+     * lower case bizName -> first dimension of that bizName, built on first lookup and reset by setDimensions
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile Map<String, DimSchemaResp> dimensionIndex;
+
+    public SemanticSchemaResp(Long dataSetId, List<Long> modelIds, SchemaType schemaType,
+            List<MetricSchemaResp> metrics, List<DimSchemaResp> dimensions, List<TagResp> tags,
+            List<ModelRela> modelRelas, List<ModelResp> modelResps, DataSetResp dataSetResp,
+            DatabaseResp databaseResp, QueryType queryType, Long schemaVersion) {
+        this.dataSetId = dataSetId;
+        this.modelIds = modelIds;
+        this.schemaType = schemaType;
+        this.metrics = metrics;
+        this.dimensions = dimensions;
+        this.tags = tags;
+        this.modelRelas = modelRelas;
+        this.modelResps = modelResps;
+        this.dataSetResp = dataSetResp;
+        this.databaseResp = databaseResp;
+        this.queryType = queryType;
+        this.schemaVersion = schemaVersion;
+    }
+
+    /**
+     * read only, the index is only reset by setMetrics
+     */
+    public List<MetricSchemaResp> getMetrics() {
+        return metrics == null ? null : Collections.unmodifiableList(metrics);
+    }
+
+    /**
+     * read only, the index is only reset by setDimensions
+     */
+    public List<DimSchemaResp> getDimensions() {
+        return dimensions == null ? null : Collections.unmodifiableList(dimensions);
+    }
+
+    public void setMetrics(List<MetricSchemaResp> metrics) {
+        this.metrics = metrics;
+        this.metricIndex = null;
+    }
+
+    public void setDimensions(List<DimSchemaResp> dimensions) {
+        this.dimensions = dimensions;
+        this.dimensionIndex = null;
+    }
 
     public String getSchemaKey() {
         if (dataSetId == null) {
@@ -41,8 +110,15 @@ public class SemanticSchemaResp {
     }
 
     public MetricSchemaResp getMetric(String bizName) {
-        return metrics.stream().filter(metric -> bizName.equalsIgnoreCase(metric.getBizName()))
-                .findFirst().orElse(null);
+        if (bizName == null) {
+            return null;
+        }
+        Map<String, MetricSchemaResp> index = metricIndex;
+        if (index == null) {
+            index = buildIndex(metrics, MetricSchemaResp::getBizName);
+            metricIndex = index;
+        }
+        return index.get(bizName.toLowerCase());
     }
 
     public MetricSchemaResp getMetric(Long id) {
@@ -51,8 +127,15 @@ public class SemanticSchemaResp {
     }
 
     public DimSchemaResp getDimension(String bizName) {
-        return dimensions.stream().filter(dimension -> bizName.equalsIgnoreCase(dimension.getBizName()))
-                .findFirst().orElse(null);
+        if (bizName == null) {
+            return null;
+        }
+        Map<String, DimSchemaResp> index = dimensionIndex;
+        if (index == null) {
+            index = buildIndex(dimensions, DimSchemaResp::getBizName);
+            dimensionIndex = index;
+        }
+        return index.get(bizName.toLowerCase());
     }
 
     public DimSchemaResp getDimension(Long id) {
@@ -76,4 +159,18 @@ public class SemanticSchemaResp {
         return names;
     }
 
-}
\ No newline at end of file
+    private static <T> Map<String, T> buildIndex(List<T> items, Function<T, String> bizNameGetter) {
+        if (items == null) {
+            return ImmutableMap.of();
+        }
+        Map<String, T> index = new HashMap<>();
+        for (T item : items) {
+            String bizName = bizNameGetter.apply(item);
+            if (bizName != null) {
+                index.putIfAbsent(bizName.toLowerCase(), item);
+            }
+        }
+        return ImmutableMap.copyOf(index);
+    }
+
+}
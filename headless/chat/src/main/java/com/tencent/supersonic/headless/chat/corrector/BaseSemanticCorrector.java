@@ -78,20 +78,17 @@ public abstract class BaseSemanticCorrector implements SemanticCorrector {
         Long dataSetId = semanticParseInfo.getDataSet().getDataSet();
         List<SchemaElement> metrics = getMetricElements(chatQueryContext, dataSetId);
 
+        // the metrics belong to the shared semantic schema, so the default aggregate is not written back
         Map<String, String> metricToAggregate = metrics.stream()
-                .map(schemaElement -> {
-                    if (Objects.isNull(schemaElement.getDefaultAgg())) {
-                        schemaElement.setDefaultAgg(AggregateTypeEnum.SUM.name());
-                    }
-                    return schemaElement;
-                }).flatMap(schemaElement -> {
+                .flatMap(schemaElement -> {
+                    String defaultAgg = Objects.isNull(schemaElement.getDefaultAgg())
+                            ? AggregateTypeEnum.SUM.name() : schemaElement.getDefaultAgg();
                     Set<String> elements = new HashSet<>();
                     elements.add(schemaElement.getName());
                     if (!CollectionUtils.isEmpty(schemaElement.getAlias())) {
                         elements.addAll(schemaElement.getAlias());
                     }
-                    return elements.stream().map(element -> Pair.of(element, schemaElement.getDefaultAgg())
-                    );
+                    return elements.stream().map(element -> Pair.of(element, defaultAgg));
                 }).collect(Collectors.toMap(Pair::getLeft, Pair::getRight, (k1, k2) -> k1));
 
         if (CollectionUtils.isEmpty(metricToAggregate)) {
@@ -32,16 +32,36 @@ public class KnowledgeBaseService {
         SearchService.loadSuffix(suffixes);
     }
 
+    /***
+     * remove the natures of the words only, the other natures of the same words are kept
+     * @param natures words with their nature set
+     */
+    public void removeSemanticKnowledge(List<DictWord> natures) {
+        for (DictWord nature : natures) {
+            if (nature.getNatureWithFrequency().contains(DictWordType.SUFFIX.getType())) {
+                SearchService.removeSuffix(nature.getWord(), nature.getNature());
+            } else {
+                HanlpHelper.removeFromCustomDictionary(nature);
+            }
+        }
+    }
+
     public void reloadAllData(List<DictWord> natures) {
-        // 1. reload custom knowledge
+        // the suffixes are loaded into the same rebuild, so searches never see a trie without them
+        SearchService.beginRebuild();
         try {
-            HanlpHelper.reloadCustomDictionary();
-        } catch (Exception e) {
-            log.error("reloadCustomDictionary error", e);
+            // 1. reload custom knowledge
+            try {
+                HanlpHelper.reloadCustomDictionary();
+            } catch (Exception e) {
+                log.error("reloadCustomDictionary error", e);
+            }
+
+            // 2. update online knowledge
+            updateOnlineKnowledge(natures);
+        } finally {
+            SearchService.publishRebuild();
         }
-
-        // 2. update online knowledge
-        updateOnlineKnowledge(natures);
     }
 
     public void updateOnlineKnowledge(List<DictWord> natures) {
@@ -13,6 +13,7 @@ import com.hankcs.hanlp.dictionary.DynamicCustomDictionary;
 import com.hankcs.hanlp.dictionary.other.CharTable;
 import com.hankcs.hanlp.seg.common.Term;
 import com.hankcs.hanlp.utility.LexiconUtility;
+import com.hankcs.hanlp.utility.Predefine;
 import com.hankcs.hanlp.utility.TextUtility;
 import com.tencent.supersonic.headless.chat.knowledge.helper.HanlpHelper;
 
@@ -20,25 +21,43 @@ import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public class MultiCustomDictionary extends DynamicCustomDictionary {
 
     public static int MAX_SIZE = 10;
     public static Boolean removeDuplicates = true;
+    public static final String SNAPSHOT_PREFIX = "CustomDictionary.snapshot.";
+    public static final int SNAPSHOT_VERSION = 1;
     public static ConcurrentHashMap<String, PriorityQueue<Term>> NATURE_TO_VALUES = new ConcurrentHashMap<>();
+    private static final Pattern SNAPSHOT_PATTERN = Pattern.compile(
+            Pattern.quote(SNAPSHOT_PREFIX) + "[0-9a-f]{32}" + Pattern.quote(Predefine.BIN_EXT));
     private static boolean addToSuggesterTrie = true;
 
     public MultiCustomDictionary() {
@@ -122,18 +141,7 @@ public class MultiCustomDictionary extends DynamicCustomDictionary {
                     SearchService.put(word, attribute);
                 }
                 for (int i = 0; i < attribute.nature.length; i++) {
-                    Nature nature = attribute.nature[i];
-                    PriorityQueue<Term> priorityQueue = NATURE_TO_VALUES.get(nature.toString());
-                    if (Objects.isNull(priorityQueue)) {
-                        priorityQueue = new PriorityQueue<>(MAX_SIZE,
-                                Comparator.comparingInt(Term::getFrequency).reversed());
-                        NATURE_TO_VALUES.put(nature.toString(), priorityQueue);
-                    }
-                    Term term = new Term(word, nature);
-                    term.setFrequency(attribute.frequency[i]);
-                    if (!priorityQueue.contains(term) && priorityQueue.size() < MAX_SIZE) {
-                        priorityQueue.add(term);
-                    }
+                    addNatureValue(word, attribute.nature[i], attribute.frequency[i]);
                 }
             }
         } catch (Exception var12) {
@@ -169,147 +177,256 @@ public class MultiCustomDictionary extends DynamicCustomDictionary {
                                              DoubleArrayTrie<CoreDictionary.Attribute> dat, boolean isCache,
                                              boolean addToSuggestTrie) {
         logger.info("自定义词典开始加载:" + mainPath);
-        if (loadDat(mainPath, dat)) {
+        String snapshotPath = isCache ? getSnapshotPath(path) : null;
+        if (snapshotPath != null && loadSnapshot(snapshotPath, dat, addToSuggestTrie)) {
             return true;
-        } else {
-            TreeMap<String, CoreDictionary.Attribute> map = new TreeMap();
-            LinkedHashSet customNatureCollector = new LinkedHashSet();
-
-            try {
-                for (String p : path) {
-                    Nature defaultNature = Nature.n;
-                    File file = new File(p);
-                    String fileName = file.getName();
-                    int cut = fileName.lastIndexOf(32);
-                    if (cut > 0) {
-                        String nature = fileName.substring(cut + 1);
-                        p = file.getParent() + File.separator + fileName.substring(0, cut);
-
-                        try {
-                            defaultNature = LexiconUtility.convertStringToNature(nature, customNatureCollector);
-                        } catch (Exception var16) {
-                            logger.severe("配置文件【" + p + "】写错了！" + var16);
-                            continue;
-                        }
-                    }
-
-                    logger.info("以默认词性[" + defaultNature + "]加载自定义词典" + p + "中……");
-                    boolean success = load(p, defaultNature, map, customNatureCollector, addToSuggestTrie);
-                    if (!success) {
-                        logger.warning("失败：" + p);
-                    }
+        }
+        TreeMap<String, CoreDictionary.Attribute> map = new TreeMap();
+        LinkedHashSet customNatureCollector = new LinkedHashSet();
+
+        for (String p : path) {
+            Nature defaultNature = Nature.n;
+            File file = new File(p);
+            String fileName = file.getName();
+            int cut = fileName.lastIndexOf(32);
+            if (cut > 0) {
+                String nature = fileName.substring(cut + 1);
+                p = getDictionaryFile(p);
+
+                try {
+                    defaultNature = LexiconUtility.convertStringToNature(nature, customNatureCollector);
+                } catch (Exception var16) {
+                    logger.severe("配置文件【" + p + "】写错了！" + var16);
+                    continue;
                 }
+            }
 
-                if (map.size() == 0) {
-                    logger.warning("没有加载到任何词条");
-                    map.put("未##它", null);
-                }
+            logger.info("以默认词性[" + defaultNature + "]加载自定义词典" + p + "中……");
+            boolean success = load(p, defaultNature, map, customNatureCollector, addToSuggestTrie);
+            if (!success) {
+                logger.warning("失败：" + p);
+            }
+        }
 
-                logger.info("正在构建DoubleArrayTrie……");
-                dat.build(map);
-                if (addToSuggestTrie) {
-                    // SearchService.save();
-                }
-                if (isCache) {
-                    // 缓存成dat文件，下次加载会快很多
-                    logger.info("正在缓存词典为dat文件……");
-                    // 缓存值文件
-                    List<CoreDictionary.Attribute> attributeList = new LinkedList<CoreDictionary.Attribute>();
-                    for (Map.Entry<String, CoreDictionary.Attribute> entry : map.entrySet()) {
-                        attributeList.add(entry.getValue());
-                    }
+        if (map.size() == 0) {
+            logger.warning("没有加载到任何词条");
+            map.put("未##它", null);
+        }
 
-                    DataOutputStream out = new DataOutputStream(
-                            new BufferedOutputStream(IOUtil.newOutputStream(mainPath + ".bin")));
-                    if (customNatureCollector.isEmpty()) {
-                        for (int i = Nature.begin.ordinal() + 1; i < Nature.values().length; ++i) {
-                            Nature nature = Nature.values()[i];
-                            if (Objects.nonNull(nature)) {
-                                customNatureCollector.add(nature);
-                            }
-                        }
-                    }
+        logger.info("正在构建DoubleArrayTrie……");
+        dat.build(map);
+        if (snapshotPath != null) {
+            // 缓存成快照文件，词典内容不变时下次加载会快很多
+            saveSnapshot(snapshotPath, map, dat);
+        }
+        return true;
+    }
 
-                    IOUtil.writeCustomNature(out, customNatureCollector);
-                    out.writeInt(attributeList.size());
+    public boolean loadMainDictionary(String mainPath) {
+        return loadMainDictionary(mainPath, this.path, this.dat, true, addToSuggesterTrie);
+    }
 
-                    for (CoreDictionary.Attribute attribute : attributeList) {
-                        attribute.save(out);
+    /***
+     * the snapshot is named by a hash of the dictionary paths and contents, so it never outlives the dictionaries.
+     * only local dictionaries are snapshotted
+     * @param path
+     * @return null if the dictionaries can not be hashed
+     */
+    public static String getSnapshotPath(String[] path) {
+        if (HanLP.Config.IOAdapter instanceof HadoopFileIOAdapter) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            digest.update(String.valueOf(SNAPSHOT_VERSION + "," + HanLP.Config.Normalization)
+                    .getBytes(StandardCharsets.UTF_8));
+            byte[] buffer = new byte[8192];
+            for (String p : path) {
+                digest.update(p.getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = Files.newInputStream(Paths.get(getDictionaryFile(p)))) {
+                    int len;
+                    while ((len = in.read(buffer)) > 0) {
+                        digest.update(buffer, 0, len);
                     }
+                }
+            }
+            String hash = String.format("%032x", new BigInteger(1, digest.digest()));
+            File directory = new File(getDictionaryFile(path[0])).getParentFile();
+            return new File(directory, SNAPSHOT_PREFIX + hash + Predefine.BIN_EXT).getPath();
+        } catch (Exception e) {
+            logger.warning("自定义词典" + Arrays.toString(path) + "计算快照失败！" + e);
+            return null;
+        }
+    }
 
-                    dat.save(out);
-                    out.close();
+    /***
+     * the words and sample values are saved along with the trie, so that the suggestions
+     * can be restored without reading the dictionaries
+     * @param snapshotPath
+     * @param map
+     * @param dat
+     */
+    private static void saveSnapshot(String snapshotPath, TreeMap<String, CoreDictionary.Attribute> map,
+            DoubleArrayTrie<CoreDictionary.Attribute> dat) {
+        logger.info("正在缓存词典为快照文件……");
+        Path snapshot = Paths.get(snapshotPath);
+        Path tempFile = Paths.get(snapshotPath + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tempFile)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(map.size());
+                Set<String> natures = new LinkedHashSet<>();
+                for (Map.Entry<String, CoreDictionary.Attribute> entry : map.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    saveAttribute(out, entry.getValue());
+                    if (entry.getValue() != null) {
+                        Arrays.stream(entry.getValue().nature).forEach(nature -> natures.add(nature.toString()));
+                    }
+                }
+                List<Term> natureValues = natures.stream().map(NATURE_TO_VALUES::get).filter(Objects::nonNull)
+                        .flatMap(Collection::stream).collect(Collectors.toList());
+                out.writeInt(natureValues.size());
+                for (Term term : natureValues) {
+                    out.writeUTF(term.getWord());
+                    out.writeUTF(term.getNature().toString());
+                    out.writeInt(term.getFrequency());
                 }
-            } catch (FileNotFoundException var17) {
-                logger.severe("自定义词典" + mainPath + "不存在！" + var17);
+                dat.save(out);
+            }
+            Files.move(tempFile, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            deleteOtherSnapshots(snapshot);
+        } catch (Exception e) {
+            logger.warning("自定义词典快照" + snapshotPath + "缓存失败！\n" + TextUtility.exceptionToString(e));
+            IOUtil.deleteFile(tempFile.toString());
+        }
+    }
+
+    private static boolean loadSnapshot(String snapshotPath, DoubleArrayTrie<CoreDictionary.Attribute> dat,
+            boolean addToSuggestTrie) {
+        if (!new File(snapshotPath).isFile()) {
+            return false;
+        }
+        try {
+            ByteArray byteArray = mapSnapshot(snapshotPath);
+            if (byteArray.nextInt() != SNAPSHOT_VERSION) {
                 return false;
-            } catch (IOException var18) {
-                logger.severe("自定义词典" + mainPath + "读取错误！" + var18);
+            }
+            int size = byteArray.nextInt();
+            String[] words = new String[size];
+            CoreDictionary.Attribute[] attributes = new CoreDictionary.Attribute[size];
+            for (int i = 0; i < size; i++) {
+                words[i] = byteArray.nextUTF();
+                attributes[i] = loadAttribute(byteArray);
+            }
+            int natureValueSize = byteArray.nextInt();
+            List<Term> natureValues = new ArrayList<>(natureValueSize);
+            for (int i = 0; i < natureValueSize; i++) {
+                Term term = new Term(byteArray.nextUTF(), Nature.create(byteArray.nextUTF()));
+                term.setFrequency(byteArray.nextInt());
+                natureValues.add(term);
+            }
+            if (!dat.load(byteArray, attributes)) {
                 return false;
-            } catch (Exception var19) {
-                logger.warning("自定义词典" + mainPath + "缓存失败！\n" + TextUtility.exceptionToString(var19));
             }
-
+            for (int i = 0; i < size; i++) {
+                if (addToSuggestTrie && attributes[i] != null) {
+                    SearchService.put(words[i], attributes[i]);
+                }
+            }
+            natureValues.forEach(term -> addNatureValue(term.getWord(), term.getNature(), term.getFrequency()));
+            logger.info("自定义词典从快照加载成功:" + snapshotPath);
             return true;
+        } catch (Exception e) {
+            logger.warning("自定义词典快照" + snapshotPath + "读取失败！" + TextUtility.exceptionToString(e));
+            return false;
         }
     }
 
-    public boolean loadMainDictionary(String mainPath) {
-        return loadMainDictionary(mainPath, this.path, this.dat, true, addToSuggesterTrie);
+    /***
+     * the trie copies the mapped bytes into its own arrays, the mapping itself is released with the channel
+     */
+    private static ByteArray mapSnapshot(String snapshotPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(snapshotPath), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new ByteArray(bytes);
+        }
     }
 
-    public static boolean loadDat(String path, DoubleArrayTrie<CoreDictionary.Attribute> dat) {
-        return loadDat(path, HanLP.Config.CustomDictionaryPath, dat);
+    private static void saveAttribute(DataOutputStream out, CoreDictionary.Attribute attribute) throws IOException {
+        if (attribute == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(attribute.nature.length);
+        out.writeInt(attribute.totalFrequency);
+        for (int i = 0; i < attribute.nature.length; i++) {
+            out.writeUTF(attribute.nature[i].toString());
+            out.writeInt(attribute.frequency[i]);
+            String original = attribute.originals == null ? null : attribute.originals[i];
+            out.writeUTF(original == null ? "" : original);
+        }
     }
 
-    public static boolean loadDat(String path, String[] customDicPath, DoubleArrayTrie<CoreDictionary.Attribute> dat) {
-        try {
-            if (HanLP.Config.CustomDictionaryAutoRefreshCache
-                    && DynamicCustomDictionary.isDicNeedUpdate(path, customDicPath)) {
-                return false;
-            } else {
-                ByteArray byteArray = ByteArray.createByteArray(path + ".bin");
-                if (byteArray == null) {
-                    return false;
-                } else {
-                    int size = byteArray.nextInt();
-                    if (size < 0) {
-                        while (true) {
-                            ++size;
-                            if (size > 0) {
-                                size = byteArray.nextInt();
-                                break;
-                            }
-
-                            Nature.create(byteArray.nextString());
-                        }
-                    }
-
-                    CoreDictionary.Attribute[] attributes = new CoreDictionary.Attribute[size];
-                    Nature[] natureIndexArray = Nature.values();
+    private static CoreDictionary.Attribute loadAttribute(ByteArray byteArray) {
+        int length = byteArray.nextInt();
+        if (length < 0) {
+            return null;
+        }
+        int totalFrequency = byteArray.nextInt();
+        Nature[] natures = new Nature[length];
+        int[] frequencies = new int[length];
+        String[] originals = new String[length];
+        for (int i = 0; i < length; i++) {
+            natures[i] = Nature.create(byteArray.nextUTF());
+            frequencies[i] = byteArray.nextInt();
+            String original = byteArray.nextUTF();
+            originals[i] = original.isEmpty() ? null : original;
+        }
+        return new CoreDictionary.Attribute(natures, frequencies, originals, totalFrequency);
+    }
 
-                    for (int i = 0; i < size; ++i) {
-                        int currentTotalFrequency = byteArray.nextInt();
-                        int length = byteArray.nextInt();
-                        attributes[i] = new CoreDictionary.Attribute(length);
-                        attributes[i].totalFrequency = currentTotalFrequency;
+    /***
+     * the snapshots of other dictionary contents are outdated,
+     * other files of the directory, including the caches of hanlp, are kept
+     */
+    private static void deleteOtherSnapshots(Path snapshot) {
+        File[] files = snapshot.getParent().toFile().listFiles(file -> file.isFile()
+                && SNAPSHOT_PATTERN.matcher(file.getName()).matches()
+                && !file.getName().equals(snapshot.toFile().getName()));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            IOUtil.deleteFile(file.getPath());
+        }
+    }
 
-                        for (int j = 0; j < length; ++j) {
-                            attributes[i].nature[j] = natureIndexArray[byteArray.nextInt()];
-                            attributes[i].frequency[j] = byteArray.nextInt();
-                        }
-                    }
+    private static String getDictionaryFile(String path) {
+        File file = new File(path);
+        String fileName = file.getName();
+        int cut = fileName.lastIndexOf(32);
+        if (cut > 0) {
+            return file.getParent() + File.separator + fileName.substring(0, cut);
+        }
+        return path;
+    }
 
-                    if (!dat.load(byteArray, attributes)) {
-                        return false;
-                    } else {
-                        return true;
-                    }
-                }
-            }
-        } catch (Exception var11) {
-            logger.warning("读取失败，问题发生在" + TextUtility.exceptionToString(var11));
-            return false;
+    /***
+     * keep the first MAX_SIZE values of a nature, which are used as the sample values of a dimension
+     * @param word
+     * @param nature
+     * @param frequency
+     */
+    public static void addNatureValue(String word, Nature nature, int frequency) {
+        PriorityQueue<Term> priorityQueue = NATURE_TO_VALUES.computeIfAbsent(nature.toString(),
+                key -> new PriorityQueue<>(MAX_SIZE, Comparator.comparingInt(Term::getFrequency).reversed()));
+        Term term = new Term(word, nature);
+        term.setFrequency(frequency);
+        if (!priorityQueue.contains(term) && priorityQueue.size() < MAX_SIZE) {
+            priorityQueue.add(term);
         }
     }
 
@@ -343,16 +460,25 @@ public class MultiCustomDictionary extends DynamicCustomDictionary {
         return word;
     }
 
+    /***
+     * the key of a word inside the dictionary, the same as insert and load do
+     * @param word
+     * @return
+     */
+    public static String getNormalizedWord(String word) {
+        if (HanLP.Config.Normalization) {
+            word = CharTable.convert(word);
+        }
+        boolean isLetters = isLetters(word);
+        word = getWordBySpace(word);
+        return isLetters ? word.toLowerCase() : word;
+    }
+
     public boolean reload() {
         if (this.path != null && this.path.length != 0) {
-            IOUtil.deleteFile(this.path[0] + ".bin");
-            Boolean loadCacheOk = this.loadDat(this.path[0], this.path, this.dat);
-            if (!loadCacheOk) {
-                return this.loadMainDictionary(this.path[0], this.path, this.dat, true, addToSuggesterTrie);
-            }
+            return this.loadMainDictionary(this.path[0], this.path, this.dat, true, addToSuggesterTrie);
         }
         return false;
-
     }
 
     public synchronized boolean insert(String word, String natureWithFrequency) {
@@ -375,7 +501,10 @@ public class MultiCustomDictionary extends DynamicCustomDictionary {
                 return false;
             } else if (this.dat.containsKey(word)) {
                 att.setOriginals(original);
-                att = DictionaryAttributeUtil.getAttribute(this.dat.get(word), att);
+                CoreDictionary.Attribute old = this.dat.get(word);
+                if (old != null) {
+                    att = DictionaryAttributeUtil.getAttribute(old, att);
+                }
                 this.dat.set(word, att);
                 // return true;
             } else {
@@ -396,4 +525,20 @@ public class MultiCustomDictionary extends DynamicCustomDictionary {
             return true;
         }
     }
+
+    /***
+     * the DoubleArrayTrie can not drop a key, so the value of a removed word is cleared instead,
+     * which makes get and contains miss it as if it was never loaded
+     * @param word
+     */
+    @Override
+    public synchronized void remove(String word) {
+        if (HanLP.Config.Normalization) {
+            word = CharTable.convert(word);
+        }
+        super.remove(word);
+        if (this.dat.containsKey(word)) {
+            this.dat.set(word, null);
+        }
+    }
 }
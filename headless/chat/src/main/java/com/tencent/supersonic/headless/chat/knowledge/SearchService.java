@@ -1,7 +1,6 @@
 package com.tencent.supersonic.headless.chat.knowledge;
 
-import com.hankcs.hanlp.collection.trie.bintrie.BaseNode;
-import com.hankcs.hanlp.collection.trie.bintrie.BinTrie;
+import com.hankcs.hanlp.LoadRemoveService;
 import com.hankcs.hanlp.corpus.tag.Nature;
 import com.hankcs.hanlp.dictionary.CoreDictionary;
 import com.hankcs.hanlp.seg.common.Term;
@@ -21,20 +20,26 @@ import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class SearchService {
 
     public static final int SEARCH_SIZE = 200;
-    private static BinTrie<List<String>> trie;
-    private static BinTrie<List<String>> suffixTrie;
 
-    static {
-        trie = new BinTrie<>();
-        suffixTrie = new BinTrie<>();
-    }
+    /***
+     * the published tries, searches read them without locking
+     */
+    private static final AtomicReference<Generation> GENERATION = new AtomicReference<>(Generation.EMPTY);
+    private static final Object WRITE_LOCK = new Object();
+    /***
+     * the generation being rebuilt between beginRebuild and publishRebuild, guarded by WRITE_LOCK
+     */
+    private static Generation nextGeneration;
+    private static Object nextOwner;
+    private static int rebuildDepth;
 
     /***
      * prefix Search
@@ -43,22 +48,15 @@ public class SearchService {
      */
     public static List<HanlpMapResult> prefixSearch(String key, int limit, Map<Long, List<Long>> modelIdToDataSetIds,
             Set<Long> detectDataSetIds) {
-        return prefixSearch(key, limit, trie, modelIdToDataSetIds, detectDataSetIds);
+        return prefixSearch(key, limit, GENERATION.get().trie, modelIdToDataSetIds, detectDataSetIds);
     }
 
-    public static List<HanlpMapResult> prefixSearch(String key, int limit, BinTrie<List<String>> binTrie,
+    private static List<HanlpMapResult> prefixSearch(String key, int limit, SearchTrie searchTrie,
             Map<Long, List<Long>> modelIdToDataSetIds, Set<Long> detectDataSetIds) {
-        Set<Map.Entry<String, List<String>>> result = search(key, binTrie);
-        List<HanlpMapResult> hanlpMapResults = result.stream().map(
-                        entry -> {
-                            String name = entry.getKey().replace("#", " ");
-                            return new HanlpMapResult(name, entry.getValue(), key);
-                        }
-                ).sorted((a, b) -> -(b.getName().length() - a.getName().length()))
-                .collect(Collectors.toList());
-        hanlpMapResults = transformAndFilterByDataSet(hanlpMapResults, modelIdToDataSetIds,
-                detectDataSetIds, limit);
-        return hanlpMapResults;
+        return search(key, limit, searchTrie, (word, natures) -> {
+            String name = word.replace("#", " ");
+            return new HanlpMapResult(name, natures, key);
+        }, modelIdToDataSetIds, detectDataSetIds);
     }
 
     /***
@@ -69,81 +67,109 @@ public class SearchService {
     public static List<HanlpMapResult> suffixSearch(String key, int limit, Map<Long, List<Long>> modelIdToDataSetIds,
             Set<Long> detectDataSetIds) {
         String reverseDetectSegment = StringUtils.reverse(key);
-        return suffixSearch(reverseDetectSegment, limit, suffixTrie, modelIdToDataSetIds, detectDataSetIds);
+        return suffixSearch(reverseDetectSegment, limit, GENERATION.get().suffixTrie, modelIdToDataSetIds,
+                detectDataSetIds);
     }
 
-    public static List<HanlpMapResult> suffixSearch(String key, int limit, BinTrie<List<String>> binTrie,
+    private static List<HanlpMapResult> suffixSearch(String key, int limit, SearchTrie searchTrie,
             Map<Long, List<Long>> modelIdToDataSetIds, Set<Long> detectDataSetIds) {
-        Set<Map.Entry<String, List<String>>> result = search(key, binTrie);
-        List<HanlpMapResult> hanlpMapResults = result.stream().map(
-                        entry -> {
-                            String name = entry.getKey().replace("#", " ");
-                            List<String> natures = entry.getValue().stream()
-                                    .map(nature -> nature.replaceAll(DictWordType.SUFFIX.getType(), ""))
-                                    .collect(Collectors.toList());
-                            name = StringUtils.reverse(name);
-                            return new HanlpMapResult(name, natures, key);
-                        }
-                ).sorted((a, b) -> -(b.getName().length() - a.getName().length()))
-                .collect(Collectors.toList());
-        return transformAndFilterByDataSet(hanlpMapResults, modelIdToDataSetIds, detectDataSetIds, limit);
-    }
-
-    private static List<HanlpMapResult> transformAndFilterByDataSet(List<HanlpMapResult> hanlpMapResults,
-                                                             Map<Long, List<Long>> modelIdToDataSetIds,
-                                                             Set<Long> detectDataSetIds, int limit) {
-        return hanlpMapResults.stream().peek(hanlpMapResult -> {
-            List<String> natures = hanlpMapResult.getNatures().stream()
-                    .map(nature -> NatureHelper.changeModel2DataSet(nature, modelIdToDataSetIds))
-                    .flatMap(Collection::stream)
-                    .filter(nature -> {
-                        if (CollectionUtils.isEmpty(detectDataSetIds)) {
-                            return true;
-                        }
-                        Long dataSetId = NatureHelper.getDataSetId(nature);
-                        if (dataSetId != null) {
-                            return detectDataSetIds.contains(dataSetId);
-                        }
-                        return false;
-                    }).collect(Collectors.toList());
-            hanlpMapResult.setNatures(natures);
-        }).filter(hanlpMapResult -> !CollectionUtils.isEmpty(hanlpMapResult.getNatures()))
-                .limit(limit).collect(Collectors.toList());
-    }
-
-    private static Set<Map.Entry<String, List<String>>> search(String key,
-                                                                          BinTrie<List<String>> binTrie) {
-        key = key.toLowerCase();
-        Set<Map.Entry<String, List<String>>> entrySet = new TreeSet<Map.Entry<String, List<String>>>();
-
-        StringBuilder sb = new StringBuilder();
-        if (StringUtils.isNotBlank(key)) {
-            sb = new StringBuilder(key.substring(0, key.length() - 1));
+        return search(key, limit, searchTrie, (word, natures) -> {
+            String name = StringUtils.reverse(word.replace("#", " "));
+            List<String> suffixNatures = natures.stream()
+                    .map(nature -> nature.replaceAll(DictWordType.SUFFIX.getType(), ""))
+                    .collect(Collectors.toList());
+            return new HanlpMapResult(name, suffixNatures, key);
+        }, modelIdToDataSetIds, detectDataSetIds);
+    }
+
+    /***
+     * the shortest words below the key, words of the same length in key order.
+     * the walk stops once the limit is reached by words that still have natures of the detected data sets,
+     * so short keys do not visit every word below them
+     */
+    private static List<HanlpMapResult> search(String key, int limit, SearchTrie searchTrie,
+            BiFunction<String, List<String>, HanlpMapResult> resultBuilder,
+            Map<Long, List<Long>> modelIdToDataSetIds, Set<Long> detectDataSetIds) {
+        List<HanlpMapResult> hanlpMapResults = new ArrayList<>();
+        String lowerKey = key.toLowerCase();
+        SearchTrie branch = searchTrie.getNode(lowerKey);
+        if (branch == null || limit <= 0) {
+            return hanlpMapResults;
         }
-        BaseNode branch = binTrie;
-        char[] chars = key.toCharArray();
-        for (char aChar : chars) {
-            if (branch == null) {
-                return entrySet;
+        LoadRemoveService loadRemoveService = new LoadRemoveService();
+        branch.walk(lowerKey, (word, value) -> {
+            List<String> natures = loadRemoveService.removeNatures(value);
+            HanlpMapResult hanlpMapResult = resultBuilder.apply(word, natures);
+            hanlpMapResult.setNatures(transformAndFilterByDataSet(hanlpMapResult.getNatures(),
+                    modelIdToDataSetIds, detectDataSetIds));
+            if (!CollectionUtils.isEmpty(hanlpMapResult.getNatures())) {
+                hanlpMapResults.add(hanlpMapResult);
+            }
+            return hanlpMapResults.size() < limit;
+        });
+        return hanlpMapResults;
+    }
+
+    private static List<String> transformAndFilterByDataSet(List<String> natures,
+            Map<Long, List<Long>> modelIdToDataSetIds, Set<Long> detectDataSetIds) {
+        return natures.stream()
+                .map(nature -> NatureHelper.changeModel2DataSet(nature, modelIdToDataSetIds))
+                .flatMap(Collection::stream)
+                .filter(nature -> {
+                    if (CollectionUtils.isEmpty(detectDataSetIds)) {
+                        return true;
+                    }
+                    Long dataSetId = NatureHelper.getDataSetId(nature);
+                    if (dataSetId != null) {
+                        return detectDataSetIds.contains(dataSetId);
+                    }
+                    return false;
+                }).collect(Collectors.toList());
+    }
+
+    /***
+     * start rebuilding the tries, the words put until publishRebuild go to an empty generation
+     * while searches keep reading the published one. rebuilds may be nested, the outermost publishes
+     */
+    public static void beginRebuild() {
+        synchronized (WRITE_LOCK) {
+            if (rebuildDepth++ == 0) {
+                log.debug("begin rebuilding trie");
+                nextGeneration = Generation.EMPTY;
+                nextOwner = new Object();
             }
-            branch = branch.getChild(aChar);
         }
+    }
 
-        if (branch == null) {
-            return entrySet;
+    public static void publishRebuild() {
+        synchronized (WRITE_LOCK) {
+            if (rebuildDepth == 0 || --rebuildDepth > 0) {
+                return;
+            }
+            log.debug("publish rebuilt trie");
+            GENERATION.set(nextGeneration);
+            nextGeneration = null;
+            nextOwner = null;
         }
-        branch.walkLimit(sb, entrySet);
-        return entrySet;
     }
 
-    public static void clear() {
-        log.debug("clear all trie");
-        trie = new BinTrie<>();
-        suffixTrie = new BinTrie<>();
+    /***
+     * apply a write to the generation being rebuilt, or to a copy of the published generation
+     * that replaces it once the write is done
+     */
+    private static void update(BiFunction<Generation, Object, Generation> write) {
+        synchronized (WRITE_LOCK) {
+            if (nextGeneration != null) {
+                nextGeneration = write.apply(nextGeneration, nextOwner);
+                return;
+            }
+            GENERATION.set(write.apply(GENERATION.get(), new Object()));
+        }
     }
 
     public static void put(String key, CoreDictionary.Attribute attribute) {
-        trie.put(key, getValue(attribute.nature));
+        List<String> natures = getValue(attribute.nature);
+        update((generation, owner) -> generation.withTrie(generation.trie.put(key, natures, owner)));
     }
 
     public static void loadSuffix(List<DictWord> suffixes) {
@@ -160,29 +186,65 @@ public class SearchService {
             }
             map.put(suffix.getWord(), attributeNew);
         }
-        for (Map.Entry<String, CoreDictionary.Attribute> stringAttributeEntry : map.entrySet()) {
-            putSuffix(stringAttributeEntry.getKey(), stringAttributeEntry.getValue());
-        }
+        update((generation, owner) -> {
+            SearchTrie suffixTrie = generation.suffixTrie;
+            for (Map.Entry<String, CoreDictionary.Attribute> stringAttributeEntry : map.entrySet()) {
+                suffixTrie = putSuffix(suffixTrie, stringAttributeEntry.getKey(), stringAttributeEntry.getValue(),
+                        owner);
+            }
+            return generation.withSuffixTrie(suffixTrie);
+        });
     }
 
+    /***
+     * the natures already loaded for the key are kept, so suffixes can be loaded in several batches
+     * @param key
+     * @param attribute
+     */
     public static void putSuffix(String key, CoreDictionary.Attribute attribute) {
-        Nature[] nature = attribute.nature;
-        suffixTrie.put(key, getValue(nature));
+        update((generation, owner) -> generation.withSuffixTrie(
+                putSuffix(generation.suffixTrie, key, attribute, owner)));
+    }
+
+    private static SearchTrie putSuffix(SearchTrie suffixTrie, String key, CoreDictionary.Attribute attribute,
+            Object owner) {
+        List<String> natures = getValue(attribute.nature);
+        List<String> oldNatures = suffixTrie.get(key);
+        if (!CollectionUtils.isEmpty(oldNatures)) {
+            List<String> mergedNatures = new ArrayList<>(oldNatures);
+            natures.stream().filter(nature -> !mergedNatures.contains(nature)).forEach(mergedNatures::add);
+            natures = mergedNatures;
+        }
+        return suffixTrie.put(key, natures, owner);
+    }
+
+    public static void removeSuffix(String key, String nature) {
+        update((generation, owner) -> {
+            List<String> oldNatures = generation.suffixTrie.get(key);
+            if (CollectionUtils.isEmpty(oldNatures)) {
+                return generation;
+            }
+            List<String> natures = oldNatures.stream().filter(oldNature -> !oldNature.equals(nature))
+                    .collect(Collectors.toList());
+            return generation.withSuffixTrie(natures.isEmpty() ? generation.suffixTrie.remove(key, owner)
+                    : generation.suffixTrie.put(key, natures, owner));
+        });
     }
 
     private static List<String> getValue(Nature[] nature) {
         return Arrays.stream(nature).map(entry -> entry.toString()).collect(Collectors.toList());
     }
 
-    public static void remove(DictWord dictWord, Nature[] natures) {
-        trie.remove(dictWord.getWord());
-        if (Objects.nonNull(natures) && natures.length > 0) {
-            trie.put(dictWord.getWord(), getValue(natures));
-        }
-        if (dictWord.getNature().contains(DictWordType.METRIC.getType()) || dictWord.getNature()
-                .contains(DictWordType.DIMENSION.getType())) {
-            suffixTrie.remove(dictWord.getWord());
-        }
+    public static void remove(String word, String nature, Nature[] natures) {
+        boolean removeSuffix = nature.contains(DictWordType.METRIC.getType())
+                || nature.contains(DictWordType.DIMENSION.getType());
+        update((generation, owner) -> {
+            SearchTrie trie = Objects.nonNull(natures) && natures.length > 0
+                    ? generation.trie.put(word, getValue(natures), owner)
+                    : generation.trie.remove(word, owner);
+            SearchTrie suffixTrie = removeSuffix ? generation.suffixTrie.remove(word, owner) : generation.suffixTrie;
+            return new Generation(trie, suffixTrie);
+        });
     }
 
     public static List<String> getDimensionValue(DimensionValueReq dimensionValueReq) {
@@ -194,5 +256,28 @@ public class SearchService {
         }
         return terms.stream().map(term -> term.getWord()).collect(Collectors.toList());
     }
-}
 
+    /***
+     * the prefix and suffix tries published together, so a search never sees one of them half rebuilt
+     */
+    private static class Generation {
+
+        private static final Generation EMPTY = new Generation(SearchTrie.empty(), SearchTrie.empty());
+
+        private final SearchTrie trie;
+        private final SearchTrie suffixTrie;
+
+        Generation(SearchTrie trie, SearchTrie suffixTrie) {
+            this.trie = trie;
+            this.suffixTrie = suffixTrie;
+        }
+
+        Generation withTrie(SearchTrie trie) {
+            return new Generation(trie, suffixTrie);
+        }
+
+        Generation withSuffixTrie(SearchTrie suffixTrie) {
+            return new Generation(trie, suffixTrie);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.tencent.supersonic.headless.chat.knowledge;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiPredicate;
+
+/***
+ * persistent trie of the search service, a trie that has been published is never changed.
+ * a write copies the nodes on the path to the changed word and shares the other nodes with the previous trie,
+ * nodes created under the same owner are changed in place, so a bulk load does not copy a path per word.
+ * every node keeps the length of the shortest word below it, so a walk can visit the shortest words first
+ */
+final class SearchTrie {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final SearchTrie[] NO_CHILDREN = new SearchTrie[0];
+
+    private static final SearchTrie EMPTY = new SearchTrie(null);
+
+    private final Object owner;
+    private char[] chars = NO_CHARS;
+    private SearchTrie[] children = NO_CHILDREN;
+    private List<String> value;
+    /***
+     * length of the shortest word below this node, counted from this node
+     */
+    private int shortest = Integer.MAX_VALUE;
+
+    private SearchTrie(Object owner) {
+        this.owner = owner;
+    }
+
+    static SearchTrie empty() {
+        return EMPTY;
+    }
+
+    List<String> get(String key) {
+        SearchTrie node = getNode(key);
+        return node == null ? null : node.value;
+    }
+
+    SearchTrie getNode(String key) {
+        SearchTrie node = this;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.getChild(key.charAt(i));
+        }
+        return node;
+    }
+
+    /***
+     * put the value of the key
+     * @param owner the writer, nodes of other owners are copied before they are changed
+     * @return the changed trie, this trie is returned only if it belongs to the owner
+     */
+    SearchTrie put(String key, List<String> value, Object owner) {
+        return put(key, 0, value, owner);
+    }
+
+    private SearchTrie put(String key, int index, List<String> value, Object owner) {
+        SearchTrie node = editable(owner);
+        if (index == key.length()) {
+            node.value = value;
+            node.shortest = 0;
+            return node;
+        }
+        char c = key.charAt(index);
+        int i = Arrays.binarySearch(chars, c);
+        SearchTrie child;
+        if (i >= 0) {
+            child = children[i].put(key, index + 1, value, owner);
+            node.children[i] = child;
+        } else {
+            child = new SearchTrie(owner).put(key, index + 1, value, owner);
+            node.insertChild(-i - 1, c, child);
+        }
+        node.shortest = Math.min(node.shortest, child.shortest + 1);
+        return node;
+    }
+
+    /***
+     * remove the key, nodes left without words are dropped
+     * @return the changed trie, or this trie if it does not contain the key
+     */
+    SearchTrie remove(String key, Object owner) {
+        SearchTrie node = remove(key, 0, owner);
+        return node == null ? EMPTY : node;
+    }
+
+    private SearchTrie remove(String key, int index, Object owner) {
+        if (index == key.length()) {
+            if (value == null) {
+                return this;
+            }
+            SearchTrie node = editable(owner);
+            node.value = null;
+            node.resetShortest();
+            return node.isEmpty() ? null : node;
+        }
+        int i = Arrays.binarySearch(chars, key.charAt(index));
+        if (i < 0) {
+            return this;
+        }
+        SearchTrie oldChild = children[i];
+        int oldShortest = oldChild.shortest;
+        SearchTrie child = oldChild.remove(key, index + 1, owner);
+        if (child == oldChild && child.shortest == oldShortest) {
+            return this;
+        }
+        SearchTrie node = editable(owner);
+        if (child == null) {
+            node.removeChild(i);
+        } else {
+            node.children[i] = child;
+        }
+        if (oldShortest + 1 == node.shortest) {
+            node.resetShortest();
+        }
+        return node.isEmpty() ? null : node;
+    }
+
+    /***
+     * visit the words below this node shortest first, words of the same length in key order.
+     * the nodes to expand are ordered by the length of their shortest word, so a subtree is only expanded
+     * once its shortest word could be the next one visited, and the walk stops as soon as the visitor does
+     * @param prefix the word of this node
+     * @param visitor called with each word and its value, returns false to stop the walk
+     */
+    void walk(String prefix, BiPredicate<String, List<String>> visitor) {
+        if (shortest == Integer.MAX_VALUE) {
+            return;
+        }
+        PriorityQueue<Branch> branches = new PriorityQueue<>(
+                Comparator.comparingInt((Branch branch) -> branch.bound).thenComparing(branch -> branch.word));
+        branches.add(new Branch(prefix, this));
+        while (!branches.isEmpty()) {
+            Branch branch = branches.poll();
+            SearchTrie node = branch.node;
+            if (node.value != null && !visitor.test(branch.word, node.value)) {
+                return;
+            }
+            for (int i = 0; i < node.chars.length; i++) {
+                branches.add(new Branch(branch.word + node.chars[i], node.children[i]));
+            }
+        }
+    }
+
+    private SearchTrie getChild(char c) {
+        int i = Arrays.binarySearch(chars, c);
+        return i >= 0 ? children[i] : null;
+    }
+
+    private SearchTrie editable(Object owner) {
+        if (owner != null && this.owner == owner) {
+            return this;
+        }
+        SearchTrie node = new SearchTrie(owner);
+        node.chars = chars.clone();
+        node.children = children.clone();
+        node.value = value;
+        node.shortest = shortest;
+        return node;
+    }
+
+    private void resetShortest() {
+        int min = value != null ? 0 : Integer.MAX_VALUE;
+        for (SearchTrie child : children) {
+            if (child.shortest != Integer.MAX_VALUE) {
+                min = Math.min(min, child.shortest + 1);
+            }
+        }
+        shortest = min;
+    }
+
+    private void insertChild(int index, char c, SearchTrie child) {
+        char[] newChars = new char[chars.length + 1];
+        SearchTrie[] newChildren = new SearchTrie[children.length + 1];
+        System.arraycopy(chars, 0, newChars, 0, index);
+        System.arraycopy(children, 0, newChildren, 0, index);
+        newChars[index] = c;
+        newChildren[index] = child;
+        System.arraycopy(chars, index, newChars, index + 1, chars.length - index);
+        System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+        chars = newChars;
+        children = newChildren;
+    }
+
+    private void removeChild(int index) {
+        char[] newChars = new char[chars.length - 1];
+        SearchTrie[] newChildren = new SearchTrie[children.length - 1];
+        System.arraycopy(chars, 0, newChars, 0, index);
+        System.arraycopy(children, 0, newChildren, 0, index);
+        System.arraycopy(chars, index + 1, newChars, index, chars.length - index - 1);
+        System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+        chars = newChars;
+        children = newChildren;
+    }
+
+    private boolean isEmpty() {
+        return value == null && chars.length == 0;
+    }
+
+    /***
+     * a node to expand during a walk, ranked by the length of the shortest word below it
+     */
+    private static class Branch {
+
+        private final String word;
+        private final SearchTrie node;
+        private final int bound;
+
+        Branch(String word, SearchTrie node) {
+            this.word = word;
+            this.node = node;
+            this.bound = word.length() + node.shortest;
+        }
+    }
+}
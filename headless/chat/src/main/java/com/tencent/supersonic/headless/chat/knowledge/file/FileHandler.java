@@ -35,6 +35,15 @@ public interface FileHandler {
      */
     void writeFile(List<String> data, String fileName, Boolean append);
 
+    /**
+     * read all lines of a specific file,
+     * config dir: dict.directory.latest
+     *
+     * @param fileName
+     * @return empty if the file does not exist
+     */
+    List<String> readFile(String fileName);
+
     /**
      * get the knowledge file root directory
      *
@@ -186,6 +186,20 @@ public class FileHandlerImpl implements FileHandler {
         }
     }
 
+    @Override
+    public List<String> readFile(String fileName) {
+        Path path = Paths.get(localFileConfig.getDictDirectoryLatest() + FILE_SPILT + fileName);
+        if (!Files.exists(path)) {
+            return new ArrayList<>();
+        }
+        try {
+            return Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Failed to read file:{}, e:", path.toAbsolutePath(), e);
+        }
+        return new ArrayList<>();
+    }
+
     public String getAbsolutePath(String path) {
         return Paths.get(path).toAbsolutePath().toString();
     }
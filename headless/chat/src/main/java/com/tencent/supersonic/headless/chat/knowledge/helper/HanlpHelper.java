@@ -23,8 +23,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -91,24 +94,103 @@ public class HanlpHelper {
         if (HanLP.Config.CustomDictionaryPath == null || HanLP.Config.CustomDictionaryPath.length == 0) {
             return false;
         }
+        // 1.query txt files，update CustomDictionaryPath
+        resetCustomPath();
+        // 2.rebuild trie, searches keep using the current trie until the reload is done
+        SearchService.beginRebuild();
+        try {
+            boolean reload = getDynamicCustomDictionary().reload();
+            if (reload) {
+                log.info("Custom dictionary has been reloaded in {} milliseconds",
+                        System.currentTimeMillis() - startTime);
+            }
+            return reload;
+        } finally {
+            SearchService.publishRebuild();
+        }
+    }
+
+    /***
+     * apply the difference between two versions of a dictionary file in place,
+     * only the words of that file are inserted or removed instead of reloading every custom dictionary
+     * @param oldLines lines of the file before the change, "word nature frequency" per line
+     * @param newLines lines of the file after the change
+     */
+    public static void updateCustomDictionary(List<String> oldLines, List<String> newLines) throws IOException {
+        final long startTime = System.currentTimeMillis();
+        Map<String, DictWord> oldWords = getDictWords(oldLines);
+        Map<String, DictWord> newWords = getDictWords(newLines);
+        Set<String> natures = new HashSet<>();
+        int removed = 0;
+        int added = 0;
+        synchronized (getDynamicCustomDictionary()) {
+            for (Map.Entry<String, DictWord> entry : oldWords.entrySet()) {
+                DictWord oldWord = entry.getValue();
+                natures.add(oldWord.getNature());
+                DictWord newWord = newWords.get(entry.getKey());
+                if (newWord == null || !newWord.getNature().equals(oldWord.getNature())) {
+                    DictWord dictWord = new DictWord();
+                    dictWord.setWord(entry.getKey());
+                    dictWord.setNature(oldWord.getNature());
+                    dictWord.setNatureWithFrequency(oldWord.getNatureWithFrequency());
+                    removeFromCustomDictionary(dictWord);
+                    removed++;
+                }
+            }
+            for (Map.Entry<String, DictWord> entry : newWords.entrySet()) {
+                DictWord newWord = entry.getValue();
+                natures.add(newWord.getNature());
+                DictWord oldWord = oldWords.get(entry.getKey());
+                if (oldWord == null || !oldWord.getNatureWithFrequency().equals(newWord.getNatureWithFrequency())) {
+                    addToCustomDictionary(newWord);
+                    added++;
+                }
+            }
+            natures.forEach(nature -> MultiCustomDictionary.NATURE_TO_VALUES.remove(nature));
+            for (Map.Entry<String, DictWord> entry : newWords.entrySet()) {
+                CoreDictionary.Attribute attribute =
+                        CoreDictionary.Attribute.create(entry.getValue().getNatureWithFrequency());
+                MultiCustomDictionary.addNatureValue(entry.getKey(), attribute.nature[0], attribute.frequency[0]);
+            }
+        }
+        // keep the file list in line with the changed file for the next full reload
+        resetCustomPath();
+        log.info("Custom dictionary has been updated in {} milliseconds, removed:{}, added:{}",
+                System.currentTimeMillis() - startTime, removed, added);
+    }
+
+    /***
+     * normalized word -> dict word of a dictionary file, the word keeps the form of the file for insert
+     */
+    private static Map<String, DictWord> getDictWords(List<String> lines) {
+        Map<String, DictWord> dictWords = new LinkedHashMap<>();
+        if (CollectionUtils.isEmpty(lines)) {
+            return dictWords;
+        }
+        for (String line : lines) {
+            String[] param = line.trim().split("\\s+");
+            if (param.length < 3) {
+                continue;
+            }
+            DictWord dictWord = new DictWord();
+            dictWord.setWord(param[0]);
+            dictWord.setNature(param[1]);
+            dictWord.setNatureWithFrequency(param[1] + " " + param[2]);
+            dictWords.put(MultiCustomDictionary.getNormalizedWord(param[0]), dictWord);
+        }
+        return dictWords;
+    }
+
+    /***
+     * local snapshots are named by the dictionary contents and replaced when written, so they are kept
+     */
+    private static void resetCustomPath() throws IOException {
         if (HanLP.Config.IOAdapter instanceof HadoopFileIOAdapter) {
-            // 1.delete hdfs file
             HdfsFileHelper.deleteCacheFile(HanLP.Config.CustomDictionaryPath);
-            // 2.query txt files，update CustomDictionaryPath
             HdfsFileHelper.resetCustomPath(getDynamicCustomDictionary());
         } else {
-            FileHelper.deleteCacheFile(HanLP.Config.CustomDictionaryPath);
             FileHelper.resetCustomPath(getDynamicCustomDictionary());
         }
-        // 3.clear trie
-        SearchService.clear();
-
-        boolean reload = getDynamicCustomDictionary().reload();
-        if (reload) {
-            log.info("Custom dictionary has been reloaded in {} milliseconds",
-                    System.currentTimeMillis() - startTime);
-        }
-        return reload;
     }
 
     private static void resetHanlpConfig() throws FileNotFoundException {
@@ -175,12 +257,13 @@ public class HanlpHelper {
 
     public static void removeFromCustomDictionary(DictWord dictWord) {
         log.debug("dictWord:{}", dictWord);
-        CoreDictionary.Attribute attribute = getDynamicCustomDictionary().get(dictWord.getWord());
+        String word = MultiCustomDictionary.getNormalizedWord(dictWord.getWord());
+        CoreDictionary.Attribute attribute = getDynamicCustomDictionary().get(word);
         if (attribute == null) {
             return;
         }
-        log.info("get attribute:{}", attribute);
-        getDynamicCustomDictionary().remove(dictWord.getWord());
+        log.debug("get attribute:{}", attribute);
+        getDynamicCustomDictionary().remove(word);
         StringBuilder sb = new StringBuilder();
         List<Nature> natureList = new ArrayList<>();
         for (int i = 0; i < attribute.nature.length; i++) {
@@ -192,11 +275,11 @@ public class HanlpHelper {
         }
         String natureWithFrequency = sb.toString();
         int len = natureWithFrequency.length();
-        log.info("filtered natureWithFrequency:{}", natureWithFrequency);
+        log.debug("filtered natureWithFrequency:{}", natureWithFrequency);
         if (StringUtils.isNotBlank(natureWithFrequency)) {
-            getDynamicCustomDictionary().add(dictWord.getWord(), natureWithFrequency.substring(0, len - 1));
+            getDynamicCustomDictionary().add(word, natureWithFrequency.substring(0, len - 1));
         }
-        SearchService.remove(dictWord, natureList.toArray(new Nature[0]));
+        SearchService.remove(word, dictWord.getNature(), natureList.toArray(new Nature[0]));
     }
 
     public static <T extends MapResult> void transLetterOriginal(List<T> mapResults) {
@@ -102,8 +102,10 @@ public abstract class RuleSemanticQuery extends BaseSemanticQuery {
         Map<Long, List<SchemaElementMatch>> id2Values = new HashMap<>();
 
         for (SchemaElementMatch schemaMatch : parseInfo.getElementMatches()) {
-            SchemaElement element = schemaMatch.getElement();
+            // the element may be shared with the semantic schema, the order is set on a copy
+            SchemaElement element = schemaMatch.getElement().copy();
             element.setOrder(1 - schemaMatch.getSimilarity());
+            schemaMatch.setElement(element);
             switch (element.getType()) {
                 case ID:
                     SchemaElement entityElement = semanticSchema.getElement(SchemaElementType.ENTITY, element.getId());
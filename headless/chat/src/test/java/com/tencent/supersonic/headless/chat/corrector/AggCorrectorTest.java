@@ -38,6 +38,7 @@ class AggCorrectorTest {
                 + " AND datediff('day', 数据日期, '2024-06-04') <= 7 GROUP BY 用户"
                 + " ORDER BY SUM(访问次数) DESC LIMIT 1",
                 semanticParseInfo.getSqlInfo().getCorrectedS2SQL());
+        Assert.assertNull(chatQueryContext.getSemanticSchema().getMetrics(dataSetId).get(0).getDefaultAgg());
     }
 
     private ChatQueryContext buildQueryContext(Long dataSetId) {
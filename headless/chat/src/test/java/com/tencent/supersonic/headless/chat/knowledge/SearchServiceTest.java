@@ -0,0 +1,113 @@
+package com.tencent.supersonic.headless.chat.knowledge;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class SearchServiceTest {
+
+    private static final Map<Long, List<Long>> MODEL_ID_TO_DATA_SET_IDS =
+            Collections.singletonMap(1L, Lists.newArrayList(1L));
+
+    @Test
+    void testSearch() {
+        SearchService.put("阿里巴巴", CoreDictionary.Attribute.create("_1_2 100"));
+        SearchService.put("阿里", CoreDictionary.Attribute.create("_1_2 100"));
+        SearchService.put("阿里云", CoreDictionary.Attribute.create("_1_2 100"));
+        SearchService.putSuffix("巴巴里阿", CoreDictionary.Attribute.create("_1_2_suffix 100"));
+
+        List<HanlpMapResult> results = SearchService.prefixSearch("阿里", 10, MODEL_ID_TO_DATA_SET_IDS,
+                Sets.newHashSet(1L));
+        Assertions.assertEquals(Lists.newArrayList("阿里", "阿里云", "阿里巴巴"), getNames(results));
+        Assertions.assertEquals(Lists.newArrayList("_1_2"), results.get(0).getNatures());
+        Assertions.assertEquals(1, SearchService.prefixSearch("阿里", 1, MODEL_ID_TO_DATA_SET_IDS,
+                Sets.newHashSet(1L)).size());
+        Assertions.assertTrue(SearchService.prefixSearch("阿里", 10, MODEL_ID_TO_DATA_SET_IDS,
+                Sets.newHashSet(2L)).isEmpty());
+
+        List<HanlpMapResult> suffixResults = SearchService.suffixSearch("巴巴", 10, MODEL_ID_TO_DATA_SET_IDS,
+                Sets.newHashSet(1L));
+        Assertions.assertEquals(Lists.newArrayList("阿里巴巴"), getNames(suffixResults));
+        Assertions.assertEquals(Lists.newArrayList("_1_2"), suffixResults.get(0).getNatures());
+
+        SearchService.removeSuffix("巴巴里阿", "_1_2_suffix");
+        Assertions.assertTrue(SearchService.suffixSearch("巴巴", 10, MODEL_ID_TO_DATA_SET_IDS,
+                Sets.newHashSet(1L)).isEmpty());
+    }
+
+    @Test
+    void testRebuild() {
+        SearchService.put("腾讯", CoreDictionary.Attribute.create("_1_3 100"));
+        SearchService.beginRebuild();
+        try {
+            SearchService.put("腾讯音乐", CoreDictionary.Attribute.create("_1_3 100"));
+            Assertions.assertEquals(Lists.newArrayList("腾讯"),
+                    getNames(SearchService.prefixSearch("腾讯", 10, MODEL_ID_TO_DATA_SET_IDS, null)));
+        } finally {
+            SearchService.publishRebuild();
+        }
+        Assertions.assertEquals(Lists.newArrayList("腾讯音乐"),
+                getNames(SearchService.prefixSearch("腾讯", 10, MODEL_ID_TO_DATA_SET_IDS, null)));
+    }
+
+    @Test
+    void testSearchTrieIsPersistent() {
+        Object owner = new Object();
+        SearchTrie trie = SearchTrie.empty().put("ab", Lists.newArrayList("_1_2"), owner)
+                .put("abc", Lists.newArrayList("_1_2"), owner);
+        SearchTrie changed = trie.put("abd", Lists.newArrayList("_1_3"), new Object())
+                .remove("ab", new Object());
+
+        Assertions.assertEquals(Sets.newHashSet("ab", "abc"), getWords(trie));
+        Assertions.assertEquals(Sets.newHashSet("abc", "abd"), getWords(changed));
+        Assertions.assertSame(trie, trie.remove("b", new Object()));
+        Assertions.assertEquals(Collections.emptySet(), getWords(changed.remove("abc", owner).remove("abd", owner)));
+    }
+
+    @Test
+    void testWalkShortestFirst() {
+        Object owner = new Object();
+        SearchTrie trie = SearchTrie.empty();
+        for (String word : Lists.newArrayList("abcd", "b", "abc", "ba", "aa", "abcde", "a")) {
+            trie = trie.put(word, Lists.newArrayList("_1_2"), owner);
+        }
+        Assertions.assertEquals(Lists.newArrayList("a", "b", "aa", "ba", "abc", "abcd", "abcde"),
+                walk(trie, Integer.MAX_VALUE));
+        Assertions.assertEquals(Lists.newArrayList("a", "b", "aa"), walk(trie, 3));
+
+        SearchTrie changed = trie.remove("a", new Object()).remove("b", new Object()).remove("aa", new Object())
+                .remove("ba", new Object());
+        Assertions.assertEquals(Lists.newArrayList("abc"), walk(changed, 1));
+        Assertions.assertEquals(Lists.newArrayList("a", "b"), walk(trie, 2));
+
+        SearchTrie edited = trie.remove("aa", owner).remove("b", owner).remove("ba", owner).remove("a", owner);
+        Assertions.assertEquals(Lists.newArrayList("abc", "abcd"), walk(edited, 2));
+    }
+
+    private List<String> getNames(List<HanlpMapResult> results) {
+        return results.stream().map(HanlpMapResult::getName).collect(Collectors.toList());
+    }
+
+    private Set<String> getWords(SearchTrie trie) {
+        return new HashSet<>(walk(trie, Integer.MAX_VALUE));
+    }
+
+    private List<String> walk(SearchTrie trie, int limit) {
+        List<String> words = new ArrayList<>();
+        trie.walk("", (word, natures) -> {
+            words.add(word);
+            return words.size() < limit;
+        });
+        return words;
+    }
+}
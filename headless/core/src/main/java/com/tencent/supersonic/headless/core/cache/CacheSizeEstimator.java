@@ -0,0 +1,96 @@
+package com.tencent.supersonic.headless.core.cache;
+
+import com.tencent.supersonic.common.pojo.QueryColumn;
+import com.tencent.supersonic.headless.api.pojo.QueryResult;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rough estimation of the heap bytes held by a cached value, used as caffeine weigher.
+ * Large results are sampled so the estimation cost does not grow with the row count.
+ */
+public class CacheSizeEstimator {
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int MAP_ENTRY_OVERHEAD = 32;
+    private static final int DEFAULT_VALUE_SIZE = 24;
+    private static final int SAMPLE_ROWS = 100;
+
+    public static int weigh(String key, Object value) {
+        long bytes = estimateString(key) + estimate(value);
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    public static long estimate(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof SemanticQueryResp) {
+            SemanticQueryResp queryResp = (SemanticQueryResp) value;
+            return estimateResult(queryResp) + estimateString(queryResp.getSql())
+                    + estimateColumns(queryResp.getColumns());
+        }
+        if (value instanceof QueryResult) {
+            return estimateResult((QueryResult<?>) value);
+        }
+        return estimateValue(value);
+    }
+
+    private static long estimateResult(QueryResult<?> queryResult) {
+        List<?> resultList = queryResult.getResultList();
+        if (resultList == null || resultList.isEmpty()) {
+            return OBJECT_OVERHEAD;
+        }
+        int size = resultList.size();
+        int step = Math.max(1, size / SAMPLE_ROWS);
+        long sampleBytes = 0L;
+        int sampleCount = 0;
+        for (int i = 0; i < size; i += step) {
+            sampleBytes += estimateValue(resultList.get(i));
+            sampleCount++;
+        }
+        return OBJECT_OVERHEAD + (long) size * REFERENCE_SIZE + sampleBytes * size / sampleCount;
+    }
+
+    private static long estimateColumns(List<QueryColumn> columns) {
+        if (columns == null) {
+            return 0L;
+        }
+        long bytes = OBJECT_OVERHEAD;
+        for (QueryColumn column : columns) {
+            bytes += OBJECT_OVERHEAD + estimateString(column.getName()) + estimateString(column.getNameEn())
+                    + estimateString(column.getType()) + estimateString(column.getShowType());
+        }
+        return bytes;
+    }
+
+    private static long estimateValue(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof String) {
+            return estimateString((String) value);
+        }
+        if (value instanceof Map) {
+            long bytes = OBJECT_OVERHEAD;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                bytes += MAP_ENTRY_OVERHEAD + estimateValue(entry.getKey()) + estimateValue(entry.getValue());
+            }
+            return bytes;
+        }
+        return DEFAULT_VALUE_SIZE;
+    }
+
+    private static long estimateString(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return 0L;
+        }
+        return STRING_OVERHEAD + (long) value.length() * 2;
+    }
+
+}
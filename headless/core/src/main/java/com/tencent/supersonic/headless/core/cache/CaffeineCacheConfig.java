@@ -21,12 +21,19 @@ public class CaffeineCacheConfig {
     @Value("${s2.caffeine.max.size:5000}")
     private Integer caffeineMaximumSize;
 
+    /**
+     * byte budget of the query result cache, entries are weighed by their estimated size
+     */
+    @Value("${s2.caffeine.max.bytes:268435456}")
+    private Long caffeineMaximumBytes;
+
     @Bean(name = "caffeineCache")
     public Cache<String, Object> caffeineCache() {
         return Caffeine.newBuilder()
                 .expireAfterWrite(cacheCommonConfig.getCacheCommonExpireAfterWrite(), TimeUnit.MINUTES)
                 .initialCapacity(caffeineInitialCapacity)
-                .maximumSize(caffeineMaximumSize)
+                .maximumWeight(caffeineMaximumBytes)
+                .weigher(CacheSizeEstimator::weigh)
                 .build();
     }
 
@@ -6,7 +6,6 @@ import com.tencent.supersonic.headless.api.pojo.request.SemanticQueryReq;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -47,7 +46,8 @@ public class DefaultQueryCache implements QueryCache {
     }
 
     private String getKeyByModelIds(List<Long> modelIds) {
-        return String.join(",", modelIds.stream().map(Object::toString).collect(Collectors.toList()));
+        ModelCacheVersion modelCacheVersion = ContextUtils.getBean(ModelCacheVersion.class);
+        return modelCacheVersion.getVersionKey(modelIds);
     }
 
     private boolean isCache(SemanticQueryReq semanticQueryReq) {
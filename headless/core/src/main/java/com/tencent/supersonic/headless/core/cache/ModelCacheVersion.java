@@ -0,0 +1,47 @@
+package com.tencent.supersonic.headless.core.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a version number per model, the version is part of the query cache key,
+ * so results cached before a model/metric/dimension change are never hit again.
+ */
+@Component
+public class ModelCacheVersion {
+
+    private static final String NO_MODEL = "-1";
+
+    private final Map<Long, AtomicLong> modelVersions = new ConcurrentHashMap<>();
+
+    /**
+     * queries without model ids may touch any model, bumped on every change
+     */
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    public long getVersion(Long modelId) {
+        AtomicLong version = modelVersions.get(modelId);
+        return version == null ? 0L : version.get();
+    }
+
+    public String getVersionKey(List<Long> modelIds) {
+        if (modelIds == null || modelIds.isEmpty()) {
+            return NO_MODEL + "_v" + globalVersion.get();
+        }
+        return modelIds.stream().sorted()
+                .map(modelId -> modelId + "_v" + getVersion(modelId))
+                .collect(Collectors.joining(","));
+    }
+
+    public void increase(Collection<Long> modelIds) {
+        modelIds.forEach(modelId -> modelVersions.computeIfAbsent(modelId, k -> new AtomicLong()).incrementAndGet());
+        globalVersion.incrementAndGet();
+    }
+
+}
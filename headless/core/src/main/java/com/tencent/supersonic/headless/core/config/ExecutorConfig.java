@@ -32,4 +32,13 @@ public class ExecutorConfig {
 
     @Value("${s2.accelerator.duckDb.threads:32}")
     private Integer threads;
+
+    /**
+     * ids of the models whose source tables are snapshotted into duckDb, separated by comma
+     */
+    @Value("${s2.accelerator.duckDb.models:}")
+    private String duckDbModels;
+
+    @Value("${s2.accelerator.duckDb.snapshot.maxRows:1000000}")
+    private Integer duckDbSnapshotMaxRows;
 }
@@ -8,6 +8,8 @@ import com.tencent.supersonic.headless.core.translator.calcite.schema.DataSource
 import com.tencent.supersonic.headless.core.translator.calcite.schema.SchemaBuilder;
 import com.tencent.supersonic.headless.core.pojo.Materialization;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +27,7 @@ import org.apache.calcite.plan.RelOptMaterialization;
 import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgram;
 import org.apache.calcite.plan.hep.HepProgramBuilder;
 import org.apache.calcite.prepare.CalciteCatalogReader;
 import org.apache.calcite.rel.RelDistributionTraitDef;
@@ -37,6 +40,7 @@ import org.apache.calcite.rel.rules.materialize.MaterializedViewRules;
 import org.apache.calcite.rex.RexBuilder;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.schema.SchemaPlus;
+import org.apache.calcite.schema.Table;
 import org.apache.calcite.schema.impl.AbstractSchema;
 import org.apache.calcite.sql.fun.SqlStdOperatorTable;
 import org.apache.calcite.sql.type.SqlTypeName;
@@ -56,8 +60,54 @@ public abstract class AbstractAccelerator implements QueryAccelerator {
     public static final String MATERIALIZATION_SYS_VIEW = "sys_view";
     public static final String MATERIALIZATION_SYS_PARTITION = "sys_partition";
 
+    private static final HepProgram MATERIALIZATION_PROGRAM = new HepProgramBuilder()
+            .addRuleInstance(MaterializedViewRules.PROJECT_FILTER).build();
+
+    private static final CalciteConnectionConfigImpl CONNECTION_CONFIG =
+            new CalciteConnectionConfigImpl(new Properties());
+
+    /**
+     * tables of the materialization schema by sub schema, built once per reload and never modified
+     */
+    private volatile Map<String, Map<String, Table>> materializationTables;
+
+    /**
+     * rebuild the materialization catalog, subclasses call it in reload()
+     */
+    protected void resetMaterializationCatalog() {
+        CalciteSchema materializationSchema = SchemaBuilder.getMaterializationSchema();
+        Map<String, Map<String, Table>> tables = new HashMap<>();
+        materializationSchema.getSubSchemaMap().forEach((db, subSchema) -> {
+            Map<String, Table> subTables = new HashMap<>();
+            for (String tb : subSchema.getTableNames()) {
+                subTables.put(tb, subSchema.getTable(tb, true).getTable());
+            }
+            tables.put(db, Collections.unmodifiableMap(subTables));
+        });
+        materializationTables = Collections.unmodifiableMap(tables);
+    }
+
     /**
-     * check if a materialization match the fields and partitions
+     * check if a materialization match the fields and partitions,
+     * fields missing from the materialization are rejected before any planning
+     */
+    protected boolean check(Materialization materialization, List<String> fields,
+            List<ImmutablePair<String, String>> partitions) {
+        if (!materialization.getColumns().containsAll(fields)) {
+            return false;
+        }
+        if (!materialization.isPartitioned()) {
+            return true;
+        }
+        CalciteCatalogReader calciteCatalogReader = getCalciteCatalogReader();
+        RelOptPlanner relOptPlanner = getRelOptPlanner();
+        RelBuilder relBuilder = builderMaterializationPlan(calciteCatalogReader, relOptPlanner);
+        return check(relOptPlanner, relBuilder, calciteCatalogReader, materialization, fields, partitions);
+    }
+
+    /**
+     * check if a materialization match the fields and partitions,
+     * the sys tables of the check are added to the overlay catalog from getCalciteCatalogReader()
      */
     protected boolean check(RelOptPlanner relOptPlanner, RelBuilder relBuilder,
             CalciteCatalogReader calciteCatalogReader, Materialization materialization, List<String> fields,
@@ -113,7 +163,9 @@ public abstract class AbstractAccelerator implements QueryAccelerator {
         RelNode checkRel = project(checkBuilder, queryFieldList).build();
         relOptPlanner.setRoot(checkRel);
         RelNode optRel = relOptPlanner.findBestExp();
-        System.out.println(optRel.explain());
+        if (log.isDebugEnabled()) {
+            log.debug("materialization plan: {}", optRel.explain());
+        }
         return !extractTableNames(optRel).contains(MATERIALIZATION_SYS_SOURCE);
     }
 
@@ -121,22 +173,29 @@ public abstract class AbstractAccelerator implements QueryAccelerator {
         return SqlSelectHelper.getFieldsWithSubQuery(sql);
     }
 
+    /**
+     * a catalog for one check, its sub schemas read the shared tables of the last reload,
+     * tables added by the check only go to this catalog, so concurrent checks need no lock
+     */
     protected CalciteCatalogReader getCalciteCatalogReader() {
-        CalciteCatalogReader calciteCatalogReader;
-        CalciteSchema viewSchema = SchemaBuilder.getMaterializationSchema();
-        calciteCatalogReader = new CalciteCatalogReader(
-                CalciteSchema.from(viewSchema.plus()),
-                CalciteSchema.from(viewSchema.plus()).path(null),
-                Configuration.typeFactory,
-                new CalciteConnectionConfigImpl(new Properties()));
-        return calciteCatalogReader;
+        Map<String, Map<String, Table>> tables = materializationTables;
+        if (Objects.isNull(tables)) {
+            resetMaterializationCatalog();
+            tables = materializationTables;
+        }
+        CalciteSchema viewSchema = CalciteSchema.createRootSchema(false, false);
+        tables.forEach((db, subTables) -> viewSchema.add(db, new AbstractSchema() {
+            @Override
+            protected Map<String, Table> getTableMap() {
+                return subTables;
+            }
+        }));
+        return new CalciteCatalogReader(viewSchema, viewSchema.path(null), Configuration.typeFactory,
+                CONNECTION_CONFIG);
     }
 
     protected RelOptPlanner getRelOptPlanner() {
-        HepProgramBuilder hepProgramBuilder = new HepProgramBuilder();
-        hepProgramBuilder.addRuleInstance(MaterializedViewRules.PROJECT_FILTER);
-        RelOptPlanner relOptPlanner = new HepPlanner(hepProgramBuilder.build());
-        return relOptPlanner;
+        return new HepPlanner(MATERIALIZATION_PROGRAM);
     }
 
     protected RelBuilder builderMaterializationPlan(CalciteCatalogReader calciteCatalogReader,
@@ -0,0 +1,330 @@
+package com.tencent.supersonic.headless.core.executor;
+
+import com.tencent.supersonic.common.jsqlparser.SqlSelectHelper;
+import com.tencent.supersonic.common.util.ContextUtils;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
+import com.tencent.supersonic.headless.core.config.ExecutorConfig;
+import com.tencent.supersonic.headless.core.pojo.Database;
+import com.tencent.supersonic.headless.core.pojo.DuckDbSource;
+import com.tencent.supersonic.headless.core.pojo.QueryStatement;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.DataSource;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.SemanticModel;
+import com.tencent.supersonic.headless.core.utils.JdbcDuckDbUtils;
+import com.tencent.supersonic.headless.core.utils.SqlUtils;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * accelerate queries by duckDb, the source tables of the configured models are snapshotted
+ * into local duckDb tables, queries that only read snapshotted tables are answered by duckDb.
+ * tables are registered when a query touches the models and loaded or refreshed by reload()
+ */
+@Slf4j
+public class DuckDbAccelerator extends AbstractAccelerator {
+
+    private static final String STAGE_SUFFIX = "_s2_stage";
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_DECIMAL_PRECISION = 38;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private ExecutorConfig executorConfig;
+
+    private DuckDbSource duckDbSource;
+
+    public DuckDbAccelerator() {
+    }
+
+    public DuckDbAccelerator(ExecutorConfig executorConfig, DuckDbSource duckDbSource) {
+        this.executorConfig = executorConfig;
+        this.duckDbSource = duckDbSource;
+    }
+
+    @Override
+    public boolean reload() {
+        if (!isEnable()) {
+            return false;
+        }
+        resetMaterializationCatalog();
+        boolean success = true;
+        for (Snapshot snapshot : snapshots.values()) {
+            success = load(snapshot) && success;
+        }
+        return success;
+    }
+
+    @Override
+    public boolean check(QueryStatement queryStatement) {
+        if (!isEnable() || StringUtils.isBlank(queryStatement.getSql())
+                || Objects.isNull(queryStatement.getSemanticModel())
+                || Objects.isNull(queryStatement.getSemanticModel().getDatabase())) {
+            return false;
+        }
+        register(queryStatement.getSemanticModel());
+        if (snapshots.isEmpty()) {
+            return false;
+        }
+        Set<String> tables = SqlSelectHelper.getTableNames(queryStatement.getSql());
+        if (tables.isEmpty()) {
+            return false;
+        }
+        String url = queryStatement.getSemanticModel().getDatabase().getUrl();
+        return tables.stream().allMatch(table -> {
+            Snapshot snapshot = snapshots.get(normalize(table));
+            return Objects.nonNull(snapshot) && snapshot.isLoaded()
+                    && Objects.equals(url, snapshot.getDatabase().getUrl());
+        });
+    }
+
+    @Override
+    public SemanticQueryResp query(QueryStatement queryStatement) {
+        SemanticQueryResp queryResultWithColumns = new SemanticQueryResp();
+        try {
+            getDuckDbSource().query(getDuckDbSql(queryStatement.getSql()), queryResultWithColumns);
+        } catch (Exception e) {
+            log.warn("query by duckDb error, fall back to the source database, sql:{}",
+                    StringUtils.normalizeSpace(queryStatement.getSql()), e);
+            return null;
+        }
+        queryResultWithColumns.setSql(queryStatement.getSql());
+        return queryResultWithColumns;
+    }
+
+    /**
+     * duckDb quotes identifiers with double quotes instead of backticks
+     */
+    protected String getDuckDbSql(String sql) {
+        StringBuilder duckDbSql = new StringBuilder(sql.length());
+        boolean inLiteral = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            duckDbSql.append(c == '`' && !inLiteral ? '"' : c);
+        }
+        return duckDbSql.toString();
+    }
+
+    /**
+     * register the physical tables of the configured models in the semantic model
+     */
+    protected void register(SemanticModel semanticModel) {
+        List<Long> modelIds = getModelIds();
+        if (modelIds.isEmpty()) {
+            return;
+        }
+        for (DataSource dataSource : semanticModel.getDatasourceMap().values()) {
+            if (!modelIds.contains(dataSource.getId())) {
+                continue;
+            }
+            for (String table : getSourceTables(dataSource)) {
+                snapshots.computeIfAbsent(normalize(table), k -> {
+                    log.info("register duckDb snapshot table:{}, model:{}", table, dataSource.getName());
+                    return new Snapshot(k, table, semanticModel.getDatabase());
+                });
+            }
+        }
+    }
+
+    protected boolean load(Snapshot snapshot) {
+        synchronized (snapshot) {
+            String table = snapshot.getTableName();
+            String stageTable = table + STAGE_SUFFIX;
+            try {
+                long start = System.currentTimeMillis();
+                JdbcTemplate duckDbJdbcTemplate = getDuckDbSource().getDuckDbJdbcTemplate();
+                createSchema(table);
+                int maxRows = getExecutorConfig().getDuckDbSnapshotMaxRows();
+                SqlUtils sqlUtils = ContextUtils.getBean(SqlUtils.class).init(snapshot.getDatabase());
+                JdbcTemplate sourceJdbcTemplate = sqlUtils.jdbcTemplate();
+                sourceJdbcTemplate.setMaxRows(maxRows + 1);
+                String sourceSql = String.format("SELECT * FROM %s", snapshot.getSourceTable());
+                Integer rows = sourceJdbcTemplate.query(sourceSql,
+                        (ResultSetExtractor<Integer>) rs -> copy(rs, duckDbJdbcTemplate, stageTable, maxRows));
+                if (Objects.isNull(rows) || rows > maxRows) {
+                    log.warn("table {} exceeds the snapshot limit:{}, skip acceleration", table, maxRows);
+                    snapshot.setOversize(true);
+                    snapshot.setLoaded(false);
+                    duckDbJdbcTemplate.execute(String.format("DROP TABLE IF EXISTS %s", stageTable));
+                    return false;
+                }
+                duckDbJdbcTemplate.execute(String.format("CREATE OR REPLACE TABLE %s AS SELECT * FROM %s",
+                        table, stageTable));
+                duckDbJdbcTemplate.execute(String.format("DROP TABLE IF EXISTS %s", stageTable));
+                snapshot.setOversize(false);
+                snapshot.setLoaded(true);
+                snapshot.setLoadTime(System.currentTimeMillis());
+                log.info("load duckDb snapshot table:{}, rows:{}, cost:{}", table, rows,
+                        System.currentTimeMillis() - start);
+                return true;
+            } catch (Exception e) {
+                log.error("load duckDb snapshot table {} error", table, e);
+                return false;
+            }
+        }
+    }
+
+    private Integer copy(ResultSet rs, JdbcTemplate duckDbJdbcTemplate, String stageTable, int maxRows)
+            throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        List<String> columnDefs = new ArrayList<>();
+        for (int i = 1; i <= columnCount; i++) {
+            columnDefs.add(String.format("\"%s\" %s", metaData.getColumnLabel(i), getDuckDbType(metaData, i)));
+        }
+        duckDbJdbcTemplate.execute(String.format("CREATE OR REPLACE TABLE %s (%s)", stageTable,
+                String.join(",", columnDefs)));
+        String insertSql = String.format("INSERT INTO %s VALUES (%s)", stageTable,
+                String.join(",", Collections.nCopies(columnCount, "?")));
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int rows = 0;
+        while (rs.next()) {
+            if (++rows > maxRows) {
+                return rows;
+            }
+            Object[] values = new Object[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                values[i - 1] = getValue(rs.getObject(i));
+            }
+            batch.add(values);
+            if (batch.size() >= BATCH_SIZE) {
+                duckDbJdbcTemplate.batchUpdate(insertSql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            duckDbJdbcTemplate.batchUpdate(insertSql, batch);
+        }
+        return rows;
+    }
+
+    private String getDuckDbType(ResultSetMetaData metaData, int column) throws SQLException {
+        switch (metaData.getColumnType(column)) {
+            case Types.BOOLEAN:
+            case Types.BIT:
+                return "BOOLEAN";
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return "INTEGER";
+            case Types.BIGINT:
+                return "BIGINT";
+            case Types.FLOAT:
+            case Types.REAL:
+            case Types.DOUBLE:
+                return "DOUBLE";
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                int precision = metaData.getPrecision(column);
+                int scale = metaData.getScale(column);
+                if (precision <= 0 || precision > MAX_DECIMAL_PRECISION || scale < 0 || scale > precision) {
+                    return "DOUBLE";
+                }
+                return String.format("DECIMAL(%s,%s)", precision, scale);
+            case Types.DATE:
+                return "DATE";
+            case Types.TIMESTAMP:
+                return "TIMESTAMP";
+            default:
+                return "VARCHAR";
+        }
+    }
+
+    private Object getValue(Object value) {
+        if (Objects.isNull(value) || value instanceof Number || value instanceof Boolean
+                || value instanceof String) {
+            return value;
+        }
+        if (value instanceof byte[]) {
+            return new String((byte[]) value);
+        }
+        return value.toString();
+    }
+
+    private void createSchema(String table) throws Exception {
+        String[] dbTable = table.split("\\.");
+        if (dbTable.length > 1) {
+            JdbcDuckDbUtils.createDatabase(getDuckDbSource(), dbTable[0]);
+        }
+    }
+
+    private List<String> getSourceTables(DataSource dataSource) {
+        if (StringUtils.isNotBlank(dataSource.getTableQuery())) {
+            return Collections.singletonList(dataSource.getTableQuery());
+        }
+        if (StringUtils.isNotBlank(dataSource.getSqlQuery())) {
+            return new ArrayList<>(SqlSelectHelper.getTableNames(dataSource.getSqlQuery()));
+        }
+        return Collections.emptyList();
+    }
+
+    private List<Long> getModelIds() {
+        String models = getExecutorConfig().getDuckDbModels();
+        if (StringUtils.isBlank(models)) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(models.split(",")).map(String::trim).filter(StringUtils::isNumeric)
+                .map(Long::parseLong).collect(Collectors.toList());
+    }
+
+    private String normalize(String table) {
+        return StringUtils.remove(StringUtils.remove(table, "`"), "\"").toLowerCase();
+    }
+
+    private boolean isEnable() {
+        return getExecutorConfig().getDuckEnable() && Objects.nonNull(getDuckDbSource().getDuckDbJdbcTemplate());
+    }
+
+    private ExecutorConfig getExecutorConfig() {
+        if (Objects.isNull(executorConfig)) {
+            executorConfig = ContextUtils.getBean(ExecutorConfig.class);
+        }
+        return executorConfig;
+    }
+
+    private DuckDbSource getDuckDbSource() {
+        if (Objects.isNull(duckDbSource)) {
+            duckDbSource = ContextUtils.getBean(DuckDbSource.class);
+        }
+        return duckDbSource;
+    }
+
+    @Data
+    protected static class Snapshot {
+
+        /**
+         * normalized name of the duckDb table
+         */
+        private final String tableName;
+
+        private final String sourceTable;
+
+        private final Database database;
+
+        private volatile boolean loaded;
+
+        /**
+         * the source table exceeded the row limit at the last reload
+         */
+        private volatile boolean oversize;
+
+        private volatile long loadTime;
+    }
+}
@@ -6,14 +6,18 @@ import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
 import com.tencent.supersonic.headless.core.config.ExecutorConfig;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import java.io.File;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
@@ -23,12 +27,22 @@ import org.springframework.stereotype.Component;
 @Component
 @Slf4j
 public class DuckDbSource {
+
+    private static final String DUCK_DB_FILE_PREFIX = "supersonic-";
+    private static final String DUCK_DB_FILE_SUFFIX = ".duckdb";
+    private static final String DUCK_DB_WAL_SUFFIX = ".wal";
+
     protected DataSource duckDbDataSource;
 
     protected JdbcTemplate duckDbJdbcTemplate;
 
     protected HikariConfig hikariConfig;
 
+    protected File duckDbFile;
+
+    @Value("${s2.source.result-limit:1000000}")
+    protected int resultLimit;
+
     private final ExecutorConfig executorConfig;
 
     public DuckDbSource(ExecutorConfig executorConfig) {
@@ -45,10 +59,44 @@ public class DuckDbSource {
         config.setDriverClassName("org.duckdb.DuckDBDriver");
         config.setMaximumPoolSize(executorConfig.getDuckDbMaximumPoolSize());
         config.setMaxLifetime(executorConfig.getDuckDbMaxLifetime());
-        config.setJdbcUrl("jdbc:duckdb:");
+        config.setJdbcUrl(getJdbcUrl());
         return config;
     }
 
+    /**
+     * every connection of an in-memory url opens a separate database,
+     * so the pooled connections share a database file under the temp directory.
+     * the file belongs to this instance only, it starts empty and is deleted on shutdown
+     */
+    protected String getJdbcUrl() {
+        File tempDir = new File(executorConfig.getDuckDbTemp());
+        if (!tempDir.exists() && !tempDir.mkdirs()) {
+            log.warn("create duckDb temp directory failed, {}", tempDir.getAbsolutePath());
+        }
+        duckDbFile = new File(tempDir, DUCK_DB_FILE_PREFIX + UUID.randomUUID() + DUCK_DB_FILE_SUFFIX);
+        deleteDuckDbFile();
+        return "jdbc:duckdb:" + duckDbFile.getAbsolutePath();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (duckDbDataSource instanceof HikariDataSource) {
+            ((HikariDataSource) duckDbDataSource).close();
+        }
+        deleteDuckDbFile();
+    }
+
+    private void deleteDuckDbFile() {
+        if (duckDbFile == null) {
+            return;
+        }
+        for (File file : new File[]{duckDbFile, new File(duckDbFile.getPath() + DUCK_DB_WAL_SUFFIX)}) {
+            if (file.exists() && !file.delete()) {
+                log.warn("delete duckDb file failed, {}", file.getAbsolutePath());
+            }
+        }
+    }
+
     public DataSource getDuckDbDataSource(HikariConfig config) {
         HikariDataSource ds = new HikariDataSource(config);
         return ds;
@@ -81,7 +129,14 @@ public class DuckDbSource {
     }
 
     public void query(String sql, SemanticQueryResp queryResultWithColumns) {
-        duckDbJdbcTemplate.query(sql, rs -> {
+        JdbcTemplate jdbcTemplate = duckDbJdbcTemplate;
+        // one more row than the limit, so that truncated results can be detected
+        int maxRows = resultLimit > 0 && resultLimit < Integer.MAX_VALUE ? resultLimit + 1 : resultLimit;
+        if (maxRows > 0) {
+            jdbcTemplate = new JdbcTemplate(duckDbJdbcTemplate.getDataSource());
+            jdbcTemplate.setMaxRows(maxRows);
+        }
+        jdbcTemplate.query(sql, rs -> {
             if (null == rs) {
                 return queryResultWithColumns;
             }
@@ -92,18 +147,30 @@ public class DuckDbSource {
                 queryColumns.add(new QueryColumn(key, metaData.getColumnTypeName(i)));
             }
             queryResultWithColumns.setColumns(queryColumns);
-            List<Map<String, Object>> resultList = buildResult(rs);
+            List<Map<String, Object>> resultList = buildResult(rs, maxRows);
+            if (resultLimit > 0 && resultList.size() > resultLimit) {
+                log.warn("query result exceeds the limit:{}, the rest rows are discarded", resultLimit);
+                resultList.remove(resultList.size() - 1);
+                queryResultWithColumns.setTruncated(true);
+            }
             queryResultWithColumns.setResultList(resultList);
             return queryResultWithColumns;
         });
     }
 
     public static List<Map<String, Object>> buildResult(ResultSet resultSet) {
+        return buildResult(resultSet, 0);
+    }
+
+    /**
+     * read at most maxRows rows, all rows when maxRows is not positive
+     */
+    public static List<Map<String, Object>> buildResult(ResultSet resultSet, int maxRows) {
         List<Map<String, Object>> list = new ArrayList<>();
         try {
             ResultSetMetaData rsMeta = resultSet.getMetaData();
             int columnCount = rsMeta.getColumnCount();
-            while (resultSet.next()) {
+            while ((maxRows <= 0 || list.size() < maxRows) && resultSet.next()) {
                 Map<String, Object> row = new HashMap<>();
                 for (int i = 1; i <= columnCount; i++) {
                     String column = rsMeta.getColumnName(i);
@@ -145,10 +212,8 @@ public class DuckDbSource {
                             row.put(column, resultSet.getTimestamp(i));
                             break;
                         case java.sql.Types.JAVA_OBJECT:
-                            row.put(column, resultSet.getObject(i));
-                            break;
                         default:
-                            throw new Exception("get result row type not found :" + rsMeta.getColumnType(i));
+                            row.put(column, resultSet.getObject(i));
                     }
                 }
                 list.add(row);
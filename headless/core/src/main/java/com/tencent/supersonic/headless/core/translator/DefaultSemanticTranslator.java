@@ -1,38 +1,101 @@
 package com.tencent.supersonic.headless.core.translator;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tencent.supersonic.common.jsqlparser.SqlSelectHelper;
+import com.tencent.supersonic.common.util.JsonUtil;
 import com.tencent.supersonic.common.util.StringUtil;
 import com.tencent.supersonic.headless.api.pojo.MetricTable;
 import com.tencent.supersonic.headless.api.pojo.QueryParam;
 import com.tencent.supersonic.headless.api.pojo.enums.AggOption;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticSchemaResp;
 import com.tencent.supersonic.headless.core.pojo.DataSetQueryParam;
 import com.tencent.supersonic.headless.core.pojo.MetricQueryParam;
 import com.tencent.supersonic.headless.core.pojo.QueryStatement;
 import com.tencent.supersonic.headless.core.translator.converter.QueryConverter;
 import com.tencent.supersonic.headless.core.utils.ComponentFactory;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
 @Slf4j
 public class DefaultSemanticTranslator implements SemanticTranslator {
 
+    private static final int TRANSLATE_CACHE_SIZE = 10000;
+
+    /**
+     * translated sql keyed by the md5 of the normalized query statement
+     */
+    private final Cache<String, TranslateResult> translateCache = Caffeine.newBuilder()
+            .maximumSize(TRANSLATE_CACHE_SIZE).expireAfterWrite(1, TimeUnit.DAYS).build();
+
+    @Value("${s2.translator.cache.enable:true}")
+    private boolean translateCacheEnable;
+
     public void translate(QueryStatement queryStatement) {
+        String cacheKey = getCacheKey(queryStatement);
+        if (Objects.nonNull(cacheKey)) {
+            TranslateResult translateResult = translateCache.getIfPresent(cacheKey);
+            if (Objects.nonNull(translateResult)) {
+                log.debug("translate cache hit, key:{}", cacheKey);
+                translateResult.apply(queryStatement);
+                return;
+            }
+        }
         try {
+            long start = System.currentTimeMillis();
             parse(queryStatement);
             optimize(queryStatement);
+            log.debug("translate cost:{}", System.currentTimeMillis() - start);
+            if (Objects.nonNull(cacheKey) && queryStatement.isOk()) {
+                translateCache.put(cacheKey, TranslateResult.of(queryStatement));
+            }
         } catch (Exception e) {
             queryStatement.setErrMsg(e.getMessage());
         }
     }
 
+    /**
+     * the key covers everything the translation reads: the schema version, the request and
+     * the current date which relative date ranges are resolved against.
+     * returns null if the statement is not built from a versioned schema
+     */
+    private String getCacheKey(QueryStatement queryStatement) {
+        SemanticSchemaResp semanticSchemaResp = queryStatement.getSemanticSchemaResp();
+        if (!translateCacheEnable || Objects.isNull(semanticSchemaResp)
+                || Objects.isNull(semanticSchemaResp.getSchemaVersion())
+                || Objects.isNull(queryStatement.getSemanticModel())) {
+            return null;
+        }
+        String command = String.join("|", semanticSchemaResp.getSchemaKey(),
+                String.valueOf(semanticSchemaResp.getSchemaVersion()),
+                String.valueOf(queryStatement.getDataSetId()),
+                String.valueOf(queryStatement.getModelIds()),
+                String.valueOf(queryStatement.getIsS2SQL()),
+                JsonUtil.toString(queryStatement.getQueryParam()),
+                JsonUtil.toString(queryStatement.getDataSetQueryParam()),
+                JsonUtil.toString(queryStatement.getMetricQueryParam()),
+                String.valueOf(queryStatement.getMinMaxTime()),
+                String.valueOf(queryStatement.getEnableOptimize()),
+                String.valueOf(queryStatement.getLimit()),
+                LocalDate.now().toString());
+        return DigestUtils.md5Hex(command);
+    }
+
     public void optimize(QueryStatement queryStatement) {
         for (QueryOptimizer queryOptimizer : ComponentFactory.getQueryOptimizers()) {
             queryOptimizer.rewrite(queryStatement);
@@ -157,4 +220,31 @@ public class DefaultSemanticTranslator implements SemanticTranslator {
         return tableSql;
     }
 
+    /**
+     * the params are kept as json, every statement served from the cache gets its own copy of them,
+     * so a statement changing its params does not change the cached result or the other statements
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    static class TranslateResult {
+
+        private final String sql;
+
+        private final String dataSetQueryParam;
+
+        private final String metricQueryParam;
+
+        static TranslateResult of(QueryStatement queryStatement) {
+            return new TranslateResult(queryStatement.getSql(),
+                    JsonUtil.toString(queryStatement.getDataSetQueryParam()),
+                    JsonUtil.toString(queryStatement.getMetricQueryParam()));
+        }
+
+        void apply(QueryStatement queryStatement) {
+            queryStatement.setSql(sql);
+            queryStatement.setDataSetQueryParam(JsonUtil.toObject(dataSetQueryParam, DataSetQueryParam.class));
+            queryStatement.setMetricQueryParam(JsonUtil.toObject(metricQueryParam, MetricQueryParam.class));
+        }
+    }
+
 }
@@ -2,12 +2,14 @@ package com.tencent.supersonic.headless.core.translator.calcite.s2sql;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.List;
 
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class DataSource {
 
     private Long id;
@@ -31,4 +33,8 @@ public class DataSource {
     private String aggTime;
 
     private Materialization.TimePartType timePartType = Materialization.TimePartType.None;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile DataSourceFields fields;
 }
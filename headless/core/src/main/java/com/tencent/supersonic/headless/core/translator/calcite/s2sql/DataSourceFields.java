@@ -0,0 +1,35 @@
+package com.tencent.supersonic.headless.core.translator.calcite.s2sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * the fields of a datasource extracted from its sql, computed once when the semantic model is built
+ */
+@Getter
+@AllArgsConstructor
+public class DataSourceFields {
+
+    /**
+     * the sql the fields are extracted from
+     */
+    private final String sqlTable;
+
+    /**
+     * source table name to the fields it provides
+     */
+    private final Map<String, Set<String>> tableFields;
+
+    /**
+     * identifiers referenced by the dimension and identify expressions
+     */
+    private final Set<String> dimensions;
+
+    /**
+     * identifiers referenced by the measure expressions
+     */
+    private final Set<String> metrics;
+}
@@ -13,9 +13,11 @@ import com.tencent.supersonic.headless.core.translator.calcite.schema.SemanticSc
 import com.tencent.supersonic.headless.core.translator.calcite.sql.node.extend.LateralViewExplodeNode;
 import com.tencent.supersonic.headless.core.translator.calcite.Configuration;
 import com.tencent.supersonic.headless.core.translator.calcite.s2sql.DataSource;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.DataSourceFields;
 import com.tencent.supersonic.headless.core.pojo.MetricQueryParam;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -27,6 +29,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.jdbc.CalciteSchema;
 import org.apache.calcite.sql.SqlBasicCall;
 import org.apache.calcite.sql.SqlDataTypeSpec;
 import org.apache.calcite.sql.SqlNode;
@@ -41,6 +44,31 @@ import org.springframework.util.CollectionUtils;
 public class DataSourceNode extends SemanticNode {
 
     public static SqlNode build(DataSource datasource, SqlValidatorScope scope) throws Exception {
+        String sqlTable = getSqlTable(datasource);
+        if (sqlTable.isEmpty()) {
+            throw new Exception("DatasourceNode build error [tableSqlNode not found]");
+        }
+        SqlNode source = getTable(sqlTable, scope, EngineType.fromString(datasource.getType()));
+        addSchema(scope, getFields(datasource));
+        return buildAs(datasource.getName(), source);
+    }
+
+    /**
+     * get the fields of the datasource, they are extracted once and kept on the datasource,
+     * and extracted again only if the sql of the datasource has changed
+     */
+    public static DataSourceFields getFields(DataSource datasource) throws Exception {
+        String sqlTable = getSqlTable(datasource);
+        DataSourceFields fields = datasource.getFields();
+        if (Objects.nonNull(fields) && fields.getSqlTable().equals(sqlTable)) {
+            return fields;
+        }
+        fields = extractFields(datasource, sqlTable);
+        datasource.setFields(fields);
+        return fields;
+    }
+
+    private static String getSqlTable(DataSource datasource) {
         String sqlTable = "";
         if (datasource.getSqlQuery() != null && !datasource.getSqlQuery().isEmpty()) {
             sqlTable = datasource.getSqlQuery();
@@ -53,36 +81,16 @@ public class DataSourceNode extends SemanticNode {
                 sqlTable = "select * from " + datasource.getTableQuery();
             }
         }
-        if (sqlTable.isEmpty()) {
-            throw new Exception("DatasourceNode build error [tableSqlNode not found]");
-        }
-        SqlNode source = getTable(sqlTable, scope, EngineType.fromString(datasource.getType()));
-        addSchema(scope, datasource, sqlTable);
-        return buildAs(datasource.getName(), source);
-    }
-
-    private static void addSchema(SqlValidatorScope scope, DataSource datasource, String table) throws Exception {
-        Map<String, Set<String>> sqlTable = SqlSelectHelper.getFieldsWithSubQuery(table);
-        for (Map.Entry<String, Set<String>> entry : sqlTable.entrySet()) {
-            String tb = entry.getKey();
-            String db = "";
-            if (entry.getKey().indexOf(".") > 0) {
-                db = entry.getKey().substring(0, entry.getKey().indexOf("."));
-                tb = entry.getKey().substring(entry.getKey().indexOf(".") + 1);
-            }
-            addSchemaTable(scope, datasource, db, tb, entry.getValue());
-        }
+        return sqlTable;
     }
 
-    private static void addSchemaTable(SqlValidatorScope scope, DataSource datasource, String db, String tb,
-            Set<String> fields)
-            throws Exception {
-        Set<String> dateInfo = new HashSet<>();
+    private static DataSourceFields extractFields(DataSource datasource, String sqlTable) throws Exception {
         Set<String> dimensions = new HashSet<>();
         Set<String> metrics = new HashSet<>();
         EngineType engineType = EngineType.fromString(datasource.getType());
+        CalciteSchema rootSchema = CalciteSchema.createRootSchema(true, false);
         for (Dimension d : datasource.getDimensions()) {
-            List<SqlNode> identifiers = expand(SemanticNode.parse(d.getExpr(), scope, engineType), scope);
+            List<SqlNode> identifiers = getIdentifiers(d.getExpr(), rootSchema, engineType);
             identifiers.stream().forEach(i -> dimensions.add(i.toString()));
             dimensions.add(d.getName());
         }
@@ -90,7 +98,7 @@ public class DataSourceNode extends SemanticNode {
             dimensions.add(i.getName());
         }
         for (Measure m : datasource.getMeasures()) {
-            List<SqlNode> identifiers = expand(SemanticNode.parse(m.getExpr(), scope, engineType), scope);
+            List<SqlNode> identifiers = getIdentifiers(m.getExpr(), rootSchema, engineType);
             identifiers.stream().forEach(i -> {
                         if (!dimensions.contains(i.toString())) {
                             metrics.add(i.toString());
@@ -101,15 +109,48 @@ public class DataSourceNode extends SemanticNode {
                 metrics.add(m.getName());
             }
         }
-        for (String field : fields) {
-            if (!metrics.contains(field) && !dimensions.contains(field)) {
-                dimensions.add(field);
-                log.info("add column {} {}", datasource.getName(), field);
+        Map<String, Set<String>> tableFields = new HashMap<>();
+        if (!sqlTable.isEmpty()) {
+            for (Map.Entry<String, Set<String>> entry : SqlSelectHelper.getFieldsWithSubQuery(sqlTable)
+                    .entrySet()) {
+                Set<String> fields = new HashSet<>();
+                for (String field : entry.getValue()) {
+                    if (!metrics.contains(field) && !dimensions.contains(field)) {
+                        fields.add(field);
+                        log.info("add column {} {}", datasource.getName(), field);
+                    }
+                }
+                tableFields.put(entry.getKey(), Collections.unmodifiableSet(fields));
+            }
+        }
+        return new DataSourceFields(sqlTable, Collections.unmodifiableMap(tableFields),
+                Collections.unmodifiableSet(dimensions), Collections.unmodifiableSet(metrics));
+    }
+
+    private static List<SqlNode> getIdentifiers(String expr, CalciteSchema rootSchema, EngineType engineType)
+            throws Exception {
+        SqlNode sqlNode = SemanticNode.parse(expr, rootSchema, engineType);
+        if (isIdentifier(sqlNode)) {
+            return Lists.newArrayList(sqlNode);
+        }
+        List<SqlNode> identifiers = new ArrayList<>();
+        expand(sqlNode, identifiers);
+        return identifiers;
+    }
+
+    private static void addSchema(SqlValidatorScope scope, DataSourceFields fields) {
+        for (Map.Entry<String, Set<String>> entry : fields.getTableFields().entrySet()) {
+            String tb = entry.getKey();
+            String db = "";
+            if (entry.getKey().indexOf(".") > 0) {
+                db = entry.getKey().substring(0, entry.getKey().indexOf("."));
+                tb = entry.getKey().substring(entry.getKey().indexOf(".") + 1);
             }
+            Set<String> dimensions = new HashSet<>(fields.getDimensions());
+            dimensions.addAll(entry.getValue());
+            SchemaBuilder.addSourceView(scope.getValidator().getCatalogReader().getRootSchema(), db,
+                    tb, new HashSet<>(), dimensions, new HashSet<>(fields.getMetrics()));
         }
-        SchemaBuilder.addSourceView(scope.getValidator().getCatalogReader().getRootSchema(), db,
-                tb, dateInfo,
-                dimensions, metrics);
     }
 
     public static SqlNode buildExtend(DataSource datasource, Map<String, String> exprList,
@@ -9,6 +9,7 @@ import com.tencent.supersonic.headless.core.translator.calcite.Configuration;
 import com.tencent.supersonic.headless.core.translator.calcite.schema.SemanticSqlDialect;
 import com.tencent.supersonic.headless.core.utils.SqlDialectFactory;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.jdbc.CalciteSchema;
 import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.hep.HepPlanner;
 import org.apache.calcite.plan.hep.HepProgramBuilder;
@@ -77,16 +78,23 @@ public abstract class SemanticNode {
     }
 
     public static SqlNode parse(String expression, SqlValidatorScope scope, EngineType engineType) throws Exception {
-        SqlValidatorWithHints sqlValidatorWithHints = Configuration.getSqlValidatorWithHints(
-                scope.getValidator().getCatalogReader().getRootSchema(), engineType);
+        SqlNode sqlNode = parse(expression, scope.getValidator().getCatalogReader().getRootSchema(), engineType);
+        scope.validateExpr(sqlNode);
+        return sqlNode;
+    }
+
+    /**
+     * parse the expression without validating it, used when no query scope is available
+     */
+    public static SqlNode parse(String expression, CalciteSchema rootSchema, EngineType engineType)
+            throws Exception {
+        SqlValidatorWithHints sqlValidatorWithHints = Configuration.getSqlValidatorWithHints(rootSchema, engineType);
         if (Configuration.getSqlAdvisor(sqlValidatorWithHints, engineType).getReservedAndKeyWords()
                 .contains(expression.toUpperCase())) {
             expression = String.format("`%s`", expression);
         }
         SqlParser sqlParser = SqlParser.create(expression, Configuration.getParserConfig(engineType));
-        SqlNode sqlNode = sqlParser.parseExpression();
-        scope.validateExpr(sqlNode);
-        return sqlNode;
+        return sqlParser.parseExpression();
     }
 
     public static SqlNode buildAs(String asName, SqlNode sqlNode) throws Exception {
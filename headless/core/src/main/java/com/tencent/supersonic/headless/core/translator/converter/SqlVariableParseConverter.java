@@ -5,11 +5,13 @@ import com.tencent.supersonic.headless.api.pojo.response.ModelResp;
 import com.tencent.supersonic.headless.api.pojo.response.SemanticSchemaResp;
 import com.tencent.supersonic.headless.core.translator.calcite.s2sql.DataSource;
 import com.tencent.supersonic.headless.core.pojo.QueryStatement;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.SemanticModel;
 import com.tencent.supersonic.headless.core.utils.SqlVariableParseUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 
@@ -32,6 +34,7 @@ public class SqlVariableParseConverter implements QueryConverter {
         if (CollectionUtils.isEmpty(modelResps)) {
             return;
         }
+        SemanticModel semanticModel = null;
         for (ModelResp modelResp : modelResps) {
             if (ModelDefineType.SQL_QUERY.getName()
                     .equalsIgnoreCase(modelResp.getModelDetail().getQueryType())) {
@@ -42,8 +45,29 @@ public class SqlVariableParseConverter implements QueryConverter {
                 );
                 DataSource dataSource = queryStatement.getSemanticModel()
                         .getDatasourceMap().get(modelResp.getBizName());
-                dataSource.setSqlQuery(sqlParsed);
+                if (Objects.isNull(dataSource) || Objects.equals(sqlParsed, dataSource.getSqlQuery())) {
+                    continue;
+                }
+                // the semantic model is shared by queries, replace the data source in a copy of it
+                if (Objects.isNull(semanticModel)) {
+                    semanticModel = copy(queryStatement.getSemanticModel());
+                    queryStatement.setSemanticModel(semanticModel);
+                }
+                semanticModel.getDatasourceMap().put(modelResp.getBizName(),
+                        dataSource.toBuilder().sqlQuery(sqlParsed).build());
             }
         }
     }
+
+    private SemanticModel copy(SemanticModel semanticModel) {
+        SemanticModel copy = new SemanticModel();
+        copy.setSchemaKey(semanticModel.getSchemaKey());
+        copy.setMetrics(semanticModel.getMetrics());
+        copy.setDatasourceMap(new HashMap<>(semanticModel.getDatasourceMap()));
+        copy.setDimensionMap(semanticModel.getDimensionMap());
+        copy.setMaterializationList(semanticModel.getMaterializationList());
+        copy.setJoinRelations(semanticModel.getJoinRelations());
+        copy.setDatabase(semanticModel.getDatabase());
+        return copy;
+    }
 }
\ No newline at end of file
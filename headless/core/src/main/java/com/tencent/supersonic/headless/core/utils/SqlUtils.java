@@ -91,7 +91,7 @@ public class SqlUtils {
     }
 
     public void execute(String sql, SemanticQueryResp queryResultWithColumns) {
-        getResult(sql, queryResultWithColumns, jdbcTemplate());
+        getResult(sql, queryResultWithColumns, limitedJdbcTemplate());
     }
 
     public JdbcTemplate jdbcTemplate() throws RuntimeException {
@@ -111,7 +111,19 @@ public class SqlUtils {
     }
 
     public void queryInternal(String sql, SemanticQueryResp queryResultWithColumns) {
-        getResult(sql, queryResultWithColumns, jdbcTemplate());
+        getResult(sql, queryResultWithColumns, limitedJdbcTemplate());
+    }
+
+    /**
+     * the template of the query results, which are cut at the result limit
+     */
+    private JdbcTemplate limitedJdbcTemplate() {
+        JdbcTemplate jdbcTemplate = jdbcTemplate();
+        if (resultLimit > 0) {
+            // one more row than the limit, so that truncated results can be detected
+            jdbcTemplate.setMaxRows(resultLimit < Integer.MAX_VALUE ? resultLimit + 1 : resultLimit);
+        }
+        return jdbcTemplate;
     }
 
     private SemanticQueryResp getResult(String sql, SemanticQueryResp queryResultWithColumns,
@@ -129,31 +141,35 @@ public class SqlUtils {
             }
             queryResultWithColumns.setColumns(queryColumns);
 
-            List<Map<String, Object>> resultList = getAllData(rs, queryColumns);
-            queryResultWithColumns.setResultList(resultList);
+            getAllData(rs, queryColumns, queryResultWithColumns);
             return queryResultWithColumns;
         });
         return queryResultWithColumns;
     }
 
-    private List<Map<String, Object>> getAllData(ResultSet rs, List<QueryColumn> queryColumns) {
+    private void getAllData(ResultSet rs, List<QueryColumn> queryColumns, SemanticQueryResp queryResultWithColumns) {
+        String[] columnNames = queryColumns.stream().map(QueryColumn::getNameEn).toArray(String[]::new);
         List<Map<String, Object>> data = new ArrayList<>();
         try {
             while (rs.next()) {
-                data.add(getLineData(rs, queryColumns));
+                if (resultLimit > 0 && data.size() >= resultLimit) {
+                    log.warn("query result exceeds the limit:{}, the rest rows are discarded", resultLimit);
+                    queryResultWithColumns.setTruncated(true);
+                    break;
+                }
+                data.add(getLineData(rs, columnNames));
             }
         } catch (Exception e) {
             log.warn("error in getAllData, e:", e);
         }
-        return data;
+        queryResultWithColumns.setResultList(data);
     }
 
-    private Map<String, Object> getLineData(ResultSet rs, List<QueryColumn> queryColumns) throws SQLException {
-        Map<String, Object> map = new LinkedHashMap<>();
-        for (QueryColumn queryColumn : queryColumns) {
-            String colName = queryColumn.getNameEn();
-            Object value = rs.getObject(colName);
-            map.put(colName, getValue(value));
+    private Map<String, Object> getLineData(ResultSet rs, String[] columnNames) throws SQLException {
+        Map<String, Object> map = new LinkedHashMap<>((int) (columnNames.length / 0.75f) + 1);
+        for (int i = 0; i < columnNames.length; i++) {
+            Object value = rs.getObject(i + 1);
+            map.put(columnNames[i], getValue(value));
         }
         return map;
     }
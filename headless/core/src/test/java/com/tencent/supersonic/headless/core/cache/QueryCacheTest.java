@@ -0,0 +1,49 @@
+package com.tencent.supersonic.headless.core.cache;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class QueryCacheTest {
+
+    @Test
+    public void testWeighByResultSize() {
+        SemanticQueryResp small = buildQueryResp(1);
+        SemanticQueryResp large = buildQueryResp(10000);
+        int smallWeight = CacheSizeEstimator.weigh("key", small);
+        int largeWeight = CacheSizeEstimator.weigh("key", large);
+        Assertions.assertTrue(smallWeight > 0);
+        Assertions.assertTrue(largeWeight > smallWeight * 1000);
+    }
+
+    @Test
+    public void testModelVersionKey() {
+        ModelCacheVersion modelCacheVersion = new ModelCacheVersion();
+        String key = modelCacheVersion.getVersionKey(Lists.newArrayList(2L, 1L));
+        Assertions.assertEquals("1_v0,2_v0", key);
+        String noModelKey = modelCacheVersion.getVersionKey(new ArrayList<>());
+
+        modelCacheVersion.increase(Lists.newArrayList(2L));
+        Assertions.assertEquals("1_v0,2_v1", modelCacheVersion.getVersionKey(Lists.newArrayList(1L, 2L)));
+        Assertions.assertNotEquals(noModelKey, modelCacheVersion.getVersionKey(new ArrayList<>()));
+    }
+
+    private SemanticQueryResp buildQueryResp(int rows) {
+        List<Map<String, Object>> resultList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("department", "department_" + i);
+            row.put("pv", i);
+            resultList.add(row);
+        }
+        SemanticQueryResp queryResp = new SemanticQueryResp();
+        queryResp.setResultList(resultList);
+        return queryResp;
+    }
+}
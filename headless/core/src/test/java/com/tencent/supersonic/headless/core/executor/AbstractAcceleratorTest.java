@@ -0,0 +1,75 @@
+package com.tencent.supersonic.headless.core.executor;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
+import com.tencent.supersonic.headless.core.pojo.Materialization;
+import com.tencent.supersonic.headless.core.pojo.QueryStatement;
+import com.tencent.supersonic.headless.core.translator.calcite.schema.SchemaBuilder;
+import org.apache.calcite.prepare.CalciteCatalogReader;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+public class AbstractAcceleratorTest {
+
+    private final AbstractAccelerator accelerator = new AbstractAccelerator() {
+        @Override
+        public boolean reload() {
+            resetMaterializationCatalog();
+            return true;
+        }
+
+        @Override
+        public boolean check(QueryStatement queryStatement) {
+            return false;
+        }
+
+        @Override
+        public SemanticQueryResp query(QueryStatement queryStatement) {
+            return null;
+        }
+    };
+
+    @Test
+    public void testCheckMaterialization() {
+        Materialization materialization = Materialization.builder()
+                .name("sys.sys_materialization")
+                .columns(Lists.newArrayList("department", "pv"))
+                .isPartitioned(true)
+                .partitionName("imp_date")
+                .partitions(Lists.newArrayList("2024-01-01", "2024-01-02"))
+                .build();
+        accelerator.reload();
+        Assertions.assertFalse(accelerator.check(materialization, Lists.newArrayList("department", "uv"),
+                Lists.newArrayList(ImmutablePair.of("2024-01-01", "2024-01-01"))));
+        Assertions.assertFalse(accelerator.check(materialization, Lists.newArrayList("department"),
+                Lists.newArrayList(ImmutablePair.of("2024-01-03", "2024-01-03"))));
+        // checks share the catalog of the last reload and run concurrently
+        Assertions.assertTrue(IntStream.range(0, 8).parallel().allMatch(i -> accelerator.check(materialization,
+                Lists.newArrayList("department"), Lists.newArrayList(ImmutablePair.of("2024-01-01", "2024-01-01")))));
+        materialization.setPartitioned(false);
+        Assertions.assertTrue(accelerator.check(materialization, Lists.newArrayList("pv"),
+                Lists.newArrayList(ImmutablePair.of("2024-01-03", "2024-01-03"))));
+    }
+
+    @Test
+    public void testCheckDoesNotChangeSharedCatalog() {
+        Materialization materialization = Materialization.builder()
+                .name("sys.sys_materialization")
+                .columns(Lists.newArrayList("department", "pv"))
+                .isPartitioned(true)
+                .partitionName("imp_date")
+                .partitions(Lists.newArrayList("2024-01-01"))
+                .build();
+        accelerator.reload();
+        Assertions.assertTrue(accelerator.check(materialization, Lists.newArrayList("department"),
+                Lists.newArrayList(ImmutablePair.of("2024-01-01", "2024-01-01"))));
+        CalciteCatalogReader calciteCatalogReader = accelerator.getCalciteCatalogReader();
+        Assertions.assertNull(calciteCatalogReader.getTable(Lists.newArrayList(
+                AbstractAccelerator.MATERIALIZATION_SYS_DB, AbstractAccelerator.MATERIALIZATION_SYS_VIEW)));
+        Assertions.assertNotNull(calciteCatalogReader.getTable(Lists.newArrayList(
+                SchemaBuilder.MATERIALIZATION_SYS_DB, SchemaBuilder.MATERIALIZATION_SYS_VIEW)));
+    }
+}
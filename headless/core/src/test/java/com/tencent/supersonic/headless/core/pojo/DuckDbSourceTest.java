@@ -0,0 +1,67 @@
+package com.tencent.supersonic.headless.core.pojo;
+
+import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
+import com.tencent.supersonic.headless.core.config.ExecutorConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+class DuckDbSourceTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testDuckDbFilePerInstance() {
+        DuckDbSource first = new DuckDbSource(mockExecutorConfig());
+        DuckDbSource second = new DuckDbSource(mockExecutorConfig());
+        try {
+            Assertions.assertNotEquals(first.duckDbFile, second.duckDbFile);
+            first.execute("CREATE TABLE t_1 AS SELECT 1 AS pv");
+            Assertions.assertEquals(1, first.getDuckDbJdbcTemplate().queryForObject(
+                    "SELECT COUNT(*) FROM t_1", Integer.class));
+            Assertions.assertEquals(0, second.getDuckDbJdbcTemplate().queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = 't_1'", Integer.class));
+            Assertions.assertTrue(first.duckDbFile.exists());
+        } finally {
+            first.shutdown();
+            second.shutdown();
+        }
+        Assertions.assertFalse(first.duckDbFile.exists());
+        Assertions.assertFalse(second.duckDbFile.exists());
+    }
+
+    @Test
+    void testQueryResultLimit() {
+        DuckDbSource duckDbSource = new DuckDbSource(mockExecutorConfig());
+        try {
+            duckDbSource.execute("CREATE TABLE t_2 AS SELECT * FROM range(3) t(pv)");
+            duckDbSource.resultLimit = 2;
+            SemanticQueryResp limited = new SemanticQueryResp();
+            duckDbSource.query("SELECT pv FROM t_2 ORDER BY pv", limited);
+            Assertions.assertEquals(2, limited.getResultList().size());
+            Assertions.assertTrue(limited.isTruncated());
+
+            duckDbSource.resultLimit = 3;
+            SemanticQueryResp all = new SemanticQueryResp();
+            duckDbSource.query("SELECT pv FROM t_2 ORDER BY pv", all);
+            Assertions.assertEquals(3, all.getResultList().size());
+            Assertions.assertFalse(all.isTruncated());
+        } finally {
+            duckDbSource.shutdown();
+        }
+    }
+
+    private ExecutorConfig mockExecutorConfig() {
+        ExecutorConfig executorConfig = new ExecutorConfig();
+        executorConfig.setDuckEnable(true);
+        executorConfig.setDuckDbTemp(tempDir.getAbsolutePath());
+        executorConfig.setDuckDbMaximumPoolSize(2);
+        executorConfig.setDuckDbMaxLifetime(30000);
+        executorConfig.setMemoryLimit(1);
+        executorConfig.setThreads(1);
+        return executorConfig;
+    }
+}
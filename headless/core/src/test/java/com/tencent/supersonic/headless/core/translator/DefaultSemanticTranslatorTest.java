@@ -0,0 +1,60 @@
+package com.tencent.supersonic.headless.core.translator;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.headless.api.pojo.MetricTable;
+import com.tencent.supersonic.headless.core.pojo.DataSetQueryParam;
+import com.tencent.supersonic.headless.core.pojo.MetricQueryParam;
+import com.tencent.supersonic.headless.core.pojo.QueryStatement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DefaultSemanticTranslatorTest {
+
+    @Test
+    void testTranslateResultIsCopiedPerStatement() {
+        MetricTable metricTable = new MetricTable();
+        metricTable.setAlias("t_1");
+        metricTable.setMetrics(Lists.newArrayList("pv"));
+        DataSetQueryParam dataSetQueryParam = new DataSetQueryParam();
+        dataSetQueryParam.setSql("select pv from t_1");
+        dataSetQueryParam.setTables(Lists.newArrayList(metricTable));
+        MetricQueryParam metricQueryParam = new MetricQueryParam();
+        metricQueryParam.setMetrics(Lists.newArrayList("pv"));
+        QueryStatement translated = new QueryStatement();
+        translated.setSql("select sum(pv) from t_1");
+        translated.setDataSetQueryParam(dataSetQueryParam);
+        translated.setMetricQueryParam(metricQueryParam);
+
+        DefaultSemanticTranslator.TranslateResult translateResult =
+                DefaultSemanticTranslator.TranslateResult.of(translated);
+        // the statement keeps changing its params after it has been cached
+        metricTable.getMetrics().add("uv");
+        metricQueryParam.setLimit(10L);
+
+        QueryStatement first = new QueryStatement();
+        translateResult.apply(first);
+        QueryStatement second = new QueryStatement();
+        translateResult.apply(second);
+        Assertions.assertEquals("select sum(pv) from t_1", first.getSql());
+        Assertions.assertEquals(Lists.newArrayList("pv"), first.getDataSetQueryParam().getTables().get(0).getMetrics());
+        Assertions.assertNotSame(first.getDataSetQueryParam(), second.getDataSetQueryParam());
+        Assertions.assertNotSame(first.getMetricQueryParam(), second.getMetricQueryParam());
+
+        first.getDataSetQueryParam().getTables().get(0).getMetrics().add("uv");
+        first.getMetricQueryParam().setLimit(10L);
+        Assertions.assertEquals(Lists.newArrayList("pv"),
+                second.getDataSetQueryParam().getTables().get(0).getMetrics());
+        Assertions.assertNull(second.getMetricQueryParam().getLimit());
+    }
+
+    @Test
+    void testTranslateResultWithoutParams() {
+        QueryStatement translated = new QueryStatement();
+        translated.setSql("select 1");
+        QueryStatement queryStatement = new QueryStatement();
+        DefaultSemanticTranslator.TranslateResult.of(translated).apply(queryStatement);
+        Assertions.assertEquals("select 1", queryStatement.getSql());
+        Assertions.assertNull(queryStatement.getDataSetQueryParam());
+        Assertions.assertNull(queryStatement.getMetricQueryParam());
+    }
+}
@@ -0,0 +1,35 @@
+package com.tencent.supersonic.headless.core.translator.calcite.sql.node;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.DataSource;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.DataSourceFields;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.Dimension;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.Identify;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.Measure;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DataSourceNodeTest {
+
+    @Test
+    public void testGetFields() throws Exception {
+        DataSource dataSource = DataSource.builder().name("s2_pv_uv_statis").type("h2")
+                .sqlQuery("select imp_date, user_name, page, pv_cnt from s2_pv_uv_statis")
+                .identifiers(Lists.newArrayList(new Identify("user_name", "primary")))
+                .dimensions(Lists.newArrayList(Dimension.builder().name("page").expr("page").build()))
+                .measures(Lists.newArrayList(Measure.builder().name("pv").expr("pv_cnt").agg("sum").build()))
+                .build();
+        DataSourceFields fields = DataSourceNode.getFields(dataSource);
+        Assertions.assertTrue(fields.getDimensions().contains("page"));
+        Assertions.assertTrue(fields.getDimensions().contains("user_name"));
+        Assertions.assertTrue(fields.getMetrics().contains("pv_cnt"));
+        Assertions.assertTrue(fields.getTableFields().get("s2_pv_uv_statis").contains("imp_date"));
+        Assertions.assertSame(fields, DataSourceNode.getFields(dataSource));
+
+        DataSource changed = dataSource.toBuilder().sqlQuery("select imp_date, page, pv_cnt from s2_pv_statis")
+                .build();
+        DataSourceFields changedFields = DataSourceNode.getFields(changed);
+        Assertions.assertNotSame(fields, changedFields);
+        Assertions.assertTrue(changedFields.getTableFields().containsKey("s2_pv_statis"));
+    }
+}
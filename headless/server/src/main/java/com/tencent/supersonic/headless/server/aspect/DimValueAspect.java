@@ -1,6 +1,7 @@
 package com.tencent.supersonic.headless.server.aspect;
 
-import com.google.common.collect.Lists;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tencent.supersonic.common.jsqlparser.FieldExpression;
 import com.tencent.supersonic.common.jsqlparser.SqlReplaceHelper;
 import com.tencent.supersonic.common.jsqlparser.SqlSelectHelper;
@@ -9,14 +10,12 @@ import com.tencent.supersonic.common.pojo.QueryColumn;
 import com.tencent.supersonic.common.pojo.enums.FilterOperatorEnum;
 import com.tencent.supersonic.common.pojo.exception.InvalidArgumentException;
 import com.tencent.supersonic.common.util.JsonUtil;
-import com.tencent.supersonic.headless.api.pojo.DimValueMap;
-import com.tencent.supersonic.headless.api.pojo.SchemaItem;
 import com.tencent.supersonic.headless.api.pojo.request.QuerySqlReq;
 import com.tencent.supersonic.headless.api.pojo.request.QueryStructReq;
 import com.tencent.supersonic.headless.api.pojo.request.SemanticQueryReq;
-import com.tencent.supersonic.headless.api.pojo.response.DimensionResp;
 import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
 import com.tencent.supersonic.headless.api.pojo.MetaFilter;
+import com.tencent.supersonic.headless.core.cache.ModelCacheVersion;
 import com.tencent.supersonic.headless.server.service.DimensionService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -33,18 +32,26 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Aspect
 @Component
 @Slf4j
 public class DimValueAspect {
 
+    private static final int CACHE_SIZE = 1000;
+
     @Value("${s2.dimension.value.map.enable:true}")
     private Boolean dimensionValueMapEnable;
     @Autowired
     private DimensionService dimensionService;
+    @Autowired
+    private ModelCacheVersion modelCacheVersion;
+
+    /**
+     * keyed by the model version key, so a change of the models gives a new key
+     */
+    private final Cache<String, DimValueMapping> dimValueMappingCache = Caffeine.newBuilder()
+            .maximumSize(CACHE_SIZE).build();
 
     @Around("execution(* com.tencent.supersonic.headless.server.facade.service.SemanticLayerService.queryByReq(..))")
     public Object handleDimValue(ProceedingJoinPoint joinPoint) throws Throwable {
@@ -68,16 +75,14 @@ public class DimValueAspect {
     private SemanticQueryResp handleStructDimValue(ProceedingJoinPoint joinPoint) throws Throwable {
         Object[] args = joinPoint.getArgs();
         QueryStructReq queryStructReq = (QueryStructReq) args[0];
-        MetaFilter metaFilter = new MetaFilter(Lists.newArrayList(queryStructReq.getModelIds()));
-        List<DimensionResp> dimensions = dimensionService.getDimensions(metaFilter);
-        Map<String, Map<String, String>> dimAndAliasAndTechNamePair = getAliasAndBizNameToTechName(dimensions);
-        Map<String, Map<String, String>> dimAndTechNameAndBizNamePair = getTechNameToBizName(dimensions);
-
-        rewriteFilter(queryStructReq.getDimensionFilters(), dimAndAliasAndTechNamePair);
+        DimValueMapping dimValueMapping = getDimValueMapping(queryStructReq.getModelIds());
+        if (!CollectionUtils.isEmpty(dimValueMapping.getAliasToTechName())) {
+            rewriteFilter(queryStructReq.getDimensionFilters(), dimValueMapping.getAliasToTechName());
+        }
 
         SemanticQueryResp semanticQueryResp = (SemanticQueryResp) joinPoint.proceed();
         if (Objects.nonNull(semanticQueryResp)) {
-            rewriteDimValue(semanticQueryResp, dimAndTechNameAndBizNamePair);
+            rewriteDimValue(semanticQueryResp, dimValueMapping.getTechNameToBizName());
         }
 
         return semanticQueryResp;
@@ -86,68 +91,58 @@ public class DimValueAspect {
     public Object handleSqlDimValue(ProceedingJoinPoint joinPoint) throws Throwable {
         Object[] args = joinPoint.getArgs();
         QuerySqlReq querySqlReq = (QuerySqlReq) args[0];
-        MetaFilter metaFilter = new MetaFilter(Lists.newArrayList(querySqlReq.getModelIds()));
+        DimValueMapping dimValueMapping = getDimValueMapping(querySqlReq.getModelIds());
         String sql = querySqlReq.getSql();
-        log.debug("correctorSql before replacing:{}", sql);
-        List<FieldExpression> fieldExpressionList = SqlSelectHelper.getWhereExpressions(sql);
-        List<DimensionResp> dimensions = dimensionService.getDimensions(metaFilter);
-        Set<String> fieldNames = dimensions.stream().map(SchemaItem::getName).collect(Collectors.toSet());
-        Map<String, Map<String, String>> filedNameToValueMap = new HashMap<>();
-        for (FieldExpression expression : fieldExpressionList) {
-            if (!fieldNames.contains(expression.getFieldName())) {
-                continue;
-            }
-            for (DimensionResp dimension : dimensions) {
-                if (!expression.getFieldName().equals(dimension.getName())
-                        || CollectionUtils.isEmpty(dimension.getDimValueMaps())) {
+        if (dimValueMapping.mayFilterByAlias(sql)) {
+            log.debug("correctorSql before replacing:{}", sql);
+            Map<String, Map<String, String>> filedNameToValueMap = new HashMap<>();
+            for (FieldExpression expression : SqlSelectHelper.getWhereExpressions(sql)) {
+                Map<String, String> aliases = dimValueMapping.getAliases(expression.getFieldName());
+                if (CollectionUtils.isEmpty(aliases) || Objects.isNull(expression.getFieldValue())) {
                     continue;
                 }
                 // consider '=' filter
                 if (expression.getOperator().equals(FilterOperatorEnum.EQUALS.getValue())) {
-                    dimension.getDimValueMaps().stream().forEach(dimValue -> {
-                        if (!CollectionUtils.isEmpty(dimValue.getAlias())
-                                && dimValue.getAlias().contains(expression.getFieldValue().toString())) {
-                            getFiledNameToValueMap(filedNameToValueMap, expression.getFieldValue().toString(),
-                                    dimValue.getTechName(), expression.getFieldName());
-                        }
-                    });
+                    String fieldValue = expression.getFieldValue().toString();
+                    if (aliases.containsKey(fieldValue)) {
+                        getFiledNameToValueMap(filedNameToValueMap, fieldValue, aliases.get(fieldValue),
+                                expression.getFieldName());
+                    }
                 }
                 // consider 'in' filter,each element needs to judge.
-                replaceInCondition(expression, dimension, filedNameToValueMap);
+                replaceInCondition(expression, aliases, filedNameToValueMap);
+            }
+            if (!filedNameToValueMap.isEmpty()) {
+                sql = SqlReplaceHelper.replaceValue(sql, filedNameToValueMap);
+                log.debug("correctorSql after replacing:{}", sql);
+                querySqlReq.setSql(sql);
             }
         }
-        sql = SqlReplaceHelper.replaceValue(sql, filedNameToValueMap);
-        log.debug("correctorSql after replacing:{}", sql);
-        querySqlReq.setSql(sql);
-        Map<String, Map<String, String>> techNameToBizName = getTechNameToBizName(dimensions);
 
         SemanticQueryResp queryResultWithColumns = (SemanticQueryResp) joinPoint.proceed();
         if (Objects.nonNull(queryResultWithColumns)) {
-            rewriteDimValue(queryResultWithColumns, techNameToBizName);
+            rewriteDimValue(queryResultWithColumns, dimValueMapping.getTechNameToBizName());
         }
         return queryResultWithColumns;
     }
 
-    public void replaceInCondition(FieldExpression expression, DimensionResp dimension,
+    private DimValueMapping getDimValueMapping(List<Long> modelIds) {
+        String key = modelCacheVersion.getVersionKey(modelIds);
+        return dimValueMappingCache.get(key, k -> {
+            MetaFilter metaFilter = new MetaFilter(modelIds);
+            return DimValueMapping.build(dimensionService.getDimensions(metaFilter));
+        });
+    }
+
+    public void replaceInCondition(FieldExpression expression, Map<String, String> aliases,
             Map<String, Map<String, String>> filedNameToValueMap) {
         if (expression.getOperator().equals(FilterOperatorEnum.IN.getValue())) {
             String fieldValue = JsonUtil.toString(expression.getFieldValue());
             fieldValue = fieldValue.replace("'", "");
             List<String> values = JsonUtil.toList(fieldValue, String.class);
             List<String> revisedValues = new ArrayList<>();
-            for (int i = 0; i < values.size(); i++) {
-                Boolean flag = new Boolean(false);
-                for (DimValueMap dimValueMap : dimension.getDimValueMaps()) {
-                    if (!CollectionUtils.isEmpty(dimValueMap.getAlias())
-                            && dimValueMap.getAlias().contains(values.get(i))) {
-                        flag = true;
-                        revisedValues.add(dimValueMap.getTechName());
-                        break;
-                    }
-                }
-                if (!flag) {
-                    revisedValues.add(values.get(i));
-                }
+            for (String value : values) {
+                revisedValues.add(aliases.getOrDefault(value, value));
             }
             if (!revisedValues.equals(values)) {
                 getFiledNameToValueMap(filedNameToValueMap, JsonUtil.toString(values),
@@ -237,78 +232,4 @@ public class DimValueAspect {
             rewriteFilter(filter.getChildren(), aliasAndTechNamePair);
         }
     }
-
-    private Map<String, Map<String, String>> getAliasAndBizNameToTechName(List<DimensionResp> dimensions) {
-        if (CollectionUtils.isEmpty(dimensions)) {
-            return new HashMap<>();
-        }
-        Map<String, Map<String, String>> result = new HashMap<>();
-        for (DimensionResp dimension : dimensions) {
-            if (needSkipDimension(dimension)) {
-                continue;
-            }
-            String bizName = dimension.getBizName();
-            List<DimValueMap> dimValueMaps = dimension.getDimValueMaps();
-            Map<String, String> aliasAndBizNameToTechName = new HashMap<>();
-
-            for (DimValueMap dimValueMap : dimValueMaps) {
-                if (needSkipDimValue(dimValueMap)) {
-                    continue;
-                }
-                if (StringUtils.isNotEmpty(dimValueMap.getBizName())) {
-                    aliasAndBizNameToTechName.put(dimValueMap.getBizName(), dimValueMap.getTechName());
-                }
-                if (!CollectionUtils.isEmpty(dimValueMap.getAlias())) {
-                    dimValueMap.getAlias().stream().forEach(alias -> {
-                        if (StringUtils.isNotEmpty(alias)) {
-                            aliasAndBizNameToTechName.put(alias, dimValueMap.getTechName());
-                        }
-                    });
-                }
-            }
-
-            if (!CollectionUtils.isEmpty(aliasAndBizNameToTechName)) {
-                result.put(bizName, aliasAndBizNameToTechName);
-            }
-        }
-        return result;
-    }
-
-    private boolean needSkipDimValue(DimValueMap dimValueMap) {
-        return Objects.isNull(dimValueMap) || StringUtils.isEmpty(dimValueMap.getTechName());
-    }
-
-    private Map<String, Map<String, String>> getTechNameToBizName(List<DimensionResp> dimensions) {
-        if (CollectionUtils.isEmpty(dimensions)) {
-            return new HashMap<>();
-        }
-        Map<String, Map<String, String>> result = new HashMap<>();
-        for (DimensionResp dimension : dimensions) {
-            if (needSkipDimension(dimension)) {
-                continue;
-            }
-            String bizName = dimension.getBizName();
-            List<DimValueMap> dimValueMaps = dimension.getDimValueMaps();
-            Map<String, String> techNameToBizName = new HashMap<>();
-
-            for (DimValueMap dimValueMap : dimValueMaps) {
-                if (needSkipDimValue(dimValueMap)) {
-                    continue;
-                }
-                if (StringUtils.isNotEmpty(dimValueMap.getBizName())) {
-                    techNameToBizName.put(dimValueMap.getTechName(), dimValueMap.getBizName());
-                }
-            }
-
-            if (!CollectionUtils.isEmpty(techNameToBizName)) {
-                result.put(bizName, techNameToBizName);
-            }
-        }
-        return result;
-    }
-
-    private boolean needSkipDimension(DimensionResp dimension) {
-        return Objects.isNull(dimension) || StringUtils.isEmpty(dimension.getBizName()) || CollectionUtils.isEmpty(
-                dimension.getDimValueMaps());
-    }
 }
@@ -0,0 +1,125 @@
+package com.tencent.supersonic.headless.server.aspect;
+
+import com.google.common.collect.ImmutableMap;
+import com.tencent.supersonic.headless.api.pojo.DimValueMap;
+import com.tencent.supersonic.headless.api.pojo.response.DimensionResp;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.CollectionUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * dimension value mappings of a set of models, compiled once per model version.
+ * the lookups are immutable, so one instance is shared by concurrent queries.
+ */
+public class DimValueMapping {
+
+    public static final DimValueMapping EMPTY = new DimValueMapping(ImmutableMap.of(), ImmutableMap.of(),
+            ImmutableMap.of());
+
+    /**
+     * dimension bizName -> (value alias or value bizName -> value techName), used by struct filters
+     */
+    private final Map<String, Map<String, String>> aliasToTechName;
+
+    /**
+     * dimension bizName -> (value techName -> value bizName), used to rewrite results
+     */
+    private final Map<String, Map<String, String>> techNameToBizName;
+
+    /**
+     * dimension name -> (value alias -> value techName), used by sql where conditions
+     */
+    private final Map<String, Map<String, String>> nameToAliases;
+
+    private DimValueMapping(Map<String, Map<String, String>> aliasToTechName,
+            Map<String, Map<String, String>> techNameToBizName,
+            Map<String, Map<String, String>> nameToAliases) {
+        this.aliasToTechName = aliasToTechName;
+        this.techNameToBizName = techNameToBizName;
+        this.nameToAliases = nameToAliases;
+    }
+
+    public static DimValueMapping build(List<DimensionResp> dimensions) {
+        if (CollectionUtils.isEmpty(dimensions)) {
+            return EMPTY;
+        }
+        Map<String, Map<String, String>> aliasToTechName = new HashMap<>();
+        Map<String, Map<String, String>> techNameToBizName = new HashMap<>();
+        Map<String, Map<String, String>> nameToAliases = new LinkedHashMap<>();
+        for (DimensionResp dimension : dimensions) {
+            if (Objects.isNull(dimension) || CollectionUtils.isEmpty(dimension.getDimValueMaps())) {
+                continue;
+            }
+            Map<String, String> aliasAndBizName = new HashMap<>();
+            Map<String, String> techAndBizName = new HashMap<>();
+            Map<String, String> aliases = new HashMap<>();
+            for (DimValueMap dimValueMap : dimension.getDimValueMaps()) {
+                if (Objects.isNull(dimValueMap) || StringUtils.isEmpty(dimValueMap.getTechName())) {
+                    continue;
+                }
+                String techName = dimValueMap.getTechName();
+                if (StringUtils.isNotEmpty(dimValueMap.getBizName())) {
+                    aliasAndBizName.put(dimValueMap.getBizName(), techName);
+                    techAndBizName.put(techName, dimValueMap.getBizName());
+                }
+                if (CollectionUtils.isEmpty(dimValueMap.getAlias())) {
+                    continue;
+                }
+                for (String alias : dimValueMap.getAlias()) {
+                    if (StringUtils.isNotEmpty(alias)) {
+                        aliasAndBizName.put(alias, techName);
+                        aliases.putIfAbsent(alias, techName);
+                    }
+                }
+            }
+            if (StringUtils.isNotEmpty(dimension.getBizName())) {
+                if (!aliasAndBizName.isEmpty()) {
+                    aliasToTechName.put(dimension.getBizName(), ImmutableMap.copyOf(aliasAndBizName));
+                }
+                if (!techAndBizName.isEmpty()) {
+                    techNameToBizName.put(dimension.getBizName(), ImmutableMap.copyOf(techAndBizName));
+                }
+            }
+            if (StringUtils.isNotEmpty(dimension.getName()) && !aliases.isEmpty()) {
+                nameToAliases.put(dimension.getName(), ImmutableMap.copyOf(aliases));
+            }
+        }
+        if (aliasToTechName.isEmpty() && techNameToBizName.isEmpty() && nameToAliases.isEmpty()) {
+            return EMPTY;
+        }
+        return new DimValueMapping(ImmutableMap.copyOf(aliasToTechName), ImmutableMap.copyOf(techNameToBizName),
+                ImmutableMap.copyOf(nameToAliases));
+    }
+
+    public Map<String, Map<String, String>> getAliasToTechName() {
+        return aliasToTechName;
+    }
+
+    public Map<String, Map<String, String>> getTechNameToBizName() {
+        return techNameToBizName;
+    }
+
+    public Map<String, String> getAliases(String dimensionName) {
+        return nameToAliases.get(dimensionName);
+    }
+
+    /**
+     * cheap pre check before parsing the sql, true if the sql may filter on a dimension with value aliases
+     */
+    public boolean mayFilterByAlias(String sql) {
+        if (nameToAliases.isEmpty() || StringUtils.isBlank(sql)) {
+            return false;
+        }
+        for (String name : nameToAliases.keySet()) {
+            if (sql.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,6 +1,8 @@
 package com.tencent.supersonic.headless.server.aspect;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
 import com.tencent.supersonic.auth.api.authorization.pojo.AuthRes;
 import com.tencent.supersonic.auth.api.authorization.pojo.DimensionFilter;
@@ -42,6 +44,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
@@ -51,6 +54,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class S2DataPermissionAspect {
 
+    private static final int CACHE_SIZE = 1000;
+
     @Autowired
     private QueryStructUtils queryStructUtils;
     @Autowired
@@ -60,6 +65,19 @@ public class S2DataPermissionAspect {
     @Autowired
     private AuthService authService;
 
+    /**
+     * parsed row filter keyed by the joined filter expressions, JSqlParser expressions are only
+     * spliced into a freshly parsed statement and printed, so they can be shared
+     */
+    private final Cache<String, Optional<Expression>> rowFilterCache = Caffeine.newBuilder()
+            .maximumSize(CACHE_SIZE).build();
+
+    /**
+     * high sensitive biz names keyed by the schema and its version
+     */
+    private final Cache<String, Set<String>> sensitiveBizNameCache = Caffeine.newBuilder()
+            .maximumSize(CACHE_SIZE).build();
+
     @Pointcut("@annotation(com.tencent.supersonic.headless.server.annotation.S2DataPermission)")
     private void s2PermissionCheck() {
     }
@@ -117,9 +135,16 @@ public class S2DataPermissionAspect {
                                     List<Long> modelIds, SemanticSchemaResp semanticSchemaResp) {
         // get high sensitive fields in query
         Set<String> bizNamesInQueryReq = getBizNameInQueryReq(semanticQueryReq, semanticSchemaResp);
-        Set<String> sensitiveBizNamesByModel = getHighSensitiveBizNamesByModelId(semanticSchemaResp);
-        Set<String> sensitiveBizNameInQuery = bizNamesInQueryReq.parallelStream()
-                .filter(sensitiveBizNamesByModel::contains).collect(Collectors.toSet());
+        Set<String> sensitiveBizNamesByModel = getHighSensitiveBizNames(semanticSchemaResp);
+        if (sensitiveBizNamesByModel.isEmpty()) {
+            return;
+        }
+        Set<String> sensitiveBizNameInQuery = new HashSet<>();
+        for (String bizName : bizNamesInQueryReq) {
+            if (sensitiveBizNamesByModel.contains(bizName)) {
+                sensitiveBizNameInQuery.add(bizName);
+            }
+        }
 
         //get high sensitive field cur user has been authed
         Set<String> sensitiveBizNameUserAuthed = authorizedResource.getAuthResList()
@@ -168,67 +193,64 @@ public class S2DataPermissionAspect {
 
     private void doRowPermission(QuerySqlReq querySqlReq, AuthorizedResourceResp authorizedResource) {
         log.debug("start doRowPermission logic");
-        StringJoiner joiner = new StringJoiner(" OR ");
-        List<String> dimensionFilters = new ArrayList<>();
-        if (!CollectionUtils.isEmpty(authorizedResource.getFilters())) {
-            authorizedResource.getFilters().stream()
-                    .forEach(filter -> dimensionFilters.addAll(filter.getExpressions()));
-        }
-
-        if (CollectionUtils.isEmpty(dimensionFilters)) {
+        String rowFilter = getRowFilter(authorizedResource);
+        if (StringUtils.isEmpty(rowFilter)) {
             log.debug("dimensionFilters is empty");
             return;
         }
-
-        dimensionFilters.stream().forEach(filter -> {
-            if (StringUtils.isNotEmpty(filter) && StringUtils.isNotEmpty(filter.trim())) {
-                joiner.add(" ( " + filter + " ) ");
-            }
-        });
-        try {
-            Expression expression = CCJSqlParserUtil.parseCondExpression(" ( " + joiner + " ) ");
-            if (StringUtils.isNotEmpty(joiner.toString())) {
-                String sql = SqlAddHelper.addWhere(querySqlReq.getSql(), expression);
-                log.info("before doRowPermission, queryS2SQLReq:{}", querySqlReq.getSql());
-                querySqlReq.setSql(sql);
-                log.info("after doRowPermission, queryS2SQLReq:{}", querySqlReq.getSql());
-            }
-        } catch (JSQLParserException jsqlParserException) {
-            log.info("jsqlParser has an exception:{}", jsqlParserException.toString());
+        Optional<Expression> expression = rowFilterCache.get(rowFilter, this::parseRowFilter);
+        if (expression.isPresent()) {
+            String sql = SqlAddHelper.addWhere(querySqlReq.getSql(), expression.get());
+            log.info("before doRowPermission, queryS2SQLReq:{}", querySqlReq.getSql());
+            querySqlReq.setSql(sql);
+            log.info("after doRowPermission, queryS2SQLReq:{}", querySqlReq.getSql());
         }
-
     }
 
     private void doRowPermission(QueryStructReq queryStructReq, AuthorizedResourceResp authorizedResource) {
         log.debug("start doRowPermission logic");
-        StringJoiner joiner = new StringJoiner(" OR ");
-        List<String> dimensionFilters = new ArrayList<>();
-        if (!CollectionUtils.isEmpty(authorizedResource.getFilters())) {
-            authorizedResource.getFilters().stream()
-                    .forEach(filter -> dimensionFilters.addAll(filter.getExpressions()));
-        }
-
-        if (CollectionUtils.isEmpty(dimensionFilters)) {
+        String rowFilter = getRowFilter(authorizedResource);
+        if (StringUtils.isEmpty(rowFilter)) {
             log.debug("dimensionFilters is empty");
             return;
         }
+        log.info("before doRowPermission, queryStructReq:{}", queryStructReq);
+        Filter filter = new Filter("", FilterOperatorEnum.SQL_PART, rowFilter);
+        List<Filter> filters = Objects.isNull(queryStructReq.getOriginalFilter()) ? new ArrayList<>()
+                : queryStructReq.getOriginalFilter();
+        filters.add(filter);
+        queryStructReq.setDimensionFilters(filters);
+        log.info("after doRowPermission, queryStructReq:{}", queryStructReq);
+    }
 
-        dimensionFilters.stream().forEach(filter -> {
-            if (StringUtils.isNotEmpty(filter) && StringUtils.isNotEmpty(filter.trim())) {
-                joiner.add(" ( " + filter + " ) ");
+    /**
+     * the row filters of the authorized groups joined by OR, empty if there is none
+     */
+    private String getRowFilter(AuthorizedResourceResp authorizedResource) {
+        if (CollectionUtils.isEmpty(authorizedResource.getFilters())) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(" OR ");
+        for (DimensionFilter dimensionFilter : authorizedResource.getFilters()) {
+            if (CollectionUtils.isEmpty(dimensionFilter.getExpressions())) {
+                continue;
+            }
+            for (String expression : dimensionFilter.getExpressions()) {
+                if (StringUtils.isNotBlank(expression)) {
+                    joiner.add(" ( " + expression + " ) ");
+                }
             }
-        });
-
-        if (StringUtils.isNotEmpty(joiner.toString())) {
-            log.info("before doRowPermission, queryStructReq:{}", queryStructReq);
-            Filter filter = new Filter("", FilterOperatorEnum.SQL_PART, joiner.toString());
-            List<Filter> filters = Objects.isNull(queryStructReq.getOriginalFilter()) ? new ArrayList<>()
-                    : queryStructReq.getOriginalFilter();
-            filters.add(filter);
-            queryStructReq.setDimensionFilters(filters);
-            log.info("after doRowPermission, queryStructReq:{}", queryStructReq);
         }
+        return joiner.toString();
+    }
 
+    private Optional<Expression> parseRowFilter(String rowFilter) {
+        try {
+            return Optional.of(CCJSqlParserUtil.parseCondExpression(" ( " + rowFilter + " ) "));
+        } catch (JSQLParserException jsqlParserException) {
+            log.info("jsqlParser has an exception:{}", jsqlParserException.toString());
+            return Optional.empty();
+        }
     }
 
     public boolean checkModelAdmin(User user, List<Long> modelIds) {
@@ -274,6 +296,14 @@ public class S2DataPermissionAspect {
         return highSensitiveCols;
     }
 
+    private Set<String> getHighSensitiveBizNames(SemanticSchemaResp semanticSchemaResp) {
+        if (Objects.isNull(semanticSchemaResp.getSchemaVersion())) {
+            return getHighSensitiveBizNamesByModelId(semanticSchemaResp);
+        }
+        String key = String.format("%s_v%s", semanticSchemaResp.getSchemaKey(), semanticSchemaResp.getSchemaVersion());
+        return sensitiveBizNameCache.get(key, k -> getHighSensitiveBizNamesByModelId(semanticSchemaResp));
+    }
+
     public AuthorizedResourceResp getAuthorizedResource(User user, List<Long> modelIds) {
         QueryAuthResReq queryAuthResReq = new QueryAuthResReq();
         queryAuthResReq.setModelIds(modelIds);
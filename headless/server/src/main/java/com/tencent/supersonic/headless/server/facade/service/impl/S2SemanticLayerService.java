@@ -5,6 +5,7 @@ import com.google.common.collect.Sets;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
 import com.tencent.supersonic.common.pojo.DateConf;
 import com.tencent.supersonic.common.pojo.QueryColumn;
+import com.tencent.supersonic.common.pojo.ThreadPoolExecutorMdcWrapper;
 import com.tencent.supersonic.common.pojo.enums.FilterOperatorEnum;
 import com.tencent.supersonic.common.pojo.enums.QueryType;
 import com.tencent.supersonic.common.pojo.enums.TaskStatusEnum;
@@ -67,6 +68,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -75,6 +77,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 
 
@@ -82,6 +87,9 @@ import java.util.stream.Collectors;
 @Slf4j
 public class S2SemanticLayerService implements SemanticLayerService {
 
+    private static final int TRANSLATE_POOL_SIZE = 8;
+    private static final int TRANSLATE_QUEUE_CAPACITY = 200;
+
     private StatUtils statUtils;
     private final QueryUtils queryUtils;
     private final QueryReqConverter queryReqConverter;
@@ -95,6 +103,7 @@ public class S2SemanticLayerService implements SemanticLayerService {
     private final DimensionService dimensionService;
     private QueryCache queryCache = ComponentFactory.getQueryCache();
     private List<QueryExecutor> queryExecutors = ComponentFactory.getQueryExecutors();
+    private final ThreadPoolExecutorMdcWrapper translateExecutor = buildTranslateExecutor();
 
     public S2SemanticLayerService(
             StatUtils statUtils,
@@ -391,13 +400,63 @@ public class S2SemanticLayerService implements SemanticLayerService {
             queryStatement.setModelIds(queryStructReq.getModelIds());
             queryStatement.setSemanticModel(semanticModel);
             queryStatement.setEnableOptimize(queryUtils.enableOptimize());
-            semanticTranslator.translate(queryStatement);
             sqlParsers.add(queryStatement);
         }
+        translateInParallel(sqlParsers);
         log.info("multi sqlParser:{}", sqlParsers);
         return queryUtils.sqlParserUnion(queryMultiStructReq, sqlParsers);
     }
 
+    /**
+     * translate the sub queries concurrently, each statement keeps its position in the list
+     * so the union order stays the same as the request.
+     * the first failure is thrown as it was raised by the translator and the other sub queries are cancelled
+     */
+    private void translateInParallel(List<QueryStatement> queryStatements) throws Exception {
+        if (queryStatements.size() <= 1) {
+            queryStatements.forEach(semanticTranslator::translate);
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (QueryStatement queryStatement : queryStatements) {
+                futures.add(translateExecutor.submit(() -> semanticTranslator.translate(queryStatement)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        translateExecutor.shutdown();
+    }
+
+    private static ThreadPoolExecutorMdcWrapper buildTranslateExecutor() {
+        ThreadPoolExecutorMdcWrapper executor = new ThreadPoolExecutorMdcWrapper();
+        executor.setCorePoolSize(TRANSLATE_POOL_SIZE);
+        executor.setMaxPoolSize(TRANSLATE_POOL_SIZE);
+        executor.setQueueCapacity(TRANSLATE_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("s2-translate-");
+        executor.setDaemon(true);
+        // run in the request thread when the pool is saturated instead of failing the query
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
     private SchemaFilterReq buildSchemaFilterReq(SemanticQueryReq semanticQueryReq) {
         SchemaFilterReq schemaFilterReq = new SchemaFilterReq();
         schemaFilterReq.setDataSetId(semanticQueryReq.getDataSetId());
@@ -0,0 +1,34 @@
+package com.tencent.supersonic.headless.server.listener;
+
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.enums.TypeEnums;
+import com.tencent.supersonic.headless.server.service.DataSetService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * drop the cached model to data set mapping synchronously when a data set is added, updated or deleted
+ */
+@Component
+@Slf4j
+public class DataSetCacheUpdateListener implements ApplicationListener<DataEvent> {
+
+    @Autowired
+    private DataSetService dataSetService;
+
+    @Override
+    public void onApplicationEvent(DataEvent dataEvent) {
+        if (CollectionUtils.isEmpty(dataEvent.getDataItems())) {
+            return;
+        }
+        boolean dataSetChanged = dataEvent.getDataItems().stream()
+                .anyMatch(dataItem -> TypeEnums.DATASET.equals(dataItem.getType()));
+        if (dataSetChanged) {
+            log.debug("refresh model to data set mapping, eventType:{}", dataEvent.getEventType());
+            dataSetService.refreshModelIdToDataSetIds();
+        }
+    }
+}
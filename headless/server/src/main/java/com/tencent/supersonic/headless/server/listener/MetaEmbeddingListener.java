@@ -4,6 +4,7 @@ import com.tencent.supersonic.common.config.EmbeddingConfig;
 import com.tencent.supersonic.common.pojo.DataEvent;
 import com.tencent.supersonic.common.pojo.DataItem;
 import com.tencent.supersonic.common.pojo.enums.EventType;
+import com.tencent.supersonic.common.pojo.enums.TypeEnums;
 import com.tencent.supersonic.common.service.EmbeddingService;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.store.embedding.TextSegmentConvert;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 @Slf4j
@@ -37,6 +39,13 @@ public class MetaEmbeddingListener implements ApplicationListener<DataEvent> {
         if (CollectionUtils.isEmpty(dataItems)) {
             return;
         }
+        dataItems = dataItems.stream()
+                .filter(dataItem -> TypeEnums.METRIC.equals(dataItem.getType())
+                        || TypeEnums.DIMENSION.equals(dataItem.getType()))
+                .collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(dataItems)) {
+            return;
+        }
         List<TextSegment> textSegments = TextSegmentConvert.convertToEmbedding(dataItems);
         if (CollectionUtils.isEmpty(textSegments)) {
             return;
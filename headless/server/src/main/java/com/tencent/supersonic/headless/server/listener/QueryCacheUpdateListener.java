@@ -0,0 +1,43 @@
+package com.tencent.supersonic.headless.server.listener;
+
+import com.tencent.supersonic.common.pojo.Constants;
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.DataItem;
+import com.tencent.supersonic.headless.core.cache.ModelCacheVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * bump the cache version of the changed models synchronously,
+ * so the query cache never serves results of an outdated model
+ */
+@Component
+@Slf4j
+public class QueryCacheUpdateListener implements ApplicationListener<DataEvent> {
+
+    @Autowired
+    private ModelCacheVersion modelCacheVersion;
+
+    @Override
+    public void onApplicationEvent(DataEvent dataEvent) {
+        if (CollectionUtils.isEmpty(dataEvent.getDataItems())) {
+            return;
+        }
+        Set<Long> modelIds = dataEvent.getDataItems().stream()
+                .map(DataItem::getModelId)
+                .filter(StringUtils::isNotBlank)
+                .map(modelId -> StringUtils.removeEnd(modelId, Constants.UNDERLINE))
+                .filter(StringUtils::isNumeric)
+                .map(Long::parseLong)
+                .collect(Collectors.toSet());
+        log.debug("increase query cache version, modelIds:{}", modelIds);
+        modelCacheVersion.increase(modelIds);
+    }
+}
@@ -0,0 +1,86 @@
+package com.tencent.supersonic.headless.server.listener;
+
+import com.tencent.supersonic.common.pojo.Constants;
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.DataItem;
+import com.tencent.supersonic.common.pojo.enums.TypeEnums;
+import com.tencent.supersonic.headless.server.service.DataSetService;
+import com.tencent.supersonic.headless.server.service.SchemaService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * refresh the schema caches synchronously, so the schema and the semantic models
+ * built from it never outlive a change of models, metrics or dimensions.
+ * only the data sets touched by the event are rebuilt when they can be resolved
+ */
+@Component
+@Slf4j
+public class SchemaCacheUpdateListener implements ApplicationListener<DataEvent> {
+
+    @Autowired
+    private SchemaService schemaService;
+
+    @Autowired
+    private DataSetService dataSetService;
+
+    @Override
+    public void onApplicationEvent(DataEvent dataEvent) {
+        if (CollectionUtils.isEmpty(dataEvent.getDataItems())) {
+            return;
+        }
+        Set<Long> dataSetIds = getDataSetIds(dataEvent.getDataItems());
+        if (dataSetIds == null) {
+            log.debug("refresh schema cache, eventType:{}", dataEvent.getEventType());
+            schemaService.refreshSchemaCache();
+            return;
+        }
+        log.debug("refresh schema cache, eventType:{}, dataSetIds:{}", dataEvent.getEventType(), dataSetIds);
+        schemaService.refreshSchemaCache(dataSetIds);
+    }
+
+    /**
+     * the data sets touched by the items, or null if any item can not be resolved to data sets
+     */
+    private Set<Long> getDataSetIds(List<DataItem> dataItems) {
+        Map<Long, List<Long>> modelIdToDataSetIds = null;
+        Set<Long> dataSetIds = new HashSet<>();
+        for (DataItem dataItem : dataItems) {
+            if (TypeEnums.DATASET.equals(dataItem.getType())) {
+                Long dataSetId = parseId(dataItem.getId());
+                if (dataSetId == null) {
+                    return null;
+                }
+                dataSetIds.add(dataSetId);
+                continue;
+            }
+            Long modelId = parseId(dataItem.getModelId());
+            if (modelId == null) {
+                return null;
+            }
+            if (modelIdToDataSetIds == null) {
+                modelIdToDataSetIds = dataSetService.getModelIdToDataSetIds();
+            }
+            dataSetIds.addAll(modelIdToDataSetIds.getOrDefault(modelId, Collections.emptyList()));
+        }
+        return dataSetIds;
+    }
+
+    private Long parseId(String id) {
+        String value = StringUtils.removeEnd(id, Constants.UNDERLINE);
+        if (!StringUtils.isNumeric(value)) {
+            return null;
+        }
+        return Long.parseLong(value);
+    }
+}
@@ -2,8 +2,10 @@ package com.tencent.supersonic.headless.server.listener;
 
 import com.tencent.supersonic.common.pojo.Constants;
 import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.DataItem;
 import com.tencent.supersonic.common.pojo.enums.DictWordType;
 import com.tencent.supersonic.common.pojo.enums.EventType;
+import com.tencent.supersonic.common.pojo.enums.TypeEnums;
 import com.tencent.supersonic.headless.chat.knowledge.DictWord;
 import com.tencent.supersonic.headless.chat.knowledge.helper.HanlpHelper;
 import lombok.extern.slf4j.Slf4j;
@@ -22,7 +24,7 @@ public class SchemaDictUpdateListener implements ApplicationListener<DataEvent>
         if (CollectionUtils.isEmpty(dataEvent.getDataItems())) {
             return;
         }
-        dataEvent.getDataItems().forEach(dataItem -> {
+        dataEvent.getDataItems().stream().filter(this::isSchemaItem).forEach(dataItem -> {
             DictWord dictWord = new DictWord();
             dictWord.setWord(dataItem.getName());
             String sign = DictWordType.NATURE_SPILT;
@@ -42,4 +44,8 @@ public class SchemaDictUpdateListener implements ApplicationListener<DataEvent>
             }
         });
     }
+
+    private boolean isSchemaItem(DataItem dataItem) {
+        return TypeEnums.METRIC.equals(dataItem.getType()) || TypeEnums.DIMENSION.equals(dataItem.getType());
+    }
 }
@@ -1,5 +1,7 @@
 package com.tencent.supersonic.headless.server.manager;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tencent.supersonic.common.pojo.ModelRela;
 import com.tencent.supersonic.common.pojo.enums.FilterOperatorEnum;
 import com.tencent.supersonic.headless.api.pojo.Field;
@@ -20,6 +22,7 @@ import com.tencent.supersonic.headless.core.translator.calcite.s2sql.Metric;
 import com.tencent.supersonic.headless.core.translator.calcite.s2sql.MetricTypeParams;
 import com.tencent.supersonic.headless.core.translator.calcite.s2sql.SemanticModel;
 import com.tencent.supersonic.headless.core.translator.calcite.schema.SemanticSchema;
+import com.tencent.supersonic.headless.core.translator.calcite.sql.node.DataSourceNode;
 import com.tencent.supersonic.headless.server.pojo.yaml.DataModelYamlTpl;
 import com.tencent.supersonic.headless.server.pojo.yaml.DimensionTimeTypeParamsTpl;
 import com.tencent.supersonic.headless.server.pojo.yaml.DimensionYamlTpl;
@@ -33,6 +36,7 @@ import com.tencent.supersonic.headless.server.utils.DatabaseConverter;
 import com.tencent.supersonic.headless.server.service.SchemaService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Triple;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -45,6 +49,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 
@@ -54,11 +59,30 @@ public class SemanticSchemaManager {
 
     private final SchemaService schemaService;
 
+    /**
+     * semantic models keyed by schema key and schema version, they are shared by queries
+     * and must be treated as read only
+     */
+    private final Cache<String, SemanticModel> semanticModelCache = Caffeine.newBuilder()
+            .maximumSize(1000).expireAfterAccess(1, TimeUnit.HOURS).build();
+
+    @Value("${s2.schema.cache.enable:true}")
+    private boolean schemaCacheEnable;
+
     public SemanticSchemaManager(SchemaService schemaService) {
         this.schemaService = schemaService;
     }
 
     public SemanticModel getSemanticModel(SemanticSchemaResp semanticSchemaResp) {
+        if (!schemaCacheEnable || Objects.isNull(semanticSchemaResp.getSchemaVersion())) {
+            return buildSemanticModel(semanticSchemaResp);
+        }
+        String cacheKey = String.format("%s_v%s", semanticSchemaResp.getSchemaKey(),
+                semanticSchemaResp.getSchemaVersion());
+        return semanticModelCache.get(cacheKey, key -> buildSemanticModel(semanticSchemaResp));
+    }
+
+    private SemanticModel buildSemanticModel(SemanticSchemaResp semanticSchemaResp) {
         SemanticModel semanticModel = new SemanticModel();
         semanticModel.setSchemaKey(semanticSchemaResp.getSchemaKey());
         Map<String, List<DimensionYamlTpl>> dimensionYamlTpls = new HashMap<>();
@@ -75,6 +99,7 @@ public class SemanticSchemaManager {
         if (!dataModelYamlTpls.isEmpty()) {
             Map<String, DataSource> dataSourceMap = dataModelYamlTpls.stream().map(SemanticSchemaManager::getDatasource)
                     .collect(Collectors.toMap(DataSource::getName, item -> item, (k1, k2) -> k1));
+            dataSourceMap.values().forEach(SemanticSchemaManager::initFields);
             semanticModel.setDatasourceMap(dataSourceMap);
         }
         if (!dimensionYamlTpls.isEmpty()) {
@@ -94,7 +119,7 @@ public class SemanticSchemaManager {
         if (CollectionUtils.isEmpty(semanticSchemaResp.getTags())) {
             throw new Exception("semanticSchemaResp tag is empty");
         }
-        SemanticModel semanticModel = getSemanticModel(semanticSchemaResp);
+        SemanticModel semanticModel = buildSemanticModel(semanticSchemaResp);
         //Map<String, List<Dimension>> dimensions = new HashMap<>();
         Map<Long, List<TagResp>> tagMap = new HashMap<>();
         for (TagResp tagResp : semanticSchemaResp.getTags()) {
@@ -173,6 +198,14 @@ public class SemanticSchemaManager {
         return getDimension(t);
     }
 
+    private static void initFields(DataSource dataSource) {
+        try {
+            DataSourceNode.getFields(dataSource);
+        } catch (Exception e) {
+            log.warn("extract fields of datasource {} error, extract again when querying", dataSource.getName(), e);
+        }
+    }
+
     public static DataSource getDatasource(final DataModelYamlTpl d) {
         DataSource datasource = DataSource.builder().id(d.getId()).sourceId(d.getSourceId())
                 .type(d.getType()).sqlQuery(d.getSqlQuery()).name(d.getName()).tableQuery(d.getTableQuery())
@@ -11,5 +11,7 @@ public interface StatMapper {
 
     Boolean createRecord(QueryStat queryStatInfo);
 
+    void batchCreateRecord(List<QueryStat> queryStatInfos);
+
     List<QueryStat> getStatInfo(ItemUseReq itemUseCommend);
 }
@@ -12,6 +12,7 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -39,6 +40,14 @@ public class StatRepositoryImpl implements StatRepository {
         return statMapper.createRecord(queryStatInfo);
     }
 
+    @Override
+    public void batchCreateRecord(List<QueryStat> queryStatInfos) {
+        if (CollectionUtils.isEmpty(queryStatInfos)) {
+            return;
+        }
+        statMapper.batchCreateRecord(queryStatInfos);
+    }
+
     @Override
     @SneakyThrows
     public List<ItemUseResp> getStatInfo(ItemUseReq itemUseReq) {
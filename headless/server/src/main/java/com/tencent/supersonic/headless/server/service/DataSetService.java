@@ -26,6 +26,8 @@ public interface DataSetService {
 
     Map<Long, List<Long>> getModelIdToDataSetIds();
 
+    void refreshModelIdToDataSetIds();
+
     List<DataSetResp> getDataSets(String dataSetName, User user);
 
     List<DataSetResp> getDataSets(List<String> dataSetNames, User user);
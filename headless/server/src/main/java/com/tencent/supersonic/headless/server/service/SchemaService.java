@@ -22,6 +22,7 @@ import com.tencent.supersonic.headless.server.pojo.yaml.DataModelYamlTpl;
 import com.tencent.supersonic.headless.server.pojo.yaml.DimensionYamlTpl;
 import com.tencent.supersonic.headless.server.pojo.yaml.MetricYamlTpl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
@@ -34,6 +35,10 @@ public interface SchemaService {
 
     SemanticSchemaResp fetchSemanticSchema(SchemaFilterReq schemaFilterReq);
 
+    void refreshSchemaCache();
+
+    void refreshSchemaCache(Collection<Long> dataSetIds);
+
     List<ModelSchemaResp> fetchModelSchemaResps(List<Long> modelIds);
 
     List<DimensionResp> getDimensions(MetaFilter metaFilter);
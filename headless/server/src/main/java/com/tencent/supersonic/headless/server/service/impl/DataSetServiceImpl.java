@@ -3,9 +3,15 @@ package com.tencent.supersonic.headless.server.service.impl;
 import com.alibaba.fastjson2.JSONObject;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
+import com.tencent.supersonic.common.pojo.Constants;
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.DataItem;
 import com.tencent.supersonic.common.pojo.enums.AuthType;
+import com.tencent.supersonic.common.pojo.enums.EventType;
 import com.tencent.supersonic.common.pojo.enums.QueryType;
 import com.tencent.supersonic.common.pojo.enums.StatusEnum;
 import com.tencent.supersonic.common.pojo.enums.TypeEnums;
@@ -38,6 +44,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -45,6 +52,7 @@ import org.springframework.util.CollectionUtils;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -73,6 +81,16 @@ public class DataSetServiceImpl
     @Autowired
     private TagMetaService tagMetaService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * model id to the ids of its online data sets, rebuilt on the first call after a data set event
+     */
+    private volatile Map<Long, List<Long>> modelIdToDataSetIds;
+
+    private long dataSetVersion;
+
     @Override
     public DataSetResp save(DataSetReq dataSetReq, User user) {
         dataSetReq.createdBy(user.getName());
@@ -82,6 +100,7 @@ public class DataSetServiceImpl
         conflictCheck(dataSetResp);
         save(dataSetDO);
         dataSetResp.setId(dataSetDO.getId());
+        sendEvent(dataSetDO, EventType.ADD);
         return dataSetResp;
     }
 
@@ -92,6 +111,7 @@ public class DataSetServiceImpl
         DataSetResp dataSetResp = convert(dataSetDO);
         conflictCheck(dataSetResp);
         updateById(dataSetDO);
+        sendEvent(dataSetDO, EventType.UPDATE);
         return dataSetResp;
     }
 
@@ -130,6 +150,7 @@ public class DataSetServiceImpl
         dataSetDO.setUpdatedBy(user.getName());
         dataSetDO.setUpdatedAt(new Date());
         updateById(dataSetDO);
+        sendEvent(dataSetDO, EventType.DELETE);
     }
 
     @Override
@@ -235,21 +256,66 @@ public class DataSetServiceImpl
 
     @Override
     public Map<Long, List<Long>> getModelIdToDataSetIds(List<Long> dataSetIds, User user) {
+        Map<Long, List<Long>> allModelIdToDataSetIds = getModelIdToDataSetIds();
+        if (CollectionUtils.isEmpty(dataSetIds)) {
+            return allModelIdToDataSetIds;
+        }
+        Set<Long> dataSetIdSet = new HashSet<>(dataSetIds);
+        Map<Long, List<Long>> result = new HashMap<>();
+        allModelIdToDataSetIds.forEach((modelId, ids) -> {
+            List<Long> filteredIds = ids.stream().filter(dataSetIdSet::contains).collect(Collectors.toList());
+            if (!filteredIds.isEmpty()) {
+                result.put(modelId, filteredIds);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public Map<Long, List<Long>> getModelIdToDataSetIds() {
+        Map<Long, List<Long>> current = modelIdToDataSetIds;
+        if (current != null) {
+            return current;
+        }
+        long version;
+        synchronized (this) {
+            version = dataSetVersion;
+        }
+        current = loadModelIdToDataSetIds();
+        synchronized (this) {
+            // a data set event during the load makes the loaded mapping outdated
+            if (version == dataSetVersion) {
+                modelIdToDataSetIds = current;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized void refreshModelIdToDataSetIds() {
+        dataSetVersion++;
+        modelIdToDataSetIds = null;
+    }
+
+    private Map<Long, List<Long>> loadModelIdToDataSetIds() {
         MetaFilter metaFilter = new MetaFilter();
         metaFilter.setStatus(StatusEnum.ONLINE.getCode());
-        metaFilter.setIds(dataSetIds);
         List<DataSetResp> dataSetList = getDataSetList(metaFilter);
-        return dataSetList.stream()
+        Map<Long, List<Long>> result = dataSetList.stream()
                 .flatMap(
                         dataSetResp -> dataSetResp.getAllModels().stream().map(modelId ->
                                 Pair.of(modelId, dataSetResp.getId())))
                 .collect(Collectors.groupingBy(Pair::getLeft,
                         Collectors.mapping(Pair::getRight, Collectors.toList())));
+        Map<Long, List<Long>> immutableResult = new HashMap<>();
+        result.forEach((modelId, ids) -> immutableResult.put(modelId, ImmutableList.copyOf(ids)));
+        return ImmutableMap.copyOf(immutableResult);
     }
 
-    @Override
-    public Map<Long, List<Long>> getModelIdToDataSetIds() {
-        return getModelIdToDataSetIds(Lists.newArrayList(), User.getFakeUser());
+    private void sendEvent(DataSetDO dataSetDO, EventType eventType) {
+        DataItem dataItem = DataItem.builder().id(dataSetDO.getId() + Constants.UNDERLINE)
+                .name(dataSetDO.getName()).type(TypeEnums.DATASET).build();
+        eventPublisher.publishEvent(new DataEvent(this, Lists.newArrayList(dataItem), eventType));
     }
 
     private void conflictCheck(DataSetResp dataSetResp) {
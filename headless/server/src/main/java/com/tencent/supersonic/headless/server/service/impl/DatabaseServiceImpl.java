@@ -4,8 +4,12 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.google.common.collect.Lists;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
 import com.tencent.supersonic.common.pojo.Constants;
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.DataItem;
 import com.tencent.supersonic.common.pojo.Pair;
 import com.tencent.supersonic.common.pojo.QueryColumn;
+import com.tencent.supersonic.common.pojo.enums.EventType;
+import com.tencent.supersonic.common.pojo.enums.TypeEnums;
 import com.tencent.supersonic.common.jsqlparser.SqlSelectHelper;
 import com.tencent.supersonic.headless.api.pojo.request.DatabaseReq;
 import com.tencent.supersonic.headless.api.pojo.request.SqlExecuteReq;
@@ -29,6 +33,7 @@ import com.tencent.supersonic.headless.server.utils.DatabaseConverter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -52,6 +57,9 @@ public class DatabaseServiceImpl extends ServiceImpl<DatabaseDOMapper, DatabaseD
     @Autowired
     private ModelService datasourceService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public boolean testConnect(DatabaseReq databaseReq, User user) {
         Database database = DatabaseConverter.convert(databaseReq);
@@ -66,6 +74,7 @@ public class DatabaseServiceImpl extends ServiceImpl<DatabaseDOMapper, DatabaseD
             database.updatedBy(user.getName());
             DatabaseConverter.convert(database, databaseDO);
             updateById(databaseDO);
+            sendEvent(databaseDO.getId());
             return DatabaseConverter.convertWithPassword(databaseDO);
         }
         database.createdBy(user.getName());
@@ -82,6 +91,24 @@ public class DatabaseServiceImpl extends ServiceImpl<DatabaseDOMapper, DatabaseD
         return databaseResps;
     }
 
+    /**
+     * the database is part of the schema of every model on it, update the models so their schemas are rebuilt
+     */
+    private void sendEvent(Long databaseId) {
+        ModelFilter modelFilter = new ModelFilter();
+        modelFilter.setDatabaseId(databaseId);
+        modelFilter.setIncludesDetail(false);
+        List<DataItem> dataItems = datasourceService.getModelList(modelFilter).stream()
+                .map(modelResp -> DataItem.builder().id(modelResp.getId() + Constants.UNDERLINE)
+                        .name(modelResp.getName()).bizName(modelResp.getBizName())
+                        .modelId(modelResp.getId() + Constants.UNDERLINE).type(TypeEnums.MODEL).build())
+                .collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(dataItems)) {
+            return;
+        }
+        eventPublisher.publishEvent(new DataEvent(this, dataItems, EventType.UPDATE));
+    }
+
     private void fillPermission(List<DatabaseResp> databaseResps, User user) {
         databaseResps.forEach(databaseResp -> {
             if (databaseResp.getAdmins().contains(user.getName())
@@ -25,6 +25,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -101,11 +102,12 @@ public class DictTaskServiceImpl implements DictTaskService {
 
         // 2.Change dictionary file
         String fileName = dictItemResp.fetchDictFileName() + Constants.DOT + dictFileType;
+        List<String> oldData = fileHandler.readFile(fileName);
         fileHandler.writeFile(data, fileName, false);
 
         // 3.Change in-memory dictionary data in real time
         try {
-            HanlpHelper.reloadCustomDictionary();
+            updateCustomDictionary(oldData, fileHandler.readFile(fileName));
             dictTaskDO.setStatus(TaskStatusEnum.SUCCESS.getStatus());
             dictRepository.editDictTask(dictTaskDO);
         } catch (IOException e) {
@@ -114,14 +116,27 @@ public class DictTaskServiceImpl implements DictTaskService {
 
     }
 
+    /**
+     * only the words of the changed file are applied, a full reload is the fallback if that fails
+     */
+    private void updateCustomDictionary(List<String> oldData, List<String> newData) throws IOException {
+        try {
+            HanlpHelper.updateCustomDictionary(oldData, newData);
+        } catch (Exception e) {
+            log.error("updateCustomDictionary error, reload all custom dictionaries", e);
+            HanlpHelper.reloadCustomDictionary();
+        }
+    }
+
     @Override
     public Long deleteDictTask(DictSingleTaskReq taskReq, User user) {
         DictItemResp dictItemResp = fetchDictItemResp(taskReq);
         String fileName = dictItemResp.fetchDictFileName() + Constants.DOT + dictFileType;
+        List<String> oldData = fileHandler.readFile(fileName);
         fileHandler.deleteDictFile(fileName);
 
         try {
-            HanlpHelper.reloadCustomDictionary();
+            updateCustomDictionary(oldData, new ArrayList<>());
         } catch (Exception e) {
             log.error("reloadCustomDictionary error", e);
         }
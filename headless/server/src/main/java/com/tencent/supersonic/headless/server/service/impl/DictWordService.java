@@ -9,12 +9,17 @@ import com.tencent.supersonic.headless.chat.knowledge.KnowledgeBaseService;
 import com.tencent.supersonic.headless.chat.knowledge.builder.WordBuilderFactory;
 import com.tencent.supersonic.headless.server.service.SchemaService;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -30,24 +35,43 @@ public class DictWordService {
 
     private List<DictWord> preDictWords = new ArrayList<>();
 
-    public void loadDictWord() {
+    public synchronized void loadDictWord() {
         List<DictWord> dictWords = getAllDictWords();
         setPreDictWords(dictWords);
         knowledgeBaseService.reloadAllData(dictWords);
     }
 
-    public void reloadDictWord() {
+    /**
+     * apply only the words added, removed or changed since the last load,
+     * a word is keyed by its word and nature and changed when its frequency differs
+     */
+    public synchronized void reloadDictWord() {
         long startTime = System.currentTimeMillis();
         List<DictWord> dictWords = getAllDictWords();
-        List<DictWord> preDictWords = getPreDictWords();
-        if (org.apache.commons.collections.CollectionUtils.isEqualCollection(dictWords, preDictWords)) {
+        Map<Pair<String, String>, DictWord> currentWords = getKeyToDictWord(dictWords);
+        Map<Pair<String, String>, DictWord> preWords = getKeyToDictWord(getPreDictWords());
+        List<DictWord> removedWords = preWords.entrySet().stream()
+                .filter(entry -> !currentWords.containsKey(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+        List<DictWord> changedWords = currentWords.entrySet().stream()
+                .filter(entry -> {
+                    DictWord preWord = preWords.get(entry.getKey());
+                    return preWord == null || !Objects.equals(preWord.getNatureWithFrequency(),
+                            entry.getValue().getNatureWithFrequency());
+                })
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+        if (removedWords.isEmpty() && changedWords.isEmpty()) {
             log.debug("Dictionary hasn't been reloaded.");
             return;
         }
         setPreDictWords(dictWords);
-        knowledgeBaseService.updateOnlineKnowledge(getAllDictWords());
+        knowledgeBaseService.removeSemanticKnowledge(removedWords);
+        knowledgeBaseService.updateOnlineKnowledge(changedWords);
         long duration = System.currentTimeMillis() - startTime;
-        log.info("Dictionary has been regularly reloaded in {} milliseconds", duration);
+        log.info("Dictionary has been regularly reloaded in {} milliseconds, removed:{}, added or changed:{}",
+                duration, removedWords.size(), changedWords.size());
     }
 
     public List<DictWord> getAllDictWords() {
@@ -78,6 +102,19 @@ public class DictWordService {
         this.preDictWords = preDictWords;
     }
 
+    /**
+     * the later one wins among the same word and nature, the same as inserting them in order
+     */
+    private Map<Pair<String, String>, DictWord> getKeyToDictWord(List<DictWord> dictWords) {
+        Map<Pair<String, String>, DictWord> keyToDictWord = new LinkedHashMap<>();
+        for (DictWord dictWord : dictWords) {
+            String nature = StringUtils.substringBefore(dictWord.getNatureWithFrequency(), " ");
+            dictWord.setNature(nature);
+            keyToDictWord.put(Pair.of(dictWord.getWord(), nature), dictWord);
+        }
+        return keyToDictWord;
+    }
+
     private List<SchemaElement> distinct(List<SchemaElement> metas) {
         if (CollectionUtils.isEmpty(metas)) {
             return metas;
@@ -150,6 +150,8 @@ public class DimensionServiceImpl extends ServiceImpl<DimensionDOMapper, Dimensi
             sendEvent(DataItem.builder().modelId(dimensionDO.getModelId() + Constants.UNDERLINE)
                     .newName(dimensionReq.getName()).name(oldName).type(TypeEnums.DIMENSION)
                     .id(dimensionDO.getId() + Constants.UNDERLINE).build(), EventType.UPDATE);
+        } else {
+            sendModelUpdateEvent(Lists.newArrayList(dimensionDO));
         }
     }
 
@@ -194,6 +196,7 @@ public class DimensionServiceImpl extends ServiceImpl<DimensionDOMapper, Dimensi
             dimensionDO.setSensitiveLevel(metaBatchReq.getSensitiveLevel());
         }
         updateBatchById(dimensionDOS);
+        sendModelUpdateEvent(dimensionDOS);
     }
 
     @Override
@@ -473,4 +476,19 @@ public class DimensionServiceImpl extends ServiceImpl<DimensionDOMapper, Dimensi
         eventPublisher.publishEvent(new DataEvent(this,
                 Lists.newArrayList(dataItem), eventType));
     }
-}
\ No newline at end of file
+
+    /**
+     * dimensions changed without a rename, e.g. value maps or sensitive levels, the models are updated so that
+     * the schema and query caches are refreshed while the dictionary and embeddings stay untouched
+     */
+    private void sendModelUpdateEvent(List<DimensionDO> dimensionDOS) {
+        List<DataItem> dataItems = dimensionDOS.stream().map(DimensionDO::getModelId).distinct()
+                .map(modelId -> DataItem.builder().id(modelId + Constants.UNDERLINE)
+                        .modelId(modelId + Constants.UNDERLINE).type(TypeEnums.MODEL).build())
+                .collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(dataItems)) {
+            return;
+        }
+        eventPublisher.publishEvent(new DataEvent(this, dataItems, EventType.UPDATE));
+    }
+}
@@ -181,6 +181,8 @@ public class MetricServiceImpl extends ServiceImpl<MetricDOMapper, MetricDO>
             dataItem.setName(oldName);
             dataItem.setNewName(metricDO.getName());
             sendEvent(dataItem, EventType.UPDATE);
+        } else {
+            sendModelUpdateEvent(Lists.newArrayList(metricDO));
         }
         return MetricConverter.convert2MetricResp(metricDO);
     }
@@ -218,6 +220,7 @@ public class MetricServiceImpl extends ServiceImpl<MetricDOMapper, MetricDO>
             metricDO.setUpdatedBy(user.getName());
         }
         metricRepository.batchPublish(metrics);
+        sendModelUpdateEvent(metrics);
     }
 
     @Override
@@ -228,6 +231,7 @@ public class MetricServiceImpl extends ServiceImpl<MetricDOMapper, MetricDO>
             metricDO.setUpdatedBy(user.getName());
         }
         metricRepository.batchUnPublish(metrics);
+        sendModelUpdateEvent(metrics);
     }
 
     @Override
@@ -239,6 +243,7 @@ public class MetricServiceImpl extends ServiceImpl<MetricDOMapper, MetricDO>
             fillClassifications(metaBatchReq, metricDO);
         }
         metricRepository.updateClassificationsBatch(metrics);
+        sendModelUpdateEvent(metrics);
     }
 
     private void fillClassifications(MetaBatchReq metaBatchReq, MetricDO metricDO) {
@@ -272,6 +277,7 @@ public class MetricServiceImpl extends ServiceImpl<MetricDOMapper, MetricDO>
             metricDO.setSensitiveLevel(metaBatchReq.getSensitiveLevel());
         }
         updateBatchById(metrics);
+        sendModelUpdateEvent(metrics);
     }
 
     @Override
@@ -705,6 +711,21 @@ public class MetricServiceImpl extends ServiceImpl<MetricDOMapper, MetricDO>
                 Lists.newArrayList(dataItem), eventType));
     }
 
+    /**
+     * metrics changed without a rename, the models are updated so that the schema and query caches are refreshed
+     * while the dictionary and embeddings keyed by the metric names stay untouched
+     */
+    private void sendModelUpdateEvent(List<MetricDO> metricDOS) {
+        List<DataItem> dataItems = metricDOS.stream().map(MetricDO::getModelId).distinct()
+                .map(modelId -> DataItem.builder().id(modelId + Constants.UNDERLINE)
+                        .modelId(modelId + Constants.UNDERLINE).type(TypeEnums.MODEL).build())
+                .collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(dataItems)) {
+            return;
+        }
+        eventPublisher.publishEvent(new DataEvent(this, dataItems, EventType.UPDATE));
+    }
+
     private DataItem getDataItem(MetricDO metricDO) {
         MetricResp metricResp = MetricConverter.convert2MetricResp(metricDO,
                 new HashMap<>(), Lists.newArrayList());
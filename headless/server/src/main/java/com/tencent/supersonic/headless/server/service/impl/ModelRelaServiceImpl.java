@@ -5,34 +5,49 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.google.common.collect.Lists;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
+import com.tencent.supersonic.common.pojo.Constants;
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.DataItem;
 import com.tencent.supersonic.common.pojo.JoinCondition;
 import com.tencent.supersonic.common.pojo.ModelRela;
+import com.tencent.supersonic.common.pojo.enums.EventType;
+import com.tencent.supersonic.common.pojo.enums.TypeEnums;
 import com.tencent.supersonic.common.util.BeanMapper;
 import com.tencent.supersonic.headless.server.persistence.dataobject.ModelRelaDO;
 import com.tencent.supersonic.headless.server.persistence.mapper.ModelRelaDOMapper;
 import com.tencent.supersonic.headless.server.service.ModelRelaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ModelRelaServiceImpl
         extends ServiceImpl<ModelRelaDOMapper, ModelRelaDO> implements ModelRelaService {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public void save(ModelRela modelRela, User user) {
         modelRela.createdBy(user.getName());
         ModelRelaDO modelRelaDO = convert(modelRela);
         save(modelRelaDO);
+        sendEvent(modelRelaDO);
     }
 
     @Override
     public void update(ModelRela modelRela, User user) {
         modelRela.updatedBy(user.getName());
         ModelRelaDO modelRelaDO = convert(modelRela);
+        ModelRelaDO oldModelRelaDO = getById(modelRelaDO.getId());
         updateById(modelRelaDO);
+        sendEvent(oldModelRelaDO, modelRelaDO);
     }
 
     @Override
@@ -55,7 +70,9 @@ public class ModelRelaServiceImpl
 
     @Override
     public void delete(Long id) {
+        ModelRelaDO modelRelaDO = getById(id);
         removeById(id);
+        sendEvent(modelRelaDO);
     }
 
     private ModelRela convert(ModelRelaDO modelRelaDO) {
@@ -72,4 +89,20 @@ public class ModelRelaServiceImpl
         return modelRelaDO;
     }
 
+    /**
+     * the relations are part of the schema of both models, update the models so their schemas are rebuilt
+     */
+    private void sendEvent(ModelRelaDO... modelRelaDOS) {
+        List<DataItem> dataItems = Stream.of(modelRelaDOS).filter(Objects::nonNull)
+                .flatMap(modelRelaDO -> Stream.of(modelRelaDO.getFromModelId(), modelRelaDO.getToModelId()))
+                .filter(Objects::nonNull).distinct()
+                .map(modelId -> DataItem.builder().id(modelId + Constants.UNDERLINE)
+                        .modelId(modelId + Constants.UNDERLINE).type(TypeEnums.MODEL).build())
+                .collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(dataItems)) {
+            return;
+        }
+        eventPublisher.publishEvent(new DataEvent(this, dataItems, EventType.UPDATE));
+    }
+
 }
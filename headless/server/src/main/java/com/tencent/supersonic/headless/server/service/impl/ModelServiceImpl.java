@@ -3,10 +3,14 @@ package com.tencent.supersonic.headless.server.service.impl;
 import com.google.common.collect.Lists;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
 import com.tencent.supersonic.auth.api.authentication.service.UserService;
+import com.tencent.supersonic.common.pojo.Constants;
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.DataItem;
 import com.tencent.supersonic.common.pojo.ItemDateResp;
 import com.tencent.supersonic.common.pojo.enums.AuthType;
 import com.tencent.supersonic.common.pojo.enums.EventType;
 import com.tencent.supersonic.common.pojo.enums.StatusEnum;
+import com.tencent.supersonic.common.pojo.enums.TypeEnums;
 import com.tencent.supersonic.common.pojo.exception.InvalidArgumentException;
 import com.tencent.supersonic.common.util.JsonUtil;
 import com.tencent.supersonic.headless.api.pojo.Dim;
@@ -43,6 +47,7 @@ import com.tencent.supersonic.headless.server.utils.NameCheckUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -79,6 +84,8 @@ public class ModelServiceImpl implements ModelService {
 
     private DateInfoRepository dateInfoRepository;
 
+    private ApplicationEventPublisher eventPublisher;
+
     public ModelServiceImpl(ModelRepository modelRepository,
                             DatabaseService databaseService,
                             @Lazy DimensionService dimensionService,
@@ -86,7 +93,8 @@ public class ModelServiceImpl implements ModelService {
                             DomainService domainService,
                             UserService userService,
                             DataSetService dataSetService,
-                            DateInfoRepository dateInfoRepository) {
+                            DateInfoRepository dateInfoRepository,
+                            ApplicationEventPublisher eventPublisher) {
         this.modelRepository = modelRepository;
         this.databaseService = databaseService;
         this.dimensionService = dimensionService;
@@ -95,6 +103,7 @@ public class ModelServiceImpl implements ModelService {
         this.userService = userService;
         this.dataSetService = dataSetService;
         this.dateInfoRepository = dateInfoRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -103,6 +112,7 @@ public class ModelServiceImpl implements ModelService {
         checkName(modelReq);
         ModelDO modelDO = ModelConverter.convert(modelReq, user);
         modelRepository.createModel(modelDO);
+        sendEvent(modelDO, EventType.ADD);
         batchCreateDimension(modelDO, user);
         batchCreateMetric(modelDO, user);
         return ModelConverter.convert(modelDO);
@@ -117,6 +127,7 @@ public class ModelServiceImpl implements ModelService {
         modelRepository.updateModel(modelDO);
         batchCreateDimension(modelDO, user);
         batchCreateMetric(modelDO, user);
+        sendEvent(modelDO, EventType.UPDATE);
         return ModelConverter.convert(modelDO);
     }
 
@@ -154,6 +165,7 @@ public class ModelServiceImpl implements ModelService {
         datasourceDO.setUpdatedAt(new Date());
         datasourceDO.setUpdatedBy(user.getName());
         modelRepository.updateModel(datasourceDO);
+        sendEvent(datasourceDO, EventType.DELETE);
     }
 
     @Override
@@ -419,6 +431,15 @@ public class ModelServiceImpl implements ModelService {
                 })
                 .collect(Collectors.toList());
         modelRepository.batchUpdate(modelDOS);
+        modelDOS.forEach(modelDO -> sendEvent(modelDO, EventType.UPDATE));
+    }
+
+    private void sendEvent(ModelDO modelDO, EventType eventType) {
+        DataItem dataItem = DataItem.builder().id(modelDO.getId() + Constants.UNDERLINE)
+                .name(modelDO.getName()).bizName(modelDO.getBizName())
+                .modelId(modelDO.getId() + Constants.UNDERLINE)
+                .type(TypeEnums.MODEL).build();
+        eventPublisher.publishEvent(new DataEvent(this, Lists.newArrayList(dataItem), eventType));
     }
 
     protected ModelDO getModelDO(Long id) {
@@ -1,7 +1,7 @@
 package com.tencent.supersonic.headless.server.service.impl;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Lists;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
 import com.tencent.supersonic.common.pojo.ItemDateResp;
@@ -57,6 +57,7 @@ import com.tencent.supersonic.headless.server.utils.MetricConverter;
 import com.tencent.supersonic.headless.server.utils.StatUtils;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -64,12 +65,16 @@ import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static com.tencent.supersonic.common.pojo.Constants.AT_SYMBOL;
@@ -78,14 +83,33 @@ import static com.tencent.supersonic.common.pojo.Constants.AT_SYMBOL;
 @Service
 public class SchemaServiceImpl implements SchemaService {
 
+    private static final int SCHEMA_CACHE_SIZE = 1000;
+
     protected final Cache<String, List<ItemUseResp>> itemUseCache =
-            CacheBuilder.newBuilder().expireAfterWrite(1, TimeUnit.DAYS).build();
+            Caffeine.newBuilder().expireAfterWrite(1, TimeUnit.DAYS).build();
+
+    /**
+     * schemas are keyed by the schema version they were built from and never expire by time,
+     * a DataEvent increases the version and every cached schema becomes unreachable at once
+     */
+    protected final Cache<Pair<Long, DataSetFilterReq>, List<DataSetSchemaResp>> dataSetSchemaCache =
+            Caffeine.newBuilder().maximumSize(SCHEMA_CACHE_SIZE).build();
+
+    protected final Cache<Pair<Long, SchemaFilterReq>, SemanticSchemaResp> semanticSchemaCache =
+            Caffeine.newBuilder().maximumSize(SCHEMA_CACHE_SIZE).build();
+
+    private final AtomicLong schemaVersion = new AtomicLong();
 
-    protected final Cache<DataSetFilterReq, List<DataSetSchemaResp>> dataSetSchemaCache =
-            CacheBuilder.newBuilder().expireAfterWrite(30, TimeUnit.SECONDS).build();
+    /**
+     * the semantic schema of all data sets is kept as one fragment per data set, an event only
+     * rebuilds the fragments of the data sets it touches and the other fragments are reused.
+     * the fragments are read only and shared by every semantic schema handed out
+     */
+    private volatile Map<Long, DataSetSchema> dataSetSchemaFragments;
 
-    protected final Cache<SchemaFilterReq, SemanticSchemaResp> semanticSchemaCache =
-            CacheBuilder.newBuilder().expireAfterWrite(30, TimeUnit.SECONDS).build();
+    private volatile boolean semanticSchemaStale = true;
+
+    private final Set<Long> staleDataSetIds = ConcurrentHashMap.newKeySet();
 
     private final StatUtils statUtils;
     private final ModelService modelService;
@@ -122,13 +146,15 @@ public class SchemaServiceImpl implements SchemaService {
     }
 
     public List<DataSetSchemaResp> fetchDataSetSchema(DataSetFilterReq filter) {
-        List<DataSetSchemaResp> dataSetList = Lists.newArrayList();
-        if (schemaCacheEnable) {
-            dataSetList = dataSetSchemaCache.getIfPresent(filter);
+        if (!schemaCacheEnable) {
+            return buildDataSetSchema(filter);
         }
+        // capture the version before building, a schema built while an event arrives is cached as stale
+        Pair<Long, DataSetFilterReq> cacheKey = Pair.of(schemaVersion.get(), filter);
+        List<DataSetSchemaResp> dataSetList = dataSetSchemaCache.getIfPresent(cacheKey);
         if (CollectionUtils.isEmpty(dataSetList)) {
             dataSetList = buildDataSetSchema(filter);
-            dataSetSchemaCache.put(filter, dataSetList);
+            dataSetSchemaCache.put(cacheKey, dataSetList);
         }
         return dataSetList;
     }
@@ -174,7 +200,39 @@ public class SchemaServiceImpl implements SchemaService {
 
     @Override
     public SemanticSchema getSemanticSchema() {
-        return new SemanticSchema(getDataSetSchema(new ArrayList<>()));
+        if (!schemaCacheEnable) {
+            return new SemanticSchema(getDataSetSchema(new ArrayList<>()));
+        }
+        Map<Long, DataSetSchema> fragments = dataSetSchemaFragments;
+        if (fragments == null || semanticSchemaStale || !staleDataSetIds.isEmpty()) {
+            fragments = rebuildDataSetSchemaFragments();
+        }
+        return new SemanticSchema(new ArrayList<>(fragments.values()));
+    }
+
+    private synchronized Map<Long, DataSetSchema> rebuildDataSetSchemaFragments() {
+        if (dataSetSchemaFragments != null && !semanticSchemaStale && staleDataSetIds.isEmpty()) {
+            return dataSetSchemaFragments;
+        }
+        // reset the marks before building, events that arrive during the build are picked up by the next call
+        Map<Long, DataSetSchema> fragments;
+        DataSetFilterReq filter = new DataSetFilterReq();
+        if (semanticSchemaStale || dataSetSchemaFragments == null) {
+            semanticSchemaStale = false;
+            staleDataSetIds.clear();
+            fragments = new TreeMap<>();
+        } else {
+            List<Long> dataSetIds = new ArrayList<>(staleDataSetIds);
+            staleDataSetIds.removeAll(dataSetIds);
+            fragments = new TreeMap<>(dataSetSchemaFragments);
+            dataSetIds.forEach(fragments::remove);
+            filter.setDataSetIds(dataSetIds);
+        }
+        for (DataSetSchemaResp dataSetSchemaResp : buildDataSetSchema(filter)) {
+            fragments.put(dataSetSchemaResp.getId(), DataSetSchemaBuilder.build(dataSetSchemaResp).readOnly());
+        }
+        dataSetSchemaFragments = Collections.unmodifiableMap(fragments);
+        return dataSetSchemaFragments;
     }
 
     public List<DataSetSchemaResp> buildDataSetSchema(DataSetFilterReq filter) {
@@ -354,7 +412,12 @@ public class SchemaServiceImpl implements SchemaService {
     }
 
     public SemanticSchemaResp buildSemanticSchema(SchemaFilterReq schemaFilterReq) {
+        return buildSemanticSchema(schemaFilterReq, schemaVersion.get());
+    }
+
+    private SemanticSchemaResp buildSemanticSchema(SchemaFilterReq schemaFilterReq, long version) {
         SemanticSchemaResp semanticSchemaResp = new SemanticSchemaResp();
+        semanticSchemaResp.setSchemaVersion(version);
         semanticSchemaResp.setDataSetId(schemaFilterReq.getDataSetId());
         semanticSchemaResp.setModelIds(schemaFilterReq.getModelIds());
         if (schemaFilterReq.getDataSetId() != null) {
@@ -397,26 +460,37 @@ public class SchemaServiceImpl implements SchemaService {
 
     @Override
     public SemanticSchemaResp fetchSemanticSchema(SchemaFilterReq schemaFilterReq) {
-        SemanticSchemaResp semanticSchemaResp = null;
-        if (schemaCacheEnable) {
-            semanticSchemaResp = semanticSchemaCache.getIfPresent(schemaFilterReq);
-        }
-        if (semanticSchemaResp == null) {
-            semanticSchemaResp = buildSemanticSchema(schemaFilterReq);
-            semanticSchemaCache.put(schemaFilterReq, semanticSchemaResp);
+        if (!schemaCacheEnable) {
+            return buildSemanticSchema(schemaFilterReq);
         }
-        return semanticSchemaResp;
+        long version = schemaVersion.get();
+        return semanticSchemaCache.get(Pair.of(version, schemaFilterReq),
+                key -> buildSemanticSchema(schemaFilterReq, version));
+    }
+
+    @Override
+    public void refreshSchemaCache() {
+        semanticSchemaStale = true;
+        invalidateSchemaCache();
+    }
+
+    @Override
+    public void refreshSchemaCache(Collection<Long> dataSetIds) {
+        staleDataSetIds.addAll(dataSetIds);
+        invalidateSchemaCache();
+    }
+
+    private void invalidateSchemaCache() {
+        schemaVersion.incrementAndGet();
+        dataSetSchemaCache.invalidateAll();
+        semanticSchemaCache.invalidateAll();
     }
 
     @SneakyThrows
     @Override
     public List<ItemUseResp> getStatInfo(ItemUseReq itemUseReq) {
         if (itemUseReq.getCacheEnable()) {
-            return itemUseCache.get(JsonUtil.toString(itemUseReq), () -> {
-                List<ItemUseResp> data = statUtils.getStatInfo(itemUseReq);
-                itemUseCache.put(JsonUtil.toString(itemUseReq), data);
-                return data;
-            });
+            return itemUseCache.get(JsonUtil.toString(itemUseReq), key -> statUtils.getStatInfo(itemUseReq));
         }
         return statUtils.getStatInfo(itemUseReq);
     }
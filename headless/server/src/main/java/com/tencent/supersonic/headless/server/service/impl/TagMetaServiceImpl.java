@@ -4,7 +4,11 @@ import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.PageInfo;
 import com.google.common.collect.Lists;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
+import com.tencent.supersonic.common.pojo.Constants;
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.DataItem;
 import com.tencent.supersonic.common.pojo.enums.AuthType;
+import com.tencent.supersonic.common.pojo.enums.EventType;
 import com.tencent.supersonic.common.pojo.enums.TypeEnums;
 import com.tencent.supersonic.headless.api.pojo.SchemaElementType;
 import com.tencent.supersonic.headless.api.pojo.enums.TagDefineType;
@@ -34,6 +38,7 @@ import com.tencent.supersonic.headless.server.service.CollectService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
@@ -57,11 +62,12 @@ public class TagMetaServiceImpl implements TagMetaService {
     private final MetricService metricService;
     private final TagObjectService tagObjectService;
     private final DomainService domainService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TagMetaServiceImpl(TagRepository tagRepository, ModelService modelService,
                               CollectService collectService, @Lazy DimensionService dimensionService,
                               @Lazy MetricService metricService, TagObjectService tagObjectService,
-                              DomainService domainService) {
+                              DomainService domainService, ApplicationEventPublisher eventPublisher) {
         this.tagRepository = tagRepository;
         this.modelService = modelService;
         this.collectService = collectService;
@@ -69,6 +75,7 @@ public class TagMetaServiceImpl implements TagMetaService {
         this.metricService = metricService;
         this.tagObjectService = tagObjectService;
         this.domainService = domainService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -83,7 +90,9 @@ public class TagMetaServiceImpl implements TagMetaService {
         tagDO.setUpdatedBy(user.getName());
         tagDO.setUpdatedAt(date);
         tagRepository.create(tagDO);
-        return getTag(tagDO.getId(), user);
+        TagResp tagResp = getTag(tagDO.getId(), user);
+        sendEvent(Lists.newArrayList(getDataItem(tagDO.getId(), tagResp.getModelId())), EventType.ADD);
+        return tagResp;
     }
 
     @Override
@@ -101,18 +110,23 @@ public class TagMetaServiceImpl implements TagMetaService {
     @Override
     public Boolean delete(Long id, User user) {
         tagRepository.delete(id);
+        sendEvent(Lists.newArrayList(getDataItem(id, null)), EventType.DELETE);
         return true;
     }
 
     @Override
     public Boolean deleteBatch(List<TagDeleteReq> tagDeleteReqList, User user) {
+        List<DataItem> dataItems = new ArrayList<>();
         for (TagDeleteReq tagDeleteReq : tagDeleteReqList) {
             try {
+                List<Long> tagIds = getTagIds(tagDeleteReq);
                 tagRepository.deleteBatch(tagDeleteReq);
+                tagIds.forEach(tagId -> dataItems.add(getDataItem(tagId, null)));
             } catch (Exception e) {
                 log.warn("createBatch, e:{}", e);
             }
         }
+        sendEvent(dataItems, EventType.DELETE);
         return true;
     }
 
@@ -401,4 +415,31 @@ public class TagMetaServiceImpl implements TagMetaService {
                 }
         ).collect(Collectors.toList());
     }
+
+    private List<Long> getTagIds(TagDeleteReq tagDeleteReq) {
+        List<Long> tagIds = new ArrayList<>();
+        if (CollectionUtils.isNotEmpty(tagDeleteReq.getIds())) {
+            tagIds.addAll(tagDeleteReq.getIds());
+        }
+        if (Objects.nonNull(tagDeleteReq.getTagDefineType()) && CollectionUtils.isNotEmpty(tagDeleteReq.getItemIds())) {
+            TagFilter tagFilter = new TagFilter();
+            tagFilter.setTagDefineType(tagDeleteReq.getTagDefineType());
+            tagFilter.setItemIds(tagDeleteReq.getItemIds());
+            getTagDOList(tagFilter).forEach(tagDO -> tagIds.add(tagDO.getId()));
+        }
+        return tagIds;
+    }
+
+    private DataItem getDataItem(Long tagId, Long modelId) {
+        return DataItem.builder().id(tagId + Constants.UNDERLINE)
+                .modelId(Objects.isNull(modelId) ? null : modelId + Constants.UNDERLINE)
+                .type(TypeEnums.TAG).build();
+    }
+
+    private void sendEvent(List<DataItem> dataItems, EventType eventType) {
+        if (CollectionUtils.isEmpty(dataItems)) {
+            return;
+        }
+        eventPublisher.publishEvent(new DataEvent(this, dataItems, eventType));
+    }
 }
@@ -2,7 +2,13 @@ package com.tencent.supersonic.headless.server.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.google.common.collect.Lists;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
+import com.tencent.supersonic.common.pojo.Constants;
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.common.pojo.DataItem;
+import com.tencent.supersonic.common.pojo.enums.EventType;
+import com.tencent.supersonic.common.pojo.enums.TypeEnums;
 import com.tencent.supersonic.common.util.BeanMapper;
 import com.tencent.supersonic.common.util.JsonUtil;
 import com.tencent.supersonic.headless.api.pojo.request.TermReq;
@@ -10,6 +16,8 @@ import com.tencent.supersonic.headless.api.pojo.response.TermResp;
 import com.tencent.supersonic.headless.server.persistence.dataobject.TermDO;
 import com.tencent.supersonic.headless.server.persistence.mapper.TermMapper;
 import com.tencent.supersonic.headless.server.service.TermService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -23,6 +31,9 @@ import java.util.stream.Collectors;
 @Service
 public class TermServiceImpl extends ServiceImpl<TermMapper, TermDO> implements TermService {
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public void saveOrUpdate(TermReq termReq, User user) {
         QueryWrapper<TermDO> queryWrapper = new QueryWrapper<>();
@@ -35,11 +46,16 @@ public class TermServiceImpl extends ServiceImpl<TermMapper, TermDO> implements
         termReq.updatedBy(user.getName());
         convert(termReq, termSetDO);
         saveOrUpdate(termSetDO);
+        sendEvent(termSetDO, EventType.UPDATE);
     }
 
     @Override
     public void delete(Long id) {
+        TermDO termDO = getById(id);
         removeById(id);
+        if (termDO != null) {
+            sendEvent(termDO, EventType.DELETE);
+        }
     }
 
     @Override
@@ -78,4 +94,12 @@ public class TermServiceImpl extends ServiceImpl<TermMapper, TermDO> implements
         termDO.setRelatedMetrics(JsonUtil.toString(termReq.getRelatedMetrics()));
     }
 
+    /**
+     * terms are part of the data set schemas of their domain
+     */
+    private void sendEvent(TermDO termDO, EventType eventType) {
+        DataItem dataItem = DataItem.builder().id(termDO.getDomainId() + Constants.UNDERLINE)
+                .name(termDO.getName()).type(TypeEnums.DOMAIN).build();
+        eventPublisher.publishEvent(new DataEvent(this, Lists.newArrayList(dataItem), eventType));
+    }
 }
@@ -6,7 +6,6 @@ import com.tencent.supersonic.common.pojo.enums.TimeDimensionEnum;
 import com.tencent.supersonic.headless.api.pojo.enums.SemanticType;
 import com.tencent.supersonic.headless.api.pojo.request.QueryMultiStructReq;
 import com.tencent.supersonic.headless.api.pojo.response.DimSchemaResp;
-import com.tencent.supersonic.headless.api.pojo.response.MetricResp;
 import com.tencent.supersonic.headless.api.pojo.response.MetricSchemaResp;
 import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
 import com.tencent.supersonic.headless.api.pojo.response.SemanticSchemaResp;
@@ -19,10 +18,8 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -36,9 +33,12 @@ import static com.tencent.supersonic.common.pojo.Constants.UNIONALL;
 @Component
 public class QueryUtils {
 
-    private static final String pattern = "\\(`(.*?)`\\)";
+    private static final Pattern QUOTATION_PATTERN = Pattern.compile("\\(`(.*?)`\\)");
 
-    private static final String no_quotation_pattern = "\\((.*?)\\)";
+    private static final Pattern NO_QUOTATION_PATTERN = Pattern.compile("\\((.*?)\\)");
+
+    private static final Set<String> SYS_TIME_DIMENSIONS = Arrays.stream(TimeDimensionEnum.values())
+            .map(TimeDimensionEnum::getName).collect(Collectors.toSet());
 
     private final Set<Pattern> patterns = new HashSet<>();
 
@@ -54,49 +54,45 @@ public class QueryUtils {
         }
     }
 
+    /**
+     * fill the column names and types through the bizName indexes of the schema,
+     * the cost grows with the result columns rather than with the size of the schema
+     */
     public void fillItemNameInfo(SemanticQueryResp semanticQueryResp, SemanticSchemaResp semanticSchemaResp) {
-        List<MetricSchemaResp> metricDescList = semanticSchemaResp.getMetrics();
-        List<DimSchemaResp> dimSchemaResps = semanticSchemaResp.getDimensions();
-        Map<String, MetricResp> metricRespMap =
-                metricDescList.stream().collect(Collectors.toMap(MetricResp::getBizName, a -> a, (k1, k2) -> k1));
-        Map<String, String> namePair = new HashMap<>();
-        Map<String, String> nameTypePair = new HashMap<>();
-        addSysTimeDimension(namePair, nameTypePair);
-        metricDescList.forEach(metricDesc -> {
-            namePair.put(metricDesc.getBizName(), metricDesc.getName());
-            nameTypePair.put(metricDesc.getBizName(), SemanticType.NUMBER.name());
-        });
-        dimSchemaResps.forEach(dimensionDesc -> {
-            namePair.put(dimensionDesc.getBizName(), dimensionDesc.getName());
-            nameTypePair.put(dimensionDesc.getBizName(), dimensionDesc.getSemanticType());
-        });
         List<QueryColumn> columns = semanticQueryResp.getColumns();
         columns.forEach(column -> {
             String nameEn = getName(column.getNameEn().toLowerCase());
             if (nameEn.contains(JOIN_UNDERLINE)) {
                 nameEn = nameEn.split(JOIN_UNDERLINE)[1];
             }
-            if (namePair.containsKey(nameEn)) {
-                column.setName(namePair.get(nameEn));
+            DimSchemaResp dimension = semanticSchemaResp.getDimension(nameEn);
+            MetricSchemaResp metric = semanticSchemaResp.getMetric(nameEn);
+            String name = getItemName(semanticSchemaResp, nameEn);
+            if (name != null) {
+                column.setName(name);
             } else {
-                String nameEnByRegex = getNameEnByRegex(nameEn, pattern);
+                String nameEnByRegex = getNameEnByRegex(nameEn, QUOTATION_PATTERN);
                 if (StringUtils.isEmpty(nameEnByRegex)) {
-                    nameEnByRegex = getNameEnByRegex(nameEn, no_quotation_pattern);
+                    nameEnByRegex = getNameEnByRegex(nameEn, NO_QUOTATION_PATTERN);
                 }
-                if (StringUtils.isNotEmpty(nameEnByRegex) && StringUtils.isNotEmpty(namePair.get(nameEnByRegex))) {
-                    String filedName = namePair.get(nameEnByRegex);
-                    column.setName(nameEn.replaceAll(nameEnByRegex, filedName));
+                String filedName = StringUtils.isEmpty(nameEnByRegex) ? null
+                        : getItemName(semanticSchemaResp, nameEnByRegex);
+                if (StringUtils.isNotEmpty(filedName)) {
+                    column.setName(StringUtils.replace(nameEn, nameEnByRegex, filedName));
                 }
             }
-            if (nameTypePair.containsKey(nameEn)) {
-                column.setShowType(nameTypePair.get(nameEn));
-            }
-            if (!nameTypePair.containsKey(nameEn) && isNumberType(column.getType())) {
+            if (dimension != null) {
+                column.setShowType(dimension.getSemanticType());
+            } else if (metric != null) {
+                column.setShowType(SemanticType.NUMBER.name());
+            } else if (SYS_TIME_DIMENSIONS.contains(nameEn)) {
+                column.setShowType("DATE");
+            } else if (isNumberType(column.getType())) {
                 column.setShowType(SemanticType.NUMBER.name());
             }
-            if (metricRespMap.containsKey(nameEn)) {
-                column.setDataFormatType(metricRespMap.get(nameEn).getDataFormatType());
-                column.setDataFormat(metricRespMap.get(nameEn).getDataFormat());
+            if (metric != null) {
+                column.setDataFormatType(metric.getDataFormatType());
+                column.setDataFormat(metric.getDataFormat());
             }
             if (StringUtils.isEmpty(column.getShowType())) {
                 column.setShowType(SemanticType.CATEGORY.name());
@@ -104,22 +100,36 @@ public class QueryUtils {
         });
     }
 
+    /**
+     * dimensions take precedence over metrics and metrics over the system time dimensions
+     */
+    private String getItemName(SemanticSchemaResp semanticSchemaResp, String bizName) {
+        DimSchemaResp dimension = semanticSchemaResp.getDimension(bizName);
+        if (dimension != null) {
+            return dimension.getName();
+        }
+        MetricSchemaResp metric = semanticSchemaResp.getMetric(bizName);
+        if (metric != null) {
+            return metric.getName();
+        }
+        if (SYS_TIME_DIMENSIONS.contains(bizName)) {
+            return "date";
+        }
+        return null;
+    }
+
     private String getName(String nameEn) {
-        Pattern pattern = Pattern.compile("\\((.*?)\\)");
-        Matcher matcher = pattern.matcher(nameEn);
+        Matcher matcher = NO_QUOTATION_PATTERN.matcher(nameEn);
         if (matcher.find()) {
             return matcher.group(1).replaceAll("`", "");
         }
         return nameEn;
     }
 
-    private String getNameEnByRegex(String nameEn, String pattern) {
-        Pattern p = Pattern.compile(pattern);
-        Matcher m = p.matcher(nameEn);
-
+    private String getNameEnByRegex(String nameEn, Pattern pattern) {
+        Matcher m = pattern.matcher(nameEn);
         if (m.find()) {
-            String result = m.group(1);
-            return result;
+            return m.group(1);
         }
         return null;
     }
@@ -138,13 +148,6 @@ public class QueryUtils {
         return false;
     }
 
-    private static void addSysTimeDimension(Map<String, String> namePair, Map<String, String> nameTypePair) {
-        for (TimeDimensionEnum timeDimensionEnum : TimeDimensionEnum.values()) {
-            namePair.put(timeDimensionEnum.getName(), "date");
-            nameTypePair.put(timeDimensionEnum.getName(), "DATE");
-        }
-    }
-
     public QueryStatement sqlParserUnion(QueryMultiStructReq queryMultiStructCmd, List<QueryStatement> sqlParsers) {
         QueryStatement sqlParser = new QueryStatement();
         StringBuilder unionSqlBuilder = new StringBuilder();
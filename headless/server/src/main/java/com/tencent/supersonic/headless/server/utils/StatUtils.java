@@ -5,6 +5,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
 import com.tencent.supersonic.common.jsqlparser.SqlSelectHelper;
+import com.tencent.supersonic.common.pojo.Aggregator;
+import com.tencent.supersonic.common.pojo.Filter;
+import com.tencent.supersonic.common.pojo.Order;
 import com.tencent.supersonic.common.pojo.enums.TaskStatusEnum;
 import com.tencent.supersonic.common.util.SqlFilterUtils;
 import com.tencent.supersonic.headless.api.pojo.QueryStat;
@@ -20,66 +23,176 @@ import com.tencent.supersonic.headless.api.pojo.request.QueryTagReq;
 import com.tencent.supersonic.headless.api.pojo.request.SemanticQueryReq;
 import com.tencent.supersonic.headless.api.pojo.response.ItemUseResp;
 import com.tencent.supersonic.headless.server.persistence.repository.StatRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
-;
-
-
 @Component
 @Slf4j
 public class StatUtils {
 
-    private static final TransmittableThreadLocal<QueryStat> STATS = new TransmittableThreadLocal<>();
+    private static final TransmittableThreadLocal<StatRecord> STATS = new TransmittableThreadLocal<>();
+    private static final int DROP_LOG_INTERVAL = 1000;
+    private static final long POLL_TIMEOUT_MS = 1000L;
     private final StatRepository statRepository;
     private final SqlFilterUtils sqlFilterUtils;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<StatRecord> statQueue;
+    private final int batchSize;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread statWriter;
+    private volatile boolean running = true;
 
     public StatUtils(StatRepository statRepository,
-            SqlFilterUtils sqlFilterUtils) {
+            SqlFilterUtils sqlFilterUtils,
+            @Value("${s2.stat.queue.capacity:10000}") int queueCapacity,
+            @Value("${s2.stat.batch.size:100}") int batchSize) {
 
         this.statRepository = statRepository;
         this.sqlFilterUtils = sqlFilterUtils;
+        this.statQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.statWriter = new Thread(this::writeStats, "s2-stat-writer");
+        this.statWriter.setDaemon(true);
+        this.statWriter.start();
     }
 
     public static QueryStat get() {
-        return STATS.get();
+        StatRecord statRecord = STATS.get();
+        return Objects.isNull(statRecord) ? null : statRecord.getQueryStat();
     }
 
     public static void set(QueryStat queryStatInfo) {
-        STATS.set(queryStatInfo);
+        set(queryStatInfo, stat -> {
+        });
+    }
+
+    private static void set(QueryStat queryStatInfo, StatFiller statFiller) {
+        STATS.set(new StatRecord(queryStatInfo, statFiller));
     }
 
     public static void remove() {
         STATS.remove();
     }
 
+    /**
+     * hand the stat of the current query to the stat writer, the query never waits for the
+     * metadata database, the stat is dropped and counted if the queue is full
+     */
     public void statInfo2DbAsync(TaskStatusEnum state) {
-        QueryStat queryStatInfo = get();
+        StatRecord statRecord = STATS.get();
+        if (Objects.isNull(statRecord)) {
+            return;
+        }
+        QueryStat queryStatInfo = statRecord.getQueryStat();
         queryStatInfo.setElapsedMs(System.currentTimeMillis() - queryStatInfo.getStartTime());
         queryStatInfo.setQueryState(state.getStatus());
-        CompletableFuture.runAsync(() -> {
-            statRepository.createRecord(queryStatInfo);
-        }).exceptionally(exception -> {
-            log.warn("queryStatInfo, exception:", exception);
-            return null;
-        });
+        if (!statQueue.offer(statRecord)) {
+            long dropped = droppedCount.incrementAndGet();
+            if (dropped % DROP_LOG_INTERVAL == 1) {
+                log.warn("stat queue is full, {} query stats dropped so far", dropped);
+            }
+        }
 
         remove();
     }
 
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        statWriter.interrupt();
+        try {
+            statWriter.join(POLL_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeStats() {
+        List<StatRecord> batch = new ArrayList<>(batchSize);
+        while (running || !statQueue.isEmpty()) {
+            try {
+                StatRecord statRecord = running ? statQueue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                        : statQueue.poll();
+                if (Objects.isNull(statRecord)) {
+                    continue;
+                }
+                batch.add(statRecord);
+                statQueue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (Exception e) {
+                log.warn("write query stats failed, {} stats lost", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<StatRecord> batch) {
+        List<QueryStat> queryStats = new ArrayList<>(batch.size());
+        for (StatRecord statRecord : batch) {
+            try {
+                statRecord.getStatFiller().fill(statRecord.getQueryStat());
+            } catch (Exception e) {
+                log.warn("fill queryStatInfo, exception:", e);
+            }
+            queryStats.add(statRecord.getQueryStat());
+        }
+        try {
+            statRepository.batchCreateRecord(queryStats);
+        } catch (Exception e) {
+            log.warn("batch write {} query stats failed, retry one by one", queryStats.size(), e);
+            writeOneByOne(queryStats);
+        }
+    }
+
+    /**
+     * a failed batch is retried stat by stat, so one bad stat does not lose the whole batch,
+     * the stats that still fail are counted as dropped
+     */
+    private void writeOneByOne(List<QueryStat> queryStats) {
+        int failed = 0;
+        for (QueryStat queryStat : queryStats) {
+            try {
+                if (Boolean.FALSE.equals(statRepository.createRecord(queryStat))) {
+                    failed++;
+                }
+            } catch (Exception e) {
+                log.debug("write query stat failed, queryStat:{}", queryStat, e);
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            long dropped = droppedCount.addAndGet(failed);
+            log.warn("{} query stats failed to write, {} query stats dropped so far", failed, dropped);
+        }
+    }
+
     public Boolean updateResultCacheKey(String key) {
-        STATS.get().setResultCacheKey(key);
+        get().setResultCacheKey(key);
         return true;
     }
 
@@ -99,111 +212,105 @@ public class StatUtils {
         }
     }
 
+    /**
+     * only cheap fields are set in the query thread, the request is snapshotted and the md5, json and
+     * sql parsing work is done by the stat writer
+     */
     public void initTagStatInfo(QueryTagReq queryTagReq, User facadeUser) {
         QueryStat queryStatInfo = new QueryStat();
         String traceId = "";
-        List<String> dimensions = queryTagReq.getGroups();
-
-        List<String> metrics = new ArrayList<>();
-        queryTagReq.getAggregators().stream().forEach(aggregator -> metrics.add(aggregator.getColumn()));
+        List<String> dimensions = copy(queryTagReq.getGroups());
+        List<Aggregator> aggregators = copy(queryTagReq.getAggregators());
+        List<Order> orders = copy(queryTagReq.getOrders());
+        List<Filter> filters = copy(queryTagReq.getTagFilters());
         String user = getUserName(facadeUser);
 
-        try {
-            queryStatInfo.setTraceId(traceId)
-                    .setDataSetId(queryTagReq.getDataSetId())
-                    .setUser(user)
-                    .setQueryType(QueryMethod.STRUCT.getValue())
-                    .setQueryTypeBack(QueryTypeBack.NORMAL.getState())
-                    .setQueryStructCmd(queryTagReq.toString())
-                    .setQueryStructCmdMd5(DigestUtils.md5Hex(queryTagReq.toString()))
-                    .setStartTime(System.currentTimeMillis())
-                    .setNativeQuery(CollectionUtils.isEmpty(queryTagReq.getAggregators()))
-                    .setGroupByCols(objectMapper.writeValueAsString(queryTagReq.getGroups()))
-                    .setAggCols(objectMapper.writeValueAsString(queryTagReq.getAggregators()))
-                    .setOrderByCols(objectMapper.writeValueAsString(queryTagReq.getOrders()))
-                    .setFilterCols(objectMapper.writeValueAsString(
-                            sqlFilterUtils.getFiltersCol(queryTagReq.getTagFilters())))
-                    .setUseResultCache(true)
-                    .setUseSqlCache(true)
-                    .setMetrics(objectMapper.writeValueAsString(metrics))
-                    .setDimensions(objectMapper.writeValueAsString(dimensions))
-                    .setQueryOptMode(QueryOptMode.NONE.name());
-            if (!CollectionUtils.isEmpty(queryTagReq.getModelIds())) {
-                queryStatInfo.setModelId(queryTagReq.getModelIds().get(0));
-            }
-        } catch (JsonProcessingException e) {
-            log.error("", e);
+        queryStatInfo.setTraceId(traceId)
+                .setDataSetId(queryTagReq.getDataSetId())
+                .setUser(user)
+                .setQueryType(QueryMethod.STRUCT.getValue())
+                .setQueryTypeBack(QueryTypeBack.NORMAL.getState())
+                .setQueryStructCmd(queryTagReq.toString())
+                .setStartTime(System.currentTimeMillis())
+                .setNativeQuery(CollectionUtils.isEmpty(aggregators))
+                .setUseResultCache(true)
+                .setUseSqlCache(true)
+                .setQueryOptMode(QueryOptMode.NONE.name());
+        if (!CollectionUtils.isEmpty(queryTagReq.getModelIds())) {
+            queryStatInfo.setModelId(queryTagReq.getModelIds().get(0));
         }
-        StatUtils.set(queryStatInfo);
-
+        set(queryStatInfo, stat -> fillStructStatInfo(stat, dimensions, aggregators, orders, filters));
     }
 
     public void initSqlStatInfo(QuerySqlReq querySqlReq, User facadeUser) {
         QueryStat queryStatInfo = new QueryStat();
-        List<String> aggFields = SqlSelectHelper.getAggregateFields(querySqlReq.getSql());
-        List<String> allFields = SqlSelectHelper.getAllFields(querySqlReq.getSql());
-        List<String> dimensions = allFields.stream().filter(aggFields::contains).collect(Collectors.toList());
-
+        String sql = querySqlReq.getSql();
         String userName = getUserName(facadeUser);
-        try {
-            queryStatInfo.setTraceId("")
-                    .setUser(userName)
-                    .setDataSetId(querySqlReq.getDataSetId())
-                    .setQueryType(QueryMethod.SQL.getValue())
-                    .setQueryTypeBack(QueryTypeBack.NORMAL.getState())
-                    .setQuerySqlCmd(querySqlReq.toString())
-                    .setQuerySqlCmdMd5(DigestUtils.md5Hex(querySqlReq.toString()))
-                    .setStartTime(System.currentTimeMillis())
-                    .setUseResultCache(true)
-                    .setUseSqlCache(true)
-                    .setMetrics(objectMapper.writeValueAsString(aggFields))
-                    .setDimensions(objectMapper.writeValueAsString(dimensions));
-            if (!CollectionUtils.isEmpty(querySqlReq.getModelIds())) {
-                queryStatInfo.setModelId(querySqlReq.getModelIds().get(0));
-            }
-        } catch (JsonProcessingException e) {
-            log.error("initStatInfo:{}", e);
+        queryStatInfo.setTraceId("")
+                .setUser(userName)
+                .setDataSetId(querySqlReq.getDataSetId())
+                .setQueryType(QueryMethod.SQL.getValue())
+                .setQueryTypeBack(QueryTypeBack.NORMAL.getState())
+                .setQuerySqlCmd(querySqlReq.toString())
+                .setStartTime(System.currentTimeMillis())
+                .setUseResultCache(true)
+                .setUseSqlCache(true);
+        if (!CollectionUtils.isEmpty(querySqlReq.getModelIds())) {
+            queryStatInfo.setModelId(querySqlReq.getModelIds().get(0));
         }
-        StatUtils.set(queryStatInfo);
+        set(queryStatInfo, stat -> fillSqlStatInfo(stat, sql));
     }
 
     public void initStructStatInfo(QueryStructReq queryStructReq, User facadeUser) {
         QueryStat queryStatInfo = new QueryStat();
         String traceId = "";
-        List<String> dimensions = queryStructReq.getGroups();
-
-        List<String> metrics = new ArrayList<>();
-        queryStructReq.getAggregators().stream().forEach(aggregator -> metrics.add(aggregator.getColumn()));
+        List<String> dimensions = copy(queryStructReq.getGroups());
+        List<Aggregator> aggregators = copy(queryStructReq.getAggregators());
+        List<Order> orders = copy(queryStructReq.getOrders());
+        List<Filter> filters = copy(queryStructReq.getOriginalFilter());
         String user = getUserName(facadeUser);
 
-        try {
-            queryStatInfo.setTraceId(traceId)
-                    .setDataSetId(queryStructReq.getDataSetId())
-                    .setUser(user)
-                    .setQueryType(QueryMethod.STRUCT.getValue())
-                    .setQueryTypeBack(QueryTypeBack.NORMAL.getState())
-                    .setQueryStructCmd(queryStructReq.toString())
-                    .setQueryStructCmdMd5(DigestUtils.md5Hex(queryStructReq.toString()))
-                    .setStartTime(System.currentTimeMillis())
-                    .setNativeQuery(queryStructReq.getQueryType().isNativeAggQuery())
-                    .setGroupByCols(objectMapper.writeValueAsString(queryStructReq.getGroups()))
-                    .setAggCols(objectMapper.writeValueAsString(queryStructReq.getAggregators()))
-                    .setOrderByCols(objectMapper.writeValueAsString(queryStructReq.getOrders()))
-                    .setFilterCols(objectMapper.writeValueAsString(
-                            sqlFilterUtils.getFiltersCol(queryStructReq.getOriginalFilter())))
-                    .setUseResultCache(true)
-                    .setUseSqlCache(true)
-                    .setMetrics(objectMapper.writeValueAsString(metrics))
-                    .setDimensions(objectMapper.writeValueAsString(dimensions))
-                    .setQueryOptMode(QueryOptMode.NONE.name());
-            if (!CollectionUtils.isEmpty(queryStructReq.getModelIds())) {
-                queryStatInfo.setModelId(queryStructReq.getModelIds().get(0));
-            }
-        } catch (JsonProcessingException e) {
-            log.error("", e);
+        queryStatInfo.setTraceId(traceId)
+                .setDataSetId(queryStructReq.getDataSetId())
+                .setUser(user)
+                .setQueryType(QueryMethod.STRUCT.getValue())
+                .setQueryTypeBack(QueryTypeBack.NORMAL.getState())
+                .setQueryStructCmd(queryStructReq.toString())
+                .setStartTime(System.currentTimeMillis())
+                .setNativeQuery(queryStructReq.getQueryType().isNativeAggQuery())
+                .setUseResultCache(true)
+                .setUseSqlCache(true)
+                .setQueryOptMode(QueryOptMode.NONE.name());
+        if (!CollectionUtils.isEmpty(queryStructReq.getModelIds())) {
+            queryStatInfo.setModelId(queryStructReq.getModelIds().get(0));
         }
-        StatUtils.set(queryStatInfo);
+        set(queryStatInfo, stat -> fillStructStatInfo(stat, dimensions, aggregators, orders, filters));
+    }
+
+    private void fillStructStatInfo(QueryStat queryStatInfo, List<String> dimensions,
+            List<Aggregator> aggregators, List<Order> orders, List<Filter> filters)
+            throws JsonProcessingException {
+        List<String> metrics = aggregators.stream().map(Aggregator::getColumn).collect(Collectors.toList());
+        queryStatInfo.setQueryStructCmdMd5(DigestUtils.md5Hex(queryStatInfo.getQueryStructCmd()))
+                .setGroupByCols(objectMapper.writeValueAsString(dimensions))
+                .setAggCols(objectMapper.writeValueAsString(aggregators))
+                .setOrderByCols(objectMapper.writeValueAsString(orders))
+                .setFilterCols(objectMapper.writeValueAsString(sqlFilterUtils.getFiltersCol(filters)))
+                .setMetrics(objectMapper.writeValueAsString(metrics))
+                .setDimensions(objectMapper.writeValueAsString(dimensions));
+    }
 
+    private void fillSqlStatInfo(QueryStat queryStatInfo, String sql) throws JsonProcessingException {
+        List<String> aggFields = SqlSelectHelper.getAggregateFields(sql);
+        List<String> allFields = SqlSelectHelper.getAllFields(sql);
+        List<String> dimensions = allFields.stream().filter(aggFields::contains).collect(Collectors.toList());
+        queryStatInfo.setQuerySqlCmdMd5(DigestUtils.md5Hex(queryStatInfo.getQuerySqlCmd()))
+                .setMetrics(objectMapper.writeValueAsString(aggFields))
+                .setDimensions(objectMapper.writeValueAsString(dimensions));
+    }
+
+    private static <T> List<T> copy(Collection<T> items) {
+        return Objects.isNull(items) ? new ArrayList<>() : new ArrayList<>(items);
     }
 
     private List<String> getFieldNames(List<String> allFields, List<? extends SchemaItem> schemaItems) {
@@ -226,4 +333,18 @@ public class StatUtils {
     public List<ItemUseResp> getStatInfo(ItemUseReq itemUseCommend) {
         return statRepository.getStatInfo(itemUseCommend);
     }
+
+    private interface StatFiller {
+
+        void fill(QueryStat queryStat) throws JsonProcessingException;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class StatRecord {
+
+        private final QueryStat queryStat;
+
+        private final StatFiller statFiller;
+    }
 }
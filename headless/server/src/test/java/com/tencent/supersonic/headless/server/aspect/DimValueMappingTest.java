@@ -0,0 +1,51 @@
+package com.tencent.supersonic.headless.server.aspect;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.headless.api.pojo.DimValueMap;
+import com.tencent.supersonic.headless.api.pojo.response.DimensionResp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+class DimValueMappingTest {
+
+    @Test
+    void testBuild() {
+        DimValueMapping dimValueMapping = DimValueMapping.build(Lists.newArrayList(mockDimension(), null));
+        Assertions.assertEquals("pc", dimValueMapping.getAliasToTechName().get("platform").get("电脑"));
+        Assertions.assertEquals("pc", dimValueMapping.getAliasToTechName().get("platform").get("PC端"));
+        Assertions.assertEquals("PC端", dimValueMapping.getTechNameToBizName().get("platform").get("pc"));
+        Assertions.assertEquals("pc", dimValueMapping.getAliases("平台").get("电脑"));
+        Assertions.assertNull(dimValueMapping.getAliases("platform"));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> dimValueMapping.getAliasToTechName().get("platform").put("手机", "mobile"));
+
+        Assertions.assertTrue(dimValueMapping.mayFilterByAlias("select pv from t where 平台 = '电脑'"));
+        Assertions.assertFalse(dimValueMapping.mayFilterByAlias("select pv from t where 部门 = 'HR'"));
+    }
+
+    @Test
+    void testBuildWithoutAlias() {
+        DimensionResp dimension = new DimensionResp();
+        dimension.setName("部门");
+        dimension.setBizName("department");
+        Assertions.assertSame(DimValueMapping.EMPTY, DimValueMapping.build(Lists.newArrayList(dimension)));
+        Assertions.assertSame(DimValueMapping.EMPTY, DimValueMapping.build(new ArrayList<>()));
+        Assertions.assertFalse(DimValueMapping.EMPTY.mayFilterByAlias("select pv from t where 部门 = 'HR'"));
+    }
+
+    private DimensionResp mockDimension() {
+        DimValueMap dimValueMap = new DimValueMap();
+        dimValueMap.setTechName("pc");
+        dimValueMap.setBizName("PC端");
+        dimValueMap.setAlias(Lists.newArrayList("电脑", ""));
+        DimValueMap emptyValueMap = new DimValueMap();
+        emptyValueMap.setAlias(Lists.newArrayList("手机"));
+        DimensionResp dimension = new DimensionResp();
+        dimension.setName("平台");
+        dimension.setBizName("platform");
+        dimension.setDimValueMaps(Lists.newArrayList(dimValueMap, emptyValueMap));
+        return dimension;
+    }
+}
@@ -0,0 +1,141 @@
+package com.tencent.supersonic.headless.server.aspect;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.tencent.supersonic.auth.api.authentication.pojo.User;
+import com.tencent.supersonic.auth.api.authorization.pojo.DimensionFilter;
+import com.tencent.supersonic.auth.api.authorization.response.AuthorizedResourceResp;
+import com.tencent.supersonic.auth.api.authorization.service.AuthService;
+import com.tencent.supersonic.common.pojo.enums.AuthType;
+import com.tencent.supersonic.common.pojo.enums.SensitiveLevelEnum;
+import com.tencent.supersonic.common.pojo.exception.InvalidPermissionException;
+import com.tencent.supersonic.headless.api.pojo.request.QuerySqlReq;
+import com.tencent.supersonic.headless.api.pojo.response.MetricSchemaResp;
+import com.tencent.supersonic.headless.api.pojo.response.ModelResp;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticSchemaResp;
+import com.tencent.supersonic.headless.server.service.ModelService;
+import com.tencent.supersonic.headless.server.service.SchemaService;
+import com.tencent.supersonic.headless.server.utils.QueryStructUtils;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+
+class S2DataPermissionAspectTest {
+
+    private static final String SQL = "SELECT department, pv FROM t_1";
+
+    private final S2DataPermissionAspect aspect = new S2DataPermissionAspect();
+    private final SchemaService schemaService = Mockito.mock(SchemaService.class);
+    private final AuthService authService = Mockito.mock(AuthService.class);
+    private final QueryStructUtils queryStructUtils = Mockito.mock(QueryStructUtils.class);
+    private final User user = User.get(2L, "jack", "jack", null, 0);
+
+    @BeforeEach
+    void setUp() {
+        ModelService modelService = Mockito.mock(ModelService.class);
+        Mockito.when(modelService.getModelListWithAuth(user, null, AuthType.ADMIN)).thenReturn(new ArrayList<>());
+        Mockito.when(modelService.getModelListWithAuth(user, null, AuthType.VISIBLE))
+                .thenReturn(Lists.newArrayList(mockModelResp()));
+        Mockito.when(queryStructUtils.getBizNameFromSql(Mockito.any(), Mockito.any()))
+                .thenReturn(Sets.newHashSet("department", "pv"));
+        Mockito.when(authService.queryAuthorizedResources(Mockito.any(), Mockito.eq(user)))
+                .thenReturn(new AuthorizedResourceResp());
+        ReflectionTestUtils.setField(aspect, "modelService", modelService);
+        ReflectionTestUtils.setField(aspect, "schemaService", schemaService);
+        ReflectionTestUtils.setField(aspect, "authService", authService);
+        ReflectionTestUtils.setField(aspect, "queryStructUtils", queryStructUtils);
+    }
+
+    @Test
+    void testSensitiveBizNamesInvalidatedBySchemaVersion() throws Throwable {
+        Mockito.when(schemaService.fetchSemanticSchema(Mockito.any()))
+                .thenReturn(mockSemanticSchemaResp(1L, SensitiveLevelEnum.HIGH));
+        Assertions.assertThrows(InvalidPermissionException.class, () -> aspect.doAround(mockJoinPoint(SQL)));
+
+        // the sensitive fields of a schema version are cached
+        Mockito.when(schemaService.fetchSemanticSchema(Mockito.any()))
+                .thenReturn(mockSemanticSchemaResp(1L, SensitiveLevelEnum.LOW));
+        Assertions.assertThrows(InvalidPermissionException.class, () -> aspect.doAround(mockJoinPoint(SQL)));
+
+        Mockito.when(schemaService.fetchSemanticSchema(Mockito.any()))
+                .thenReturn(mockSemanticSchemaResp(2L, SensitiveLevelEnum.LOW));
+        ProceedingJoinPoint joinPoint = mockJoinPoint(SQL);
+        aspect.doAround(joinPoint);
+        Mockito.verify(joinPoint).proceed();
+    }
+
+    @Test
+    void testUnparseableRowFilterCachedAsEmpty() throws Throwable {
+        Mockito.when(schemaService.fetchSemanticSchema(Mockito.any()))
+                .thenReturn(mockSemanticSchemaResp(1L, SensitiveLevelEnum.LOW));
+        Mockito.when(authService.queryAuthorizedResources(Mockito.any(), Mockito.eq(user)))
+                .thenReturn(mockAuthorizedResource("department ="));
+        try (MockedStatic<CCJSqlParserUtil> parser = Mockito.mockStatic(CCJSqlParserUtil.class,
+                Mockito.CALLS_REAL_METHODS)) {
+            for (int i = 0; i < 2; i++) {
+                ProceedingJoinPoint joinPoint = mockJoinPoint(SQL);
+                aspect.doAround(joinPoint);
+                Mockito.verify(joinPoint).proceed();
+                Assertions.assertEquals(SQL, ((QuerySqlReq) joinPoint.getArgs()[0]).getSql());
+            }
+            parser.verify(() -> CCJSqlParserUtil.parseCondExpression(Mockito.anyString()), Mockito.times(1));
+        }
+    }
+
+    @Test
+    void testRowFilterAddedToSql() throws Throwable {
+        Mockito.when(schemaService.fetchSemanticSchema(Mockito.any()))
+                .thenReturn(mockSemanticSchemaResp(1L, SensitiveLevelEnum.LOW));
+        Mockito.when(authService.queryAuthorizedResources(Mockito.any(), Mockito.eq(user)))
+                .thenReturn(mockAuthorizedResource("department = 'sales'"));
+        for (int i = 0; i < 2; i++) {
+            ProceedingJoinPoint joinPoint = mockJoinPoint(SQL);
+            aspect.doAround(joinPoint);
+            String sql = ((QuerySqlReq) joinPoint.getArgs()[0]).getSql();
+            Assertions.assertTrue(sql.contains("department = 'sales'"), sql);
+        }
+    }
+
+    private ProceedingJoinPoint mockJoinPoint(String sql) {
+        QuerySqlReq querySqlReq = new QuerySqlReq();
+        querySqlReq.setSql(sql);
+        querySqlReq.setDataSetId(1L);
+        ProceedingJoinPoint joinPoint = Mockito.mock(ProceedingJoinPoint.class);
+        Mockito.when(joinPoint.getArgs()).thenReturn(new Object[]{querySqlReq, user});
+        return joinPoint;
+    }
+
+    private SemanticSchemaResp mockSemanticSchemaResp(Long schemaVersion, SensitiveLevelEnum sensitiveLevel) {
+        MetricSchemaResp metric = new MetricSchemaResp();
+        metric.setName("访问次数");
+        metric.setBizName("pv");
+        metric.setSensitiveLevel(sensitiveLevel.getCode());
+        SemanticSchemaResp semanticSchemaResp = new SemanticSchemaResp();
+        semanticSchemaResp.setDataSetId(1L);
+        semanticSchemaResp.setSchemaVersion(schemaVersion);
+        semanticSchemaResp.setMetrics(Lists.newArrayList(metric));
+        semanticSchemaResp.setModelResps(Lists.newArrayList(mockModelResp()));
+        return semanticSchemaResp;
+    }
+
+    private ModelResp mockModelResp() {
+        ModelResp modelResp = new ModelResp();
+        modelResp.setId(1L);
+        return modelResp;
+    }
+
+    private AuthorizedResourceResp mockAuthorizedResource(String expression) {
+        DimensionFilter dimensionFilter = new DimensionFilter();
+        dimensionFilter.setExpressions(Lists.newArrayList(expression));
+        AuthorizedResourceResp authorizedResource = new AuthorizedResourceResp();
+        authorizedResource.setFilters(Lists.newArrayList(dimensionFilter));
+        return authorizedResource;
+    }
+}
@@ -0,0 +1,42 @@
+package com.tencent.supersonic.headless.server.manager;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.headless.api.pojo.enums.SchemaType;
+import com.tencent.supersonic.headless.api.pojo.response.DatabaseResp;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticSchemaResp;
+import com.tencent.supersonic.headless.core.translator.calcite.s2sql.SemanticModel;
+import com.tencent.supersonic.headless.server.service.SchemaService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SemanticSchemaManagerTest {
+
+    @Test
+    void testGetSemanticModelBySchemaVersion() {
+        SemanticSchemaManager semanticSchemaManager = new SemanticSchemaManager(Mockito.mock(SchemaService.class));
+        ReflectionTestUtils.setField(semanticSchemaManager, "schemaCacheEnable", true);
+
+        SemanticModel semanticModel = semanticSchemaManager.getSemanticModel(mockSemanticSchemaResp(1L, 1L));
+        Assertions.assertSame(semanticModel, semanticSchemaManager.getSemanticModel(mockSemanticSchemaResp(1L, 1L)));
+        Assertions.assertNotSame(semanticModel,
+                semanticSchemaManager.getSemanticModel(mockSemanticSchemaResp(1L, 2L)));
+        Assertions.assertNotSame(semanticModel,
+                semanticSchemaManager.getSemanticModel(mockSemanticSchemaResp(2L, 1L)));
+        Assertions.assertNotSame(semanticSchemaManager.getSemanticModel(mockSemanticSchemaResp(1L, null)),
+                semanticSchemaManager.getSemanticModel(mockSemanticSchemaResp(1L, null)));
+    }
+
+    private SemanticSchemaResp mockSemanticSchemaResp(Long dataSetId, Long schemaVersion) {
+        SemanticSchemaResp semanticSchemaResp = new SemanticSchemaResp();
+        semanticSchemaResp.setDataSetId(dataSetId);
+        semanticSchemaResp.setModelIds(Lists.newArrayList(1L));
+        semanticSchemaResp.setSchemaType(SchemaType.VIEW);
+        semanticSchemaResp.setSchemaVersion(schemaVersion);
+        DatabaseResp databaseResp = new DatabaseResp();
+        databaseResp.setType("h2");
+        semanticSchemaResp.setDatabaseResp(databaseResp);
+        return semanticSchemaResp;
+    }
+}
@@ -0,0 +1,117 @@
+package com.tencent.supersonic.headless.server.service;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.auth.api.authentication.pojo.User;
+import com.tencent.supersonic.common.pojo.DataEvent;
+import com.tencent.supersonic.headless.api.pojo.DataSetDetail;
+import com.tencent.supersonic.headless.api.pojo.DataSetModelConfig;
+import com.tencent.supersonic.headless.api.pojo.request.DataSetReq;
+import com.tencent.supersonic.headless.api.pojo.response.DataSetResp;
+import com.tencent.supersonic.headless.server.listener.DataSetCacheUpdateListener;
+import com.tencent.supersonic.headless.server.persistence.dataobject.DataSetDO;
+import com.tencent.supersonic.headless.server.service.impl.DataSetServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+class DataSetServiceImplTest {
+
+    @Test
+    void testRefreshAfterDataSetEvents() {
+        DataSetServiceImpl dataSetService = mockDataSetService();
+        mockDataSets(dataSetService, mockDataSetResp(1L, 1L));
+        Assertions.assertEquals(Collections.singletonMap(1L, Lists.newArrayList(1L)),
+                dataSetService.getModelIdToDataSetIds());
+
+        mockDataSets(dataSetService, mockDataSetResp(1L, 1L), mockDataSetResp(2L, 1L));
+        Assertions.assertEquals(Collections.singletonMap(1L, Lists.newArrayList(1L)),
+                dataSetService.getModelIdToDataSetIds());
+        dataSetService.save(mockDataSetReq(2L, 1L), User.getFakeUser());
+        Assertions.assertEquals(Collections.singletonMap(1L, Lists.newArrayList(1L, 2L)),
+                dataSetService.getModelIdToDataSetIds());
+
+        mockDataSets(dataSetService, mockDataSetResp(1L, 1L), mockDataSetResp(2L, 2L));
+        dataSetService.update(mockDataSetReq(2L, 2L), User.getFakeUser());
+        Map<Long, List<Long>> modelIdToDataSetIds = dataSetService.getModelIdToDataSetIds();
+        Assertions.assertEquals(Lists.newArrayList(1L), modelIdToDataSetIds.get(1L));
+        Assertions.assertEquals(Lists.newArrayList(2L), modelIdToDataSetIds.get(2L));
+
+        mockDataSets(dataSetService, mockDataSetResp(1L, 1L));
+        dataSetService.delete(2L, User.getFakeUser());
+        Assertions.assertEquals(Collections.singletonMap(1L, Lists.newArrayList(1L)),
+                dataSetService.getModelIdToDataSetIds());
+        Mockito.verify(dataSetService, Mockito.times(4)).getDataSetList(Mockito.any());
+    }
+
+    @Test
+    void testEventDuringLoadNotPublishStaleMap() {
+        DataSetServiceImpl dataSetService = mockDataSetService();
+        List<DataSetResp> stale = Lists.newArrayList(mockDataSetResp(1L, 1L));
+        List<DataSetResp> fresh = Lists.newArrayList(mockDataSetResp(1L, 1L), mockDataSetResp(2L, 1L));
+        Mockito.doAnswer(invocation -> {
+            // a data set is added after the load has read the data sets
+            dataSetService.refreshModelIdToDataSetIds();
+            return stale;
+        }).doReturn(fresh).when(dataSetService).getDataSetList(Mockito.any());
+
+        Assertions.assertEquals(Collections.singletonMap(1L, Lists.newArrayList(1L)),
+                dataSetService.getModelIdToDataSetIds());
+        Assertions.assertEquals(Collections.singletonMap(1L, Lists.newArrayList(1L, 2L)),
+                dataSetService.getModelIdToDataSetIds());
+        Assertions.assertEquals(Collections.singletonMap(1L, Lists.newArrayList(1L, 2L)),
+                dataSetService.getModelIdToDataSetIds());
+        Mockito.verify(dataSetService, Mockito.times(2)).getDataSetList(Mockito.any());
+    }
+
+    private DataSetServiceImpl mockDataSetService() {
+        DataSetServiceImpl dataSetService = Mockito.spy(new DataSetServiceImpl());
+        DataSetCacheUpdateListener listener = new DataSetCacheUpdateListener();
+        ReflectionTestUtils.setField(listener, "dataSetService", dataSetService);
+        ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        Mockito.doAnswer(invocation -> {
+            listener.onApplicationEvent(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(Mockito.any(DataEvent.class));
+        ReflectionTestUtils.setField(dataSetService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(dataSetService, "tagMetaService", Mockito.mock(TagMetaService.class));
+        Mockito.doReturn(true).when(dataSetService).save(Mockito.any(DataSetDO.class));
+        Mockito.doReturn(true).when(dataSetService).updateById(Mockito.any(DataSetDO.class));
+        DataSetDO dataSetDO = new DataSetDO();
+        dataSetDO.setId(2L);
+        Mockito.doReturn(dataSetDO).when(dataSetService).getById(2L);
+        return dataSetService;
+    }
+
+    private void mockDataSets(DataSetServiceImpl dataSetService, DataSetResp... dataSetResps) {
+        Mockito.doReturn(Lists.newArrayList(dataSetResps)).when(dataSetService).getDataSetList(Mockito.any());
+    }
+
+    private DataSetResp mockDataSetResp(Long id, Long modelId) {
+        DataSetResp dataSetResp = new DataSetResp();
+        dataSetResp.setId(id);
+        dataSetResp.setDataSetDetail(mockDataSetDetail(modelId));
+        return dataSetResp;
+    }
+
+    private DataSetReq mockDataSetReq(Long id, Long modelId) {
+        DataSetReq dataSetReq = new DataSetReq();
+        dataSetReq.setId(id);
+        dataSetReq.setName("data_set_" + id);
+        dataSetReq.setDataSetDetail(mockDataSetDetail(modelId));
+        return dataSetReq;
+    }
+
+    private DataSetDetail mockDataSetDetail(Long modelId) {
+        DataSetDetail dataSetDetail = new DataSetDetail();
+        dataSetDetail.setDataSetModelConfigs(Lists.newArrayList(
+                new DataSetModelConfig(modelId, new ArrayList<>(), new ArrayList<>())));
+        return dataSetDetail;
+    }
+}
@@ -0,0 +1,60 @@
+package com.tencent.supersonic.headless.server.service;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.tencent.supersonic.headless.api.pojo.DataSetSchema;
+import com.tencent.supersonic.headless.api.pojo.SchemaElement;
+import com.tencent.supersonic.headless.api.pojo.SchemaElementType;
+import com.tencent.supersonic.headless.api.pojo.SemanticSchema;
+import com.tencent.supersonic.headless.chat.knowledge.DictWord;
+import com.tencent.supersonic.headless.chat.knowledge.KnowledgeBaseService;
+import com.tencent.supersonic.headless.server.service.impl.DictWordService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class DictWordServiceTest {
+
+    @Test
+    void testReloadDictWord() {
+        SchemaService schemaService = Mockito.mock(SchemaService.class);
+        KnowledgeBaseService knowledgeBaseService = Mockito.mock(KnowledgeBaseService.class);
+        DictWordService dictWordService = new DictWordService();
+        ReflectionTestUtils.setField(dictWordService, "schemaService", schemaService);
+        ReflectionTestUtils.setField(dictWordService, "knowledgeBaseService", knowledgeBaseService);
+
+        Mockito.when(schemaService.getSemanticSchema()).thenReturn(mockSemanticSchema("访问次数"));
+        dictWordService.loadDictWord();
+        dictWordService.reloadDictWord();
+        Mockito.verify(knowledgeBaseService, Mockito.never()).removeSemanticKnowledge(Mockito.anyList());
+        Mockito.verify(knowledgeBaseService, Mockito.never()).updateOnlineKnowledge(Mockito.anyList());
+
+        Mockito.when(schemaService.getSemanticSchema()).thenReturn(mockSemanticSchema("访问量"));
+        dictWordService.reloadDictWord();
+        ArgumentCaptor<List<DictWord>> removed = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<DictWord>> changed = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(knowledgeBaseService).removeSemanticKnowledge(removed.capture());
+        Mockito.verify(knowledgeBaseService).updateOnlineKnowledge(changed.capture());
+        Assertions.assertEquals(Sets.newHashSet("访问次数", "数次问访"), getWords(removed.getValue()));
+        Assertions.assertEquals(Sets.newHashSet("访问量", "量问访"), getWords(changed.getValue()));
+        Assertions.assertTrue(removed.getValue().stream().allMatch(dictWord -> dictWord.getNature() != null));
+    }
+
+    private Set<String> getWords(List<DictWord> dictWords) {
+        return dictWords.stream().map(DictWord::getWord).collect(Collectors.toSet());
+    }
+
+    private SemanticSchema mockSemanticSchema(String metricName) {
+        SchemaElement metric = SchemaElement.builder().dataSet(1L).model(1L).id(2L)
+                .name(metricName).bizName("pv").type(SchemaElementType.METRIC).build();
+        DataSetSchema dataSetSchema = new DataSetSchema();
+        dataSetSchema.setMetrics(Sets.newHashSet(metric));
+        return new SemanticSchema(Lists.newArrayList(dataSetSchema));
+    }
+}
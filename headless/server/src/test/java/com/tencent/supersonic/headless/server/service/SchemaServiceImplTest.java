@@ -0,0 +1,170 @@
+package com.tencent.supersonic.headless.server.service;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.tencent.supersonic.common.pojo.enums.StatusEnum;
+import com.tencent.supersonic.headless.api.pojo.MetaFilter;
+import com.tencent.supersonic.headless.api.pojo.SchemaElement;
+import com.tencent.supersonic.headless.api.pojo.SemanticParseInfo;
+import com.tencent.supersonic.headless.api.pojo.SemanticSchema;
+import com.tencent.supersonic.headless.api.pojo.SqlInfo;
+import com.tencent.supersonic.headless.api.pojo.request.SchemaFilterReq;
+import com.tencent.supersonic.headless.api.pojo.response.DataSetResp;
+import com.tencent.supersonic.headless.api.pojo.response.DataSetSchemaResp;
+import com.tencent.supersonic.headless.api.pojo.response.MetricSchemaResp;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticSchemaResp;
+import com.tencent.supersonic.headless.chat.ChatQueryContext;
+import com.tencent.supersonic.headless.chat.corrector.AggCorrector;
+import com.tencent.supersonic.headless.server.service.impl.SchemaServiceImpl;
+import com.tencent.supersonic.headless.server.utils.StatUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class SchemaServiceImplTest {
+
+    @Test
+    void testFetchSemanticSchemaByVersion() {
+        SchemaServiceImpl schemaService = mockSchemaService(true);
+        SchemaFilterReq schemaFilterReq = new SchemaFilterReq();
+        schemaFilterReq.setModelIds(Lists.newArrayList(1L));
+
+        SemanticSchemaResp semanticSchemaResp = schemaService.fetchSemanticSchema(schemaFilterReq);
+        Assertions.assertSame(semanticSchemaResp, schemaService.fetchSemanticSchema(schemaFilterReq));
+        Assertions.assertEquals(0L, semanticSchemaResp.getSchemaVersion());
+
+        schemaService.refreshSchemaCache();
+        SemanticSchemaResp refreshed = schemaService.fetchSemanticSchema(schemaFilterReq);
+        Assertions.assertNotSame(semanticSchemaResp, refreshed);
+        Assertions.assertEquals(1L, refreshed.getSchemaVersion());
+        Assertions.assertSame(refreshed, schemaService.fetchSemanticSchema(schemaFilterReq));
+    }
+
+    @Test
+    void testGetSemanticSchemaByVersion() {
+        SchemaServiceImpl schemaService = Mockito.spy(mockSchemaService(true));
+        Mockito.doReturn(Lists.newArrayList(mockDataSetSchema(1L))).when(schemaService)
+                .buildDataSetSchema(Mockito.any());
+        schemaService.getSemanticSchema();
+        schemaService.getSemanticSchema();
+        Mockito.verify(schemaService, Mockito.times(1)).buildDataSetSchema(Mockito.any());
+
+        schemaService.refreshSchemaCache();
+        schemaService.getSemanticSchema();
+        Mockito.verify(schemaService, Mockito.times(2)).buildDataSetSchema(Mockito.any());
+    }
+
+    @Test
+    void testSemanticSchemaIsReadOnly() {
+        SchemaServiceImpl schemaService = Mockito.spy(mockSchemaService(true));
+        Mockito.doReturn(Lists.newArrayList(mockDataSetSchema(1L), mockDataSetSchema(2L)))
+                .doReturn(Lists.newArrayList(mockDataSetSchema(1L)))
+                .when(schemaService).buildDataSetSchema(Mockito.any());
+        SemanticSchema semanticSchema = schemaService.getSemanticSchema();
+        SchemaElement metric = semanticSchema.getMetrics(2L).get(0);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> metric.getAlias().add("pv"));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> semanticSchema.getDataSetSchemaMap().get(2L).getMetrics().clear());
+
+        // data set 2 is not rebuilt, its fragment is shared with the next schema
+        schemaService.refreshSchemaCache(Sets.newHashSet(1L));
+        SemanticSchema refreshed = schemaService.getSemanticSchema();
+        Assertions.assertSame(metric, refreshed.getMetrics(2L).get(0));
+        Assertions.assertNotSame(semanticSchema.getMetrics(1L).get(0), refreshed.getMetrics(1L).get(0));
+    }
+
+    @Test
+    void testRefreshDataSetFragments() {
+        DataSetService dataSetService = Mockito.mock(DataSetService.class);
+        List<List<Long>> queriedIds = new ArrayList<>();
+        Mockito.when(dataSetService.getDataSetList(Mockito.any())).thenAnswer(invocation -> {
+            MetaFilter metaFilter = invocation.getArgument(0);
+            queriedIds.add(new ArrayList<>(metaFilter.getIds()));
+            return Stream.of(mockDataSet(1L), mockDataSet(2L))
+                    .filter(dataSet -> CollectionUtils.isEmpty(metaFilter.getIds())
+                            || metaFilter.getIds().contains(dataSet.getId()))
+                    .collect(Collectors.toList());
+        });
+        SchemaServiceImpl schemaService = mockSchemaService(true, dataSetService);
+        SemanticSchema semanticSchema = schemaService.getSemanticSchema();
+        Assertions.assertEquals(2, semanticSchema.getDataSets().size());
+
+        schemaService.refreshSchemaCache(Sets.newHashSet(1L));
+        SemanticSchema refreshed = schemaService.getSemanticSchema();
+        Assertions.assertNotSame(semanticSchema, refreshed);
+        Assertions.assertEquals(Lists.newArrayList(new ArrayList<>(), Lists.newArrayList(1L)), queriedIds);
+    }
+
+    @Test
+    void testCorrectionDoesNotChangeSemanticSchema() {
+        SchemaServiceImpl schemaService = Mockito.spy(mockSchemaService(true));
+        Mockito.doReturn(Lists.newArrayList(mockDataSetSchema(1L))).when(schemaService)
+                .buildDataSetSchema(Mockito.any());
+        ChatQueryContext chatQueryContext = new ChatQueryContext();
+        chatQueryContext.setSemanticSchema(schemaService.getSemanticSchema());
+        SemanticParseInfo semanticParseInfo = new SemanticParseInfo();
+        semanticParseInfo.setDataSet(SchemaElement.builder().dataSet(1L).build());
+        SqlInfo sqlInfo = new SqlInfo();
+        String sql = "SELECT 部门, 访问次数 FROM 超音数数据集 GROUP BY 部门";
+        sqlInfo.setParsedS2SQL(sql);
+        sqlInfo.setCorrectedS2SQL(sql);
+        semanticParseInfo.setSqlInfo(sqlInfo);
+
+        new AggCorrector().correct(chatQueryContext, semanticParseInfo);
+        Assertions.assertEquals("SELECT 部门, SUM(访问次数) FROM 超音数数据集 GROUP BY 部门",
+                semanticParseInfo.getSqlInfo().getCorrectedS2SQL());
+        Assertions.assertNull(schemaService.getSemanticSchema().getMetrics(1L).get(0).getDefaultAgg());
+    }
+
+    @Test
+    void testCacheDisabled() {
+        SchemaServiceImpl schemaService = mockSchemaService(false);
+        SchemaFilterReq schemaFilterReq = new SchemaFilterReq();
+        Assertions.assertNotSame(schemaService.fetchSemanticSchema(schemaFilterReq),
+                schemaService.fetchSemanticSchema(schemaFilterReq));
+        Assertions.assertNotSame(schemaService.getSemanticSchema(), schemaService.getSemanticSchema());
+    }
+
+    private SchemaServiceImpl mockSchemaService(boolean schemaCacheEnable) {
+        return mockSchemaService(schemaCacheEnable, Mockito.mock(DataSetService.class));
+    }
+
+    private SchemaServiceImpl mockSchemaService(boolean schemaCacheEnable, DataSetService dataSetService) {
+        SchemaServiceImpl schemaService = new SchemaServiceImpl(Mockito.mock(ModelService.class),
+                Mockito.mock(DimensionService.class), Mockito.mock(MetricService.class),
+                Mockito.mock(DomainService.class), dataSetService,
+                Mockito.mock(ModelRelaService.class), Mockito.mock(StatUtils.class),
+                Mockito.mock(TagMetaService.class), Mockito.mock(TermService.class),
+                Mockito.mock(DatabaseService.class));
+        ReflectionTestUtils.setField(schemaService, "schemaCacheEnable", schemaCacheEnable);
+        return schemaService;
+    }
+
+    private DataSetSchemaResp mockDataSetSchema(Long id) {
+        DataSetSchemaResp dataSetSchemaResp = new DataSetSchemaResp();
+        dataSetSchemaResp.setId(id);
+        dataSetSchemaResp.setName("超音数数据集");
+        MetricSchemaResp metric = new MetricSchemaResp();
+        metric.setId(1L);
+        metric.setModelId(1L);
+        metric.setName("访问次数");
+        metric.setBizName("pv");
+        dataSetSchemaResp.setMetrics(Lists.newArrayList(metric));
+        return dataSetSchemaResp;
+    }
+
+    private DataSetResp mockDataSet(Long id) {
+        DataSetResp dataSetResp = new DataSetResp();
+        dataSetResp.setId(id);
+        dataSetResp.setName("dataSet" + id);
+        dataSetResp.setStatus(StatusEnum.ONLINE.getCode());
+        return dataSetResp;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tencent.supersonic.headless.server.utils;
+
+import com.google.common.collect.Lists;
+import com.tencent.supersonic.common.pojo.QueryColumn;
+import com.tencent.supersonic.headless.api.pojo.enums.SemanticType;
+import com.tencent.supersonic.headless.api.pojo.response.DimSchemaResp;
+import com.tencent.supersonic.headless.api.pojo.response.MetricSchemaResp;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticSchemaResp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class QueryUtilsTest {
+
+    @Test
+    void testFillItemNameInfo() {
+        SemanticSchemaResp semanticSchemaResp = new SemanticSchemaResp();
+        MetricSchemaResp metric = new MetricSchemaResp();
+        metric.setName("访问次数");
+        metric.setBizName("pv");
+        metric.setDataFormatType("percent");
+        semanticSchemaResp.setMetrics(Lists.newArrayList(metric));
+        DimSchemaResp dimension = new DimSchemaResp();
+        dimension.setName("部门");
+        dimension.setBizName("Department");
+        dimension.setSemanticType(SemanticType.CATEGORY.name());
+        semanticSchemaResp.setDimensions(Lists.newArrayList(dimension));
+
+        SemanticQueryResp semanticQueryResp = new SemanticQueryResp();
+        QueryColumn pv = new QueryColumn("pv", "BIGINT");
+        QueryColumn department = new QueryColumn("t_1__department", "VARCHAR");
+        QueryColumn sumPv = new QueryColumn("sum(`pv`)", "BIGINT");
+        QueryColumn date = new QueryColumn("sys_imp_date", "VARCHAR");
+        QueryColumn other = new QueryColumn("uv", "INT");
+        semanticQueryResp.setColumns(Lists.newArrayList(pv, department, sumPv, date, other));
+
+        new QueryUtils().fillItemNameInfo(semanticQueryResp, semanticSchemaResp);
+
+        Assertions.assertEquals("访问次数", pv.getName());
+        Assertions.assertEquals(SemanticType.NUMBER.name(), pv.getShowType());
+        Assertions.assertEquals("percent", pv.getDataFormatType());
+        Assertions.assertEquals("部门", department.getName());
+        Assertions.assertEquals(SemanticType.CATEGORY.name(), department.getShowType());
+        Assertions.assertEquals("访问次数", sumPv.getName());
+        Assertions.assertEquals("date", date.getName());
+        Assertions.assertEquals("DATE", date.getShowType());
+        Assertions.assertNull(other.getName());
+        Assertions.assertEquals(SemanticType.NUMBER.name(), other.getShowType());
+    }
+
+    @Test
+    void testSchemaIndexFollowsSetters() {
+        SemanticSchemaResp semanticSchemaResp = new SemanticSchemaResp();
+        MetricSchemaResp pv = new MetricSchemaResp();
+        pv.setBizName("pv");
+        semanticSchemaResp.setMetrics(Lists.newArrayList(pv));
+        Assertions.assertSame(pv, semanticSchemaResp.getMetric("PV"));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> semanticSchemaResp.getMetrics().add(new MetricSchemaResp()));
+
+        MetricSchemaResp uv = new MetricSchemaResp();
+        uv.setBizName("uv");
+        semanticSchemaResp.setMetrics(Lists.newArrayList(uv));
+        Assertions.assertNull(semanticSchemaResp.getMetric("pv"));
+        Assertions.assertSame(uv, semanticSchemaResp.getMetric("uv"));
+    }
+}
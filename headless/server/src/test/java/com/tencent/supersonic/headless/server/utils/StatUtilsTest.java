@@ -0,0 +1,117 @@
+package com.tencent.supersonic.headless.server.utils;
+
+import com.tencent.supersonic.common.pojo.enums.TaskStatusEnum;
+import com.tencent.supersonic.common.util.SqlFilterUtils;
+import com.tencent.supersonic.headless.api.pojo.QueryStat;
+import com.tencent.supersonic.headless.api.pojo.request.QuerySqlReq;
+import com.tencent.supersonic.headless.server.persistence.repository.StatRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class StatUtilsTest {
+
+    @Test
+    void testStatInfo2DbAsync() throws Exception {
+        StatRepository statRepository = Mockito.mock(StatRepository.class);
+        List<QueryStat> written = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            latch.countDown();
+            return null;
+        }).when(statRepository).batchCreateRecord(Mockito.anyList());
+        StatUtils statUtils = new StatUtils(statRepository, new SqlFilterUtils(), 10, 10);
+
+        QuerySqlReq querySqlReq = new QuerySqlReq();
+        querySqlReq.setSql("select department, sum(pv) from t_1 group by department");
+        statUtils.initStatInfo(querySqlReq, null);
+        statUtils.statInfo2DbAsync(TaskStatusEnum.SUCCESS);
+        Assertions.assertNull(StatUtils.get());
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        QueryStat queryStat = written.get(0);
+        Assertions.assertEquals("Admin", queryStat.getUser());
+        Assertions.assertEquals("[\"pv\"]", queryStat.getMetrics());
+        Assertions.assertNotNull(queryStat.getQuerySqlCmdMd5());
+        statUtils.shutdown();
+    }
+
+    @Test
+    void testDropWhenQueueIsFull() throws Exception {
+        StatRepository statRepository = Mockito.mock(StatRepository.class);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(statRepository).batchCreateRecord(Mockito.anyList());
+        StatUtils statUtils = new StatUtils(statRepository, new SqlFilterUtils(), 1, 10);
+
+        stat(statUtils);
+        Assertions.assertTrue(writing.await(5, TimeUnit.SECONDS));
+        stat(statUtils);
+        stat(statUtils);
+        stat(statUtils);
+        Assertions.assertEquals(2, statUtils.getDroppedCount());
+        release.countDown();
+        statUtils.shutdown();
+    }
+
+    @Test
+    void testRetryOneByOneWhenBatchFails() throws Exception {
+        StatRepository statRepository = Mockito.mock(StatRepository.class);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).doThrow(new RuntimeException("batch failed")).when(statRepository).batchCreateRecord(Mockito.anyList());
+        List<QueryStat> written = new ArrayList<>();
+        CountDownLatch retried = new CountDownLatch(3);
+        Mockito.doAnswer(invocation -> {
+            QueryStat queryStat = invocation.getArgument(0);
+            retried.countDown();
+            if ("bad".equals(queryStat.getUser())) {
+                throw new RuntimeException("bad stat");
+            }
+            written.add(queryStat);
+            return true;
+        }).when(statRepository).createRecord(Mockito.any());
+        StatUtils statUtils = new StatUtils(statRepository, new SqlFilterUtils(), 10, 10);
+
+        // the first stat blocks the writer, so the next three are written as one batch
+        stat(statUtils, "first");
+        Assertions.assertTrue(writing.await(5, TimeUnit.SECONDS));
+        stat(statUtils, "jack");
+        stat(statUtils, "bad");
+        stat(statUtils, "tom");
+        release.countDown();
+
+        Assertions.assertTrue(retried.await(5, TimeUnit.SECONDS));
+        statUtils.shutdown();
+        Assertions.assertEquals(2, written.size());
+        Assertions.assertEquals("jack", written.get(0).getUser());
+        Assertions.assertEquals("tom", written.get(1).getUser());
+        Assertions.assertEquals(1, statUtils.getDroppedCount());
+    }
+
+    private void stat(StatUtils statUtils) {
+        stat(statUtils, null);
+    }
+
+    private void stat(StatUtils statUtils, String user) {
+        QueryStat queryStat = new QueryStat();
+        queryStat.setUser(user);
+        queryStat.setStartTime(System.currentTimeMillis());
+        StatUtils.set(queryStat);
+        statUtils.statInfo2DbAsync(TaskStatusEnum.SUCCESS);
+    }
+}
@@ -0,0 +1,114 @@
+package com.tencent.supersonic.headless;
+
+import com.tencent.supersonic.auth.api.authentication.pojo.User;
+import com.tencent.supersonic.headless.api.pojo.request.QueryStructReq;
+import com.tencent.supersonic.headless.api.pojo.request.SchemaFilterReq;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticSchemaResp;
+import com.tencent.supersonic.headless.core.config.ExecutorConfig;
+import com.tencent.supersonic.headless.core.executor.DuckDbAccelerator;
+import com.tencent.supersonic.headless.core.pojo.DuckDbSource;
+import com.tencent.supersonic.headless.core.pojo.QueryStatement;
+import com.tencent.supersonic.headless.server.manager.SemanticSchemaManager;
+import com.tencent.supersonic.headless.server.service.SchemaService;
+import com.tencent.supersonic.util.DataUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class QueryAcceleratorTest extends BaseTest {
+
+    @Autowired
+    private SchemaService schemaService;
+
+    @Autowired
+    private SemanticSchemaManager semanticSchemaManager;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testDuckDbAccelerator() throws Exception {
+        ExecutorConfig executorConfig = mockExecutorConfig();
+        DuckDbSource duckDbSource = new DuckDbSource(executorConfig);
+        try {
+            DuckDbAccelerator accelerator = new DuckDbAccelerator(executorConfig, duckDbSource);
+
+            QueryStructReq queryStructReq = buildQueryStructReq(Arrays.asList("department"));
+            SemanticQueryResp sourceResp = semanticLayerService.queryByReq(queryStructReq, User.getFakeUser());
+            QueryStatement queryStatement = buildQueryStatement(queryStructReq, sourceResp.getSql());
+
+            Assertions.assertFalse(accelerator.check(queryStatement));
+            Assertions.assertTrue(accelerator.reload());
+            Assertions.assertTrue(accelerator.check(queryStatement));
+
+            SemanticQueryResp acceleratedResp = accelerator.query(queryStatement);
+            Assertions.assertNotNull(acceleratedResp);
+            Assertions.assertEquals(sourceResp.getResultList().size(), acceleratedResp.getResultList().size());
+            Assertions.assertEquals(toMap(sourceResp), toMap(acceleratedResp));
+        } finally {
+            duckDbSource.shutdown();
+        }
+    }
+
+    @Test
+    public void testReloadOversizeTable() throws Exception {
+        ExecutorConfig executorConfig = mockExecutorConfig();
+        executorConfig.setDuckDbSnapshotMaxRows(1);
+        DuckDbSource duckDbSource = new DuckDbSource(executorConfig);
+        try {
+            DuckDbAccelerator accelerator = new DuckDbAccelerator(executorConfig, duckDbSource);
+            QueryStructReq queryStructReq = buildQueryStructReq(Arrays.asList("department"));
+            SemanticQueryResp sourceResp = semanticLayerService.queryByReq(queryStructReq, User.getFakeUser());
+            QueryStatement queryStatement = buildQueryStatement(queryStructReq, sourceResp.getSql());
+
+            Assertions.assertFalse(accelerator.check(queryStatement));
+            Assertions.assertFalse(accelerator.reload());
+            Assertions.assertFalse(accelerator.check(queryStatement));
+
+            // the size is checked again on every reload
+            executorConfig.setDuckDbSnapshotMaxRows(100000);
+            Assertions.assertTrue(accelerator.reload());
+            Assertions.assertTrue(accelerator.check(queryStatement));
+        } finally {
+            duckDbSource.shutdown();
+        }
+    }
+
+    private ExecutorConfig mockExecutorConfig() {
+        ExecutorConfig executorConfig = new ExecutorConfig();
+        executorConfig.setDuckEnable(true);
+        executorConfig.setDuckDbTemp(tempDir.toString());
+        executorConfig.setDuckDbMaximumPoolSize(2);
+        executorConfig.setDuckDbMaxLifetime(3);
+        executorConfig.setMemoryLimit(1);
+        executorConfig.setThreads(2);
+        executorConfig.setDuckDbSnapshotMaxRows(100000);
+        executorConfig.setDuckDbModels(DataUtils.getMetricAgentIModelIds().stream()
+                .map(String::valueOf).collect(Collectors.joining(",")));
+        return executorConfig;
+    }
+
+    private QueryStatement buildQueryStatement(QueryStructReq queryStructReq, String sql) {
+        SchemaFilterReq filter = new SchemaFilterReq();
+        filter.setModelIds(queryStructReq.getModelIds());
+        SemanticSchemaResp semanticSchemaResp = schemaService.fetchSemanticSchema(filter);
+        QueryStatement queryStatement = new QueryStatement();
+        queryStatement.setSql(sql);
+        queryStatement.setSemanticSchemaResp(semanticSchemaResp);
+        queryStatement.setSemanticModel(semanticSchemaManager.getSemanticModel(semanticSchemaResp));
+        return queryStatement;
+    }
+
+    private Map<String, String> toMap(SemanticQueryResp queryResp) {
+        return queryResp.getResultList().stream().collect(Collectors.toMap(
+                row -> String.valueOf(row.get("department")),
+                row -> String.valueOf(Double.valueOf(String.valueOf(row.get("pv"))))));
+    }
+}
@@ -2,6 +2,7 @@ package com.tencent.supersonic.headless;
 
 
 import com.tencent.supersonic.auth.api.authentication.pojo.User;
+import com.tencent.supersonic.headless.api.pojo.request.QueryMultiStructReq;
 import com.tencent.supersonic.headless.api.pojo.request.QueryStructReq;
 import com.tencent.supersonic.headless.api.pojo.response.SemanticTranslateResp;
 import com.tencent.supersonic.headless.chat.utils.QueryReqBuilder;
@@ -10,6 +11,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -36,4 +39,33 @@ public class TranslateTest extends BaseTest {
         assertTrue(explain.getQuerySQL().contains("pv"));
     }
 
+    @Test
+    public void testRepeatedStructExplain() throws Exception {
+        QueryStructReq queryStructReq = buildQueryStructReq(Arrays.asList("department"));
+        SemanticTranslateResp explain = semanticLayerService.translate(queryStructReq, User.getFakeUser());
+        SemanticTranslateResp repeatedExplain = semanticLayerService.translate(
+                buildQueryStructReq(Arrays.asList("department")), User.getFakeUser());
+        assertTrue(repeatedExplain.isOk());
+        assertEquals(explain.getQuerySQL(), repeatedExplain.getQuerySQL());
+
+        queryStructReq.setLimit(10L);
+        SemanticTranslateResp limitedExplain = semanticLayerService.translate(queryStructReq, User.getFakeUser());
+        assertNotEquals(explain.getQuerySQL(), limitedExplain.getQuerySQL());
+    }
+
+    @Test
+    public void testMultiStructExplain() throws Exception {
+        QueryMultiStructReq queryMultiStructReq = new QueryMultiStructReq();
+        queryMultiStructReq.setQueryStructReqs(Arrays.asList(buildQueryStructReq(Arrays.asList("department")),
+                buildQueryStructReq(Arrays.asList("user_name")), buildQueryStructReq(Arrays.asList("page"))));
+        SemanticTranslateResp explain = semanticLayerService.translate(queryMultiStructReq, User.getFakeUser());
+        assertNotNull(explain.getQuerySQL());
+        String sql = explain.getQuerySQL();
+        assertTrue(sql.indexOf("sub_sql_0") < sql.indexOf("sub_sql_1"));
+        assertTrue(sql.indexOf("sub_sql_1") < sql.indexOf("sub_sql_2"));
+        assertTrue(sql.startsWith("select department as"));
+        assertTrue(sql.indexOf("sub_sql_0") < sql.indexOf("select user_name as"));
+        assertTrue(sql.indexOf("sub_sql_1") < sql.indexOf("select page as"));
+    }
+
 }
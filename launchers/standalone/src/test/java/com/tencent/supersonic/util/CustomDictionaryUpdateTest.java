@@ -0,0 +1,59 @@
+package com.tencent.supersonic.util;
+
+import com.google.common.collect.Lists;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import com.hankcs.hanlp.dictionary.DynamicCustomDictionary;
+import com.tencent.supersonic.headless.api.pojo.request.DimensionValueReq;
+import com.tencent.supersonic.headless.chat.knowledge.SearchService;
+import com.tencent.supersonic.headless.chat.knowledge.helper.HanlpHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class CustomDictionaryUpdateTest {
+
+    @Test
+    void testUpdateCustomDictionary() throws Exception {
+        DynamicCustomDictionary dictionary = HanlpHelper.getDynamicCustomDictionary();
+        List<String> oldLines = Lists.newArrayList("增量值A _99_999 100", "Delta#Value _99_999 50");
+        HanlpHelper.updateCustomDictionary(new ArrayList<>(), oldLines);
+        Assertions.assertNotNull(dictionary.get("增量值a"));
+        Assertions.assertEquals(50, dictionary.get("delta value").getNatureFrequency("_99_999"));
+        Assertions.assertEquals(2, SearchService.getDimensionValue(mockDimensionValueReq()).size());
+
+        List<String> newLines = Lists.newArrayList("增量值B _99_999 80", "Delta#Value _99_999 60");
+        HanlpHelper.updateCustomDictionary(oldLines, newLines);
+        Assertions.assertNull(dictionary.get("增量值a"));
+        Assertions.assertNotNull(dictionary.get("增量值b"));
+        Assertions.assertEquals(60, dictionary.get("delta value").getNatureFrequency("_99_999"));
+        Assertions.assertTrue(SearchService.getDimensionValue(mockDimensionValueReq()).contains("增量值b"));
+
+        HanlpHelper.updateCustomDictionary(newLines, new ArrayList<>());
+        Assertions.assertNull(dictionary.get("增量值b"));
+        Assertions.assertNull(dictionary.get("delta value"));
+        Assertions.assertTrue(SearchService.getDimensionValue(mockDimensionValueReq()).isEmpty());
+    }
+
+    @Test
+    void testRemoveLoadedWord() throws Exception {
+        DynamicCustomDictionary dictionary = HanlpHelper.getDynamicCustomDictionary();
+        List<String> lines = Lists.newArrayList("marketing _1_1 310");
+        CoreDictionary.Attribute attribute = dictionary.get("marketing");
+        Assertions.assertNotNull(attribute);
+
+        HanlpHelper.updateCustomDictionary(lines, new ArrayList<>());
+        Assertions.assertNull(dictionary.get("marketing"));
+
+        HanlpHelper.updateCustomDictionary(new ArrayList<>(), lines);
+        Assertions.assertEquals(310, dictionary.get("marketing").getNatureFrequency("_1_1"));
+    }
+
+    private DimensionValueReq mockDimensionValueReq() {
+        DimensionValueReq dimensionValueReq = new DimensionValueReq();
+        dimensionValueReq.setModelId(99L);
+        dimensionValueReq.setElementID(999L);
+        return dimensionValueReq;
+    }
+}
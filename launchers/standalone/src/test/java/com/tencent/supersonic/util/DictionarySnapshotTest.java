@@ -0,0 +1,58 @@
+package com.tencent.supersonic.util;
+
+import com.google.common.collect.Lists;
+import com.hankcs.hanlp.collection.trie.DoubleArrayTrie;
+import com.hankcs.hanlp.corpus.tag.Nature;
+import com.hankcs.hanlp.dictionary.CoreDictionary;
+import com.tencent.supersonic.headless.chat.knowledge.MultiCustomDictionary;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class DictionarySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoadFromSnapshot() throws Exception {
+        Path dictionary = tempDir.resolve("DimValue_98_998.txt");
+        Files.write(dictionary, Lists.newArrayList("快照值 _98_998 100", "Snapshot#Value _98_998 50"),
+                StandardCharsets.UTF_8);
+        String[] path = new String[]{dictionary.toString()};
+        String snapshotPath = MultiCustomDictionary.getSnapshotPath(path);
+        Assertions.assertTrue(new File(snapshotPath).getName().startsWith(MultiCustomDictionary.SNAPSHOT_PREFIX));
+        Path otherCache = tempDir.resolve("CustomDictionary.txt.bin");
+        Files.write(otherCache, new byte[]{1});
+
+        DoubleArrayTrie<CoreDictionary.Attribute> dat = new DoubleArrayTrie<>();
+        Assertions.assertTrue(MultiCustomDictionary.loadMainDictionary(path[0], path, dat, true, false));
+        File snapshot = new File(snapshotPath);
+        Assertions.assertTrue(snapshot.isFile());
+        snapshot.setLastModified(0L);
+
+        DoubleArrayTrie<CoreDictionary.Attribute> snapshotDat = new DoubleArrayTrie<>();
+        Assertions.assertTrue(MultiCustomDictionary.loadMainDictionary(path[0], path, snapshotDat, true, false));
+        Assertions.assertEquals(0L, snapshot.lastModified());
+        Assertions.assertEquals(100, snapshotDat.get("快照值").getNatureFrequency("_98_998"));
+        CoreDictionary.Attribute attribute = snapshotDat.get("snapshot value");
+        Assertions.assertEquals(50, attribute.getNatureFrequency("_98_998"));
+        Assertions.assertEquals("Snapshot Value", attribute.getOriginal(Nature.create("_98_998")));
+
+        Files.write(dictionary, Lists.newArrayList("快照值 _98_998 80"), StandardCharsets.UTF_8);
+        String changedSnapshotPath = MultiCustomDictionary.getSnapshotPath(path);
+        Assertions.assertNotEquals(snapshotPath, changedSnapshotPath);
+        DoubleArrayTrie<CoreDictionary.Attribute> changedDat = new DoubleArrayTrie<>();
+        Assertions.assertTrue(MultiCustomDictionary.loadMainDictionary(path[0], path, changedDat, true, false));
+        Assertions.assertEquals(80, changedDat.get("快照值").getNatureFrequency("_98_998"));
+        Assertions.assertNull(changedDat.get("snapshot value"));
+        Assertions.assertTrue(new File(changedSnapshotPath).isFile());
+        Assertions.assertFalse(snapshot.exists());
+        Assertions.assertTrue(Files.isRegularFile(otherCache));
+    }
+}
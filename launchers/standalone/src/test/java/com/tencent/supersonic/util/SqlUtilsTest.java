@@ -0,0 +1,72 @@
+package com.tencent.supersonic.util;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.tencent.supersonic.headless.api.pojo.response.SemanticQueryResp;
+import com.tencent.supersonic.headless.core.pojo.Database;
+import com.tencent.supersonic.headless.core.pojo.JdbcDataSource;
+import com.tencent.supersonic.headless.core.utils.SqlUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class SqlUtilsTest {
+
+    private static final String URL = "jdbc:h2:mem:sql_utils_test;DB_CLOSE_DELAY=-1";
+
+    private final DruidDataSource dataSource = new DruidDataSource();
+
+    private final Database database = Database.builder().id(1L).name("h2").type("h2").url(URL)
+            .username("sa").password("").build();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl(URL);
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        dataSource.init();
+        buildSqlUtils(0).jdbcTemplate().execute("CREATE TABLE s2_pv (id INT)");
+        buildSqlUtils(0).jdbcTemplate().execute("INSERT INTO s2_pv VALUES (1), (2), (3), (4), (5)");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        buildSqlUtils(0).jdbcTemplate().execute("DROP TABLE s2_pv");
+        dataSource.close();
+    }
+
+    @Test
+    void testQueryTruncatedAtResultLimit() {
+        SemanticQueryResp truncated = new SemanticQueryResp();
+        buildSqlUtils(3).queryInternal("SELECT id FROM s2_pv", truncated);
+        Assertions.assertEquals(3, truncated.getResultList().size());
+        Assertions.assertTrue(truncated.isTruncated());
+
+        SemanticQueryResp complete = new SemanticQueryResp();
+        buildSqlUtils(5).execute("SELECT id FROM s2_pv", complete);
+        Assertions.assertEquals(5, complete.getResultList().size());
+        Assertions.assertFalse(complete.isTruncated());
+
+        SemanticQueryResp unlimited = new SemanticQueryResp();
+        buildSqlUtils(Integer.MAX_VALUE).queryInternal("SELECT id FROM s2_pv", unlimited);
+        Assertions.assertEquals(5, unlimited.getResultList().size());
+        Assertions.assertFalse(unlimited.isTruncated());
+    }
+
+    @Test
+    void testExecuteNotLimited() throws Exception {
+        Assertions.assertEquals(5, buildSqlUtils(3).execute("SELECT id FROM s2_pv").size());
+    }
+
+    private SqlUtils buildSqlUtils(int resultLimit) {
+        JdbcDataSource jdbcDataSource = Mockito.mock(JdbcDataSource.class);
+        Mockito.when(jdbcDataSource.getDataSource(Mockito.any())).thenReturn(dataSource);
+        SqlUtils sqlUtils = new SqlUtils();
+        ReflectionTestUtils.setField(sqlUtils, "jdbcDataSource", jdbcDataSource);
+        ReflectionTestUtils.setField(sqlUtils, "resultLimit", resultLimit);
+        return sqlUtils.init(database);
+    }
+}